@@ -0,0 +1,140 @@
+package net.orekyuu.intellijmcp.tools;
+
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.codeInsight.daemon.impl.DaemonCodeAnalyzerImpl;
+import com.intellij.codeInsight.daemon.impl.DaemonProgressIndicator;
+import com.intellij.codeInsight.daemon.impl.HighlightInfo;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import net.orekyuu.intellijmcp.tools.search.SearchUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Project-level service that runs the highlighting passes on files without an open editor.
+ * <p>
+ * {@link DaemonCodeAnalyzerImpl#getHighlights} only has results for files the daemon has analyzed,
+ * which are mostly the open editors. This service runs the daemon's main passes headlessly, several
+ * files in parallel on a bounded pool. Looking up the file and converting its highlights run in
+ * non-blocking read actions. So do the passes, under a {@link DaemonProgressIndicator} and in smart
+ * mode, so a write action cancels them and they restart after it rather than holding it up. Results
+ * are cached per file by the document modification stamp together with the PSI modification count,
+ * since a file's errors also change when the files it depends on change. The cache is neither read
+ * nor filled while the project is being indexed, because indexing changes the results without changing
+ * either stamp. Must be called outside a read action, since waiting for smart mode inside one would
+ * block indexing.
+ */
+@Service(Service.Level.PROJECT)
+@SuppressWarnings("UnstableApiUsage")
+public final class BackgroundHighlighter {
+
+    private static final int MAX_CACHED_FILES = 1000;
+    private static final int PARALLELISM = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    private final Project project;
+    private final Map<VirtualFile, Entry> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<VirtualFile, Entry> eldest) {
+            return size() > MAX_CACHED_FILES;
+        }
+    };
+
+    public BackgroundHighlighter(Project project) {
+        this.project = project;
+    }
+
+    public static BackgroundHighlighter getInstance(Project project) {
+        return project.getService(BackgroundHighlighter.class);
+    }
+
+    /**
+     * Highlights the files in parallel and returns their warnings and errors, in the order of the files.
+     */
+    public List<List<GetDiagnosticsTool.DiagnosticInfo>> highlight(List<VirtualFile> files) {
+        ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("BackgroundHighlighter", PARALLELISM);
+        try {
+            List<Future<List<GetDiagnosticsTool.DiagnosticInfo>>> futures = new ArrayList<>();
+            for (VirtualFile file : files) {
+                futures.add(executor.submit(() -> highlight(file)));
+            }
+            List<List<GetDiagnosticsTool.DiagnosticInfo>> result = new ArrayList<>();
+            for (Future<List<GetDiagnosticsTool.DiagnosticInfo>> future : futures) {
+                result.add(SearchUtil.await(future));
+            }
+            return result;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private List<GetDiagnosticsTool.DiagnosticInfo> highlight(VirtualFile file) {
+        Target target = ReadAction.nonBlocking(() -> findTarget(file)).executeSynchronously();
+        if (target == null) {
+            return List.of();
+        }
+        synchronized (cache) {
+            Entry cached = cache.get(file);
+            if (cached != null && !target.dumb() && cached.documentStamp() == target.documentStamp()
+                    && cached.psiModificationCount() == target.psiModificationCount()) {
+                return cached.diagnostics();
+            }
+        }
+
+        DaemonCodeAnalyzerImpl analyzer = (DaemonCodeAnalyzerImpl) DaemonCodeAnalyzer.getInstance(project);
+        DumbService dumbService = DumbService.getInstance(project);
+        DaemonProgressIndicator indicator = new DaemonProgressIndicator();
+        List<HighlightInfo> highlights = ReadAction
+                .nonBlocking(() -> analyzer.runMainPasses(target.psiFile(), target.document(), indicator))
+                .inSmartMode(project)
+                .wrapProgress(indicator)
+                .executeSynchronously();
+        List<GetDiagnosticsTool.DiagnosticInfo> diagnostics = ReadAction
+                .nonBlocking(() -> GetDiagnosticsTool.toDiagnostics(highlights, target.document()))
+                .executeSynchronously();
+
+        if (target.dumb() || dumbService.isDumb()) {
+            return diagnostics;
+        }
+        // Keyed by the stamps taken before highlighting, so an edit made meanwhile is highlighted again next time
+        synchronized (cache) {
+            cache.put(file, new Entry(target.documentStamp(), target.psiModificationCount(), diagnostics));
+        }
+        return diagnostics;
+    }
+
+    private @Nullable Target findTarget(VirtualFile file) {
+        if (!file.isValid()) {
+            return null;
+        }
+        PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+        if (psiFile == null) {
+            return null;
+        }
+        Document document = PsiDocumentManager.getInstance(project).getDocument(psiFile);
+        if (document == null) {
+            return null;
+        }
+        long psiModificationCount = PsiModificationTracker.getInstance(project).getModificationCount();
+        return new Target(psiFile, document, document.getModificationStamp(), psiModificationCount,
+                DumbService.isDumb(project));
+    }
+
+    private record Target(PsiFile psiFile, Document document, long documentStamp, long psiModificationCount, boolean dumb) {}
+
+    private record Entry(long documentStamp, long psiModificationCount, List<GetDiagnosticsTool.DiagnosticInfo> diagnostics) {}
+}
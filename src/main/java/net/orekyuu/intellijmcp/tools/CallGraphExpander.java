@@ -0,0 +1,266 @@
+package net.orekyuu.intellijmcp.tools;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.lang.injection.InjectedLanguageManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiCallExpression;
+import com.intellij.psi.PsiCodeBlock;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiReferenceExpression;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.searches.ReferencesSearch;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import net.orekyuu.intellijmcp.tools.search.CallSiteIndex;
+import net.orekyuu.intellijmcp.tools.search.SearchUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Expands the callers or callees of a method breadth-first into a call graph.
+ * <p>
+ * For callers, the methods of one level are searched in parallel, each in its own non-blocking read action,
+ * using the {@link CallSiteIndex} for Java files when indexes are ready.
+ * Search results are memoised per method for the whole expansion, so a super method shared by
+ * several implementations is searched once, and a caller reached along several paths becomes one
+ * node with several edges instead of a copy of its subtree per path.
+ * For callees, the call expressions in the bodies of one level's methods are resolved together in
+ * one read action. Each method is expanded once either way, which also stops recursion cycles.
+ * Must be called outside a read action.
+ */
+public final class CallGraphExpander {
+
+    private static final int PARALLELISM = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    private final Project project;
+    private final GlobalSearchScope scope;
+    // Callers found by searching for references to a method, shared by every node that searches it
+    private final Map<PsiMethod, List<PsiMethod>> callersBySearchedMethod = new HashMap<>();
+
+    private CallGraphExpander(Project project) {
+        this.project = project;
+        this.scope = GlobalSearchScope.projectScope(project);
+    }
+
+    /**
+     * The expanded graph. Nodes are in breadth-first order, so the root is node 0
+     * and the other nodes follow by increasing depth.
+     */
+    public record Graph(List<Node> nodes, List<Edge> edges) {}
+
+    /**
+     * A method in the graph at the depth it was first reached.
+     */
+    public record Node(PsiMethod method, int depth) {}
+
+    /**
+     * A call from the method at node index {@code caller} to the method at node index {@code callee}.
+     */
+    public record Edge(int caller, int callee) {}
+
+    public static Graph expandCallers(Project project, PsiMethod root, int maxDepth) {
+        CallGraphExpander expander = new CallGraphExpander(project);
+        return expander.expand(root, maxDepth, expander::findCallers, true);
+    }
+
+    public static Graph expandCallees(Project project, PsiMethod root, int maxDepth) {
+        CallGraphExpander expander = new CallGraphExpander(project);
+        return expander.expand(root, maxDepth, frontier -> ReadAction
+                .nonBlocking(() -> findCallees(frontier))
+                .executeSynchronously(), false);
+    }
+
+    /**
+     * @param neighbours finds the methods adjacent to each frontier method, in a stable order
+     * @param towardsRoot whether the neighbours call the frontier methods (callers) rather than being called by them
+     */
+    private Graph expand(PsiMethod root, int maxDepth,
+                         Function<List<PsiMethod>, Map<PsiMethod, List<PsiMethod>>> neighbours, boolean towardsRoot) {
+        List<Node> nodes = new ArrayList<>();
+        Map<PsiMethod, Integer> nodeIndexes = new HashMap<>();
+        Set<Edge> edges = new LinkedHashSet<>();
+        nodes.add(new Node(root, 0));
+        nodeIndexes.put(root, 0);
+
+        List<PsiMethod> frontier = List.of(root);
+        for (int depth = 1; depth <= maxDepth && !frontier.isEmpty(); depth++) {
+            Map<PsiMethod, List<PsiMethod>> neighboursByMethod = neighbours.apply(frontier);
+            List<PsiMethod> next = new ArrayList<>();
+            for (PsiMethod method : frontier) {
+                int methodIndex = nodeIndexes.get(method);
+                for (PsiMethod neighbour : neighboursByMethod.get(method)) {
+                    Integer neighbourIndex = nodeIndexes.get(neighbour);
+                    if (neighbourIndex == null) {
+                        neighbourIndex = nodes.size();
+                        nodes.add(new Node(neighbour, depth));
+                        nodeIndexes.put(neighbour, neighbourIndex);
+                        next.add(neighbour);
+                    }
+                    edges.add(towardsRoot ? new Edge(neighbourIndex, methodIndex) : new Edge(methodIndex, neighbourIndex));
+                }
+            }
+            frontier = next;
+        }
+        return new Graph(nodes, new ArrayList<>(edges));
+    }
+
+    /**
+     * Finds the direct callers of each frontier method, including callers through the methods it overrides.
+     * Methods not searched before are searched in parallel.
+     */
+    private Map<PsiMethod, List<PsiMethod>> findCallers(List<PsiMethod> frontier) {
+        Map<PsiMethod, List<PsiMethod>> searchedMethods = ReadAction.compute(() -> {
+            Map<PsiMethod, List<PsiMethod>> methods = new LinkedHashMap<>();
+            for (PsiMethod method : frontier) {
+                List<PsiMethod> searched = new ArrayList<>();
+                searched.add(method);
+                // Calls through an interface or superclass method can dispatch to this method
+                Collections.addAll(searched, method.findSuperMethods());
+                methods.put(method, searched);
+            }
+            return methods;
+        });
+
+        Set<PsiMethod> toSearch = new LinkedHashSet<>();
+        searchedMethods.values().forEach(toSearch::addAll);
+        toSearch.removeAll(callersBySearchedMethod.keySet());
+        searchInParallel(toSearch);
+
+        Map<PsiMethod, List<PsiMethod>> callersByMethod = new HashMap<>();
+        searchedMethods.forEach((method, searched) -> {
+            Set<PsiMethod> callers = new LinkedHashSet<>();
+            for (PsiMethod searchedMethod : searched) {
+                callers.addAll(callersBySearchedMethod.get(searchedMethod));
+            }
+            callers.remove(method);
+            callersByMethod.put(method, new ArrayList<>(callers));
+        });
+        return callersByMethod;
+    }
+
+    private void searchInParallel(Set<PsiMethod> methods) {
+        ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("CallGraphExpander", PARALLELISM);
+        try {
+            Map<PsiMethod, Future<List<PsiMethod>>> futures = new LinkedHashMap<>();
+            for (PsiMethod method : methods) {
+                futures.put(method, executor.submit(() -> ReadAction
+                        .nonBlocking(() -> searchCallers(method))
+                        .executeSynchronously()));
+            }
+            futures.forEach((method, future) -> callersBySearchedMethod.put(method, SearchUtil.await(future)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the methods containing a reference to the given method, in file and offset order.
+     * In smart mode, callers in Java files come from the {@link CallSiteIndex} and only the call sites
+     * recorded under the method's name are resolved; other languages are still searched for references.
+     */
+    private List<PsiMethod> searchCallers(PsiMethod method) {
+        List<CallSite> callSites = new ArrayList<>();
+        if (!method.isConstructor() && !DumbService.isDumb(project)) {
+            // Constructors are called through new expressions and this()/super(), which the index does not record
+            GlobalSearchScope javaScope = GlobalSearchScope.getScopeRestrictedByFileTypes(scope, JavaFileType.INSTANCE);
+            collectIndexedCallers(method, javaScope, callSites);
+            collectReferencingMethods(method, scope.intersectWith(GlobalSearchScope.notScope(javaScope)), callSites);
+        } else {
+            collectReferencingMethods(method, scope, callSites);
+        }
+        callSites.sort(Comparator.comparing(CallSite::path).thenComparingInt(CallSite::offset));
+
+        Set<PsiMethod> callers = new LinkedHashSet<>();
+        for (CallSite callSite : callSites) {
+            callers.add(callSite.caller());
+        }
+        return new ArrayList<>(callers);
+    }
+
+    private void collectIndexedCallers(PsiMethod method, GlobalSearchScope javaScope, List<CallSite> callSites) {
+        PsiManager psiManager = PsiManager.getInstance(project);
+        CallSiteIndex.processCallSites(method.getName(), javaScope, (file, offsets) -> {
+            PsiFile psiFile = psiManager.findFile(file);
+            if (psiFile == null) {
+                return true;
+            }
+            for (int offset : offsets) {
+                // The index also records declarations and other identifiers before a parenthesis,
+                // so only a reference whose name starts at the offset is a call site
+                PsiReferenceExpression reference =
+                        PsiTreeUtil.getParentOfType(psiFile.findElementAt(offset), PsiReferenceExpression.class);
+                PsiElement nameElement = reference != null ? reference.getReferenceNameElement() : null;
+                if (nameElement != null && nameElement.getTextRange().getStartOffset() == offset
+                        && reference.isReferenceTo(method)) {
+                    PsiMethod caller = PsiTreeUtil.getParentOfType(reference, PsiMethod.class, false);
+                    if (caller != null) {
+                        callSites.add(new CallSite(caller, file.getPath(), offset));
+                    }
+                }
+            }
+            return true;
+        });
+    }
+
+    private void collectReferencingMethods(PsiMethod method, GlobalSearchScope searchScope, List<CallSite> callSites) {
+        InjectedLanguageManager injectedLanguageManager = InjectedLanguageManager.getInstance(project);
+        ReferencesSearch.search(method, searchScope).forEach(reference -> {
+            PsiElement element = reference.getElement();
+            PsiMethod caller = PsiTreeUtil.getParentOfType(element, PsiMethod.class, false);
+            if (caller == null) {
+                return true;
+            }
+            PsiFile hostFile = injectedLanguageManager.getTopLevelFile(element);
+            VirtualFile file = hostFile != null ? hostFile.getVirtualFile() : null;
+            TextRange range = element.getTextRange();
+            int offset = range != null ? injectedLanguageManager.injectedToHost(element, range.getStartOffset()) : 0;
+            synchronized (callSites) {
+                callSites.add(new CallSite(caller, file != null ? file.getPath() : "", offset));
+            }
+            return true;
+        });
+    }
+
+    private record CallSite(PsiMethod caller, String path, int offset) {}
+
+    /**
+     * Resolves the calls in the bodies of the frontier methods, in source order.
+     * Methods without a body, such as abstract or library methods, have no callees.
+     */
+    private static Map<PsiMethod, List<PsiMethod>> findCallees(List<PsiMethod> frontier) {
+        Map<PsiMethod, List<PsiMethod>> calleesByMethod = new HashMap<>();
+        for (PsiMethod method : frontier) {
+            Set<PsiMethod> callees = new LinkedHashSet<>();
+            PsiCodeBlock body = method.getBody();
+            if (body != null) {
+                for (PsiCallExpression call : PsiTreeUtil.findChildrenOfType(body, PsiCallExpression.class)) {
+                    PsiMethod callee = call.resolveMethod();
+                    if (callee != null && !callee.equals(method)) {
+                        callees.add(callee);
+                    }
+                }
+            }
+            calleesByMethod.put(method, new ArrayList<>(callees));
+        }
+        return calleesByMethod;
+    }
+
+}
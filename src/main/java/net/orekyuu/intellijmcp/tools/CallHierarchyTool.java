@@ -5,9 +5,6 @@ import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
-import com.intellij.psi.search.GlobalSearchScope;
-import com.intellij.psi.search.searches.ReferencesSearch;
-import com.intellij.psi.util.PsiTreeUtil;
 import io.modelcontextprotocol.spec.McpSchema;
 import net.orekyuu.intellijmcp.tools.validator.Arg;
 import net.orekyuu.intellijmcp.tools.validator.Args;
@@ -16,57 +13,63 @@ import java.util.*;
 
 /**
  * MCP tool that retrieves call hierarchy for a method by class name and member name.
- * Returns callers of the specified method using ReferencesSearch.
- * Uses ReadAction.nonBlocking() for better performance on large projects.
+ * Returns the callers or callees of the specified method as a graph expanded by {@link CallGraphExpander},
+ * which expands each method only once.
  */
 public class CallHierarchyTool extends AbstractProjectMcpTool<CallHierarchyTool.CallHierarchyResponse> {
 
     private static final Logger LOG = Logger.getInstance(CallHierarchyTool.class);
 
-    private static final Arg<String> CLASS_NAME =
-            Arg.string("className", "Fully qualified class name (e.g., 'com.example.MyClass')").required();
-    private static final Arg<String> MEMBER_NAME =
-            Arg.string("memberName", "Name of the method to find callers for (must be a method, not a field or class)").required();
+    private static final Arg<Optional<String>> SYMBOL_ID =
+            Arg.string("symbolId", "symbolId returned by an earlier tool call. Takes the place of className and memberName").optional();
+    private static final Arg<Optional<String>> CLASS_NAME =
+            Arg.string("className", "Fully qualified class name (e.g., 'com.example.MyClass')").requiredUnless("symbolId");
+    private static final Arg<Optional<String>> MEMBER_NAME =
+            Arg.string("memberName", "Name of the method to find callers for (must be a method, not a field or class). An overload can be selected by parameter types, e.g. 'run(int, String)'").requiredUnless("symbolId");
     private static final Arg<Project> PROJECT = Arg.project();
     private static final Arg<Integer> DEPTH =
             Arg.integer("depth", "Maximum depth of the hierarchy to retrieve").max(10).optional(3);
+    private static final Arg<Direction> DIRECTION =
+            Arg.enumArg("direction", "CALLERS to find the methods calling this method, CALLEES to find the methods it calls", Direction.class).optional(Direction.CALLERS);
+
+    public enum Direction {
+        CALLERS, CALLEES
+    }
 
     @Override
     public String getDescription() {
-        return "Find all callers of a method recursively. Use this when asked 'who calls this method?', to understand the impact of changing a method, or to trace execution paths. Returns caller method names, classes, and file locations.";
+        return "Find all callers of a method recursively, or with direction CALLEES everything it calls. Use this when asked 'who calls this method?' or 'what does this method call?', to understand the impact of changing a method, or to trace execution paths. Returns caller method names, classes, and file locations as a graph in which a method reached along several call paths appears once.";
     }
 
     @Override
     public McpSchema.JsonSchema getInputSchema() {
-        return Args.schema(CLASS_NAME, MEMBER_NAME, PROJECT, DEPTH);
+        return Args.schema(SYMBOL_ID, CLASS_NAME, MEMBER_NAME, PROJECT, DEPTH, DIRECTION);
     }
 
     @Override
     public Result<ErrorResponse, CallHierarchyResponse> doExecute(Map<String, Object> arguments) {
-        return Args.validate(arguments, CLASS_NAME, MEMBER_NAME, PROJECT, DEPTH)
-                .mapN((className, memberName, project, depth) -> {
+        return Args.validate(arguments, SYMBOL_ID, CLASS_NAME, MEMBER_NAME, PROJECT, DEPTH, DIRECTION)
+                .mapN((symbolId, className, memberName, project, depth, direction) -> {
                     try {
                         // Resolve element
                         PsiElementResolver.ResolveResult resolveResult = runReadAction(() ->
-                                PsiElementResolver.resolve(project, className, memberName));
+                                PsiElementResolver.resolve(project, symbolId.orElse(null), className.orElse(null), memberName.orElse(null)));
 
                         return switch (resolveResult) {
-                            case PsiElementResolver.ResolveResult.ClassNotFound r ->
-                                    errorResult("Error: Class not found: " + r.className());
-                            case PsiElementResolver.ResolveResult.MemberNotFound r ->
-                                    errorResult("Error: Member '" + r.memberName() + "' not found in class: " + r.className());
+                            case PsiElementResolver.ResolveResult.Failure failure ->
+                                    errorResult(failure.errorMessage());
                             case PsiElementResolver.ResolveResult.Success r -> {
                                 if (!(r.element() instanceof PsiMethod method)) {
-                                    yield errorResult("Error: '" + memberName + "' is not a method. Call hierarchy is only available for methods.");
+                                    yield errorResult("Error: '" + r.name() + "' is not a method. Call hierarchy is only available for methods.");
                                 }
 
-                                // Build call hierarchy
-                                Set<PsiMethod> visited = new HashSet<>();
-                                MethodInfo methodInfo = buildCallHierarchy(project, method, depth, visited);
-                                yield successResult(new CallHierarchyResponse(methodInfo));
+                                // Build the call graph
+                                yield successResult(buildCallHierarchy(project, method, depth, direction));
                             }
                         };
 
+                    } catch (com.intellij.openapi.progress.ProcessCanceledException e) {
+                        throw e;
                     } catch (Exception e) {
                         LOG.error("Error in get_call_hierarchy tool", e);
                         return errorResult("Error: " + e.getMessage());
@@ -75,84 +78,29 @@ public class CallHierarchyTool extends AbstractProjectMcpTool<CallHierarchyTool.
                 .orElseErrors(errors -> errorResult("Error: " + Args.formatErrors(errors)));
     }
 
-    private MethodInfo buildCallHierarchy(Project project, PsiMethod method, int maxDepth, Set<PsiMethod> visited) {
-        // Create method info in read action
-        MethodInfo baseInfo = ReadAction.compute(() -> createMethodInfo(method));
-
-        List<MethodInfo> callers = Collections.emptyList();
-        if (maxDepth > 0) {
-            callers = findCallers(project, method, maxDepth, 1, visited);
-        }
-
-        return baseInfo.withCallers(callers);
-    }
-
-    private List<MethodInfo> findCallers(Project project, PsiMethod method, int maxDepth, int currentDepth, Set<PsiMethod> visited) {
-        if (visited.contains(method)) {
-            return Collections.emptyList(); // Avoid infinite loops
-        }
-        visited.add(method);
-
-        List<MethodInfo> callers = new ArrayList<>();
-
-        try {
-            GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
-
-            // Collect all methods to search (including super methods from interfaces)
-            Set<PsiMethod> methodsToSearch = ReadAction.compute(() -> {
-                Set<PsiMethod> methods = new LinkedHashSet<>();
-                methods.add(method);
-                // Add super methods (interface methods that this method implements)
-                Collections.addAll(methods, method.findSuperMethods());
-                return methods;
-            });
-
-            // Use ReadAction.nonBlocking() for the heavy search operation
-            Set<PsiReference> allReferences = new LinkedHashSet<>();
-            for (PsiMethod m : methodsToSearch) {
-                Collection<PsiReference> refs = ReadAction
-                        .nonBlocking(() -> ReferencesSearch.search(m, scope).findAll())
-                        .executeSynchronously();
-                allReferences.addAll(refs);
-            }
-
-            // Process references in a read action
-            Set<PsiMethod> callerMethods = ReadAction.compute(() -> {
-                Set<PsiMethod> methods = new LinkedHashSet<>();
-                for (PsiReference ref : allReferences) {
-                    PsiElement refElement = ref.getElement();
-                    PsiMethod callerMethod = PsiTreeUtil.getParentOfType(refElement, PsiMethod.class, false);
-
-                    if (callerMethod != null && !callerMethod.equals(method)) {
-                        methods.add(callerMethod);
-                    }
-                }
-                return methods;
-            });
-
-            for (PsiMethod callerMethod : callerMethods) {
-                MethodInfo callerInfo = ReadAction.compute(() -> createMethodInfo(callerMethod));
-
-                // Recursively find callers if not at max depth
-                if (currentDepth < maxDepth && !visited.contains(callerMethod)) {
-                    List<MethodInfo> nestedCallers = findCallers(project, callerMethod, maxDepth, currentDepth + 1, visited);
-                    if (!nestedCallers.isEmpty()) {
-                        callerInfo = callerInfo.withCallers(nestedCallers);
-                    }
-                }
-
-                callers.add(callerInfo);
+    private CallHierarchyResponse buildCallHierarchy(Project project, PsiMethod method, int maxDepth, Direction direction) {
+        CallGraphExpander.Graph graph = direction == Direction.CALLERS
+                ? CallGraphExpander.expandCallers(project, method, maxDepth)
+                : CallGraphExpander.expandCallees(project, method, maxDepth);
+
+        return ReadAction.compute(() -> {
+            DocumentLines.Cache lines = new DocumentLines.Cache();
+            List<MethodInfo> methods = new ArrayList<>();
+            for (int i = 0; i < graph.nodes().size(); i++) {
+                CallGraphExpander.Node node = graph.nodes().get(i);
+                methods.add(createMethodInfo(i, node.method(), node.depth(), lines));
             }
-        } catch (com.intellij.openapi.progress.ProcessCanceledException e) {
-            throw e;
-        } catch (Exception e) {
-            LOG.warn("Error finding callers for method: " + method.getName(), e);
-        }
-
-        return callers;
+            List<CallInfo> calls = graph.edges().stream()
+                    .map(edge -> new CallInfo(edge.caller(), edge.callee()))
+                    .toList();
+            List<MethodInfo> others = methods.subList(1, methods.size());
+            return direction == Direction.CALLERS
+                    ? new CallHierarchyResponse(methods.getFirst(), others, null, calls)
+                    : new CallHierarchyResponse(methods.getFirst(), null, others, calls);
+        });
     }
 
-    private MethodInfo createMethodInfo(PsiMethod method) {
+    private MethodInfo createMethodInfo(int id, PsiMethod method, int depth, DocumentLines.Cache lines) {
         String name = method.getName();
         String className = null;
         String filePath = null;
@@ -172,15 +120,7 @@ public class CallHierarchyTool extends AbstractProjectMcpTool<CallHierarchyTool.
                 filePath = virtualFile.getPath();
             }
 
-            // Get line range
-            var textRange = method.getTextRange();
-            com.intellij.openapi.editor.Document document =
-                    PsiDocumentManager.getInstance(method.getProject()).getDocument(containingFile);
-            if (document != null) {
-                int startLine = document.getLineNumber(textRange.getStartOffset()) + 1; // 1-indexed
-                int endLine = document.getLineNumber(textRange.getEndOffset()) + 1; // 1-indexed
-                lineRange = new LineRange(startLine, endLine);
-            }
+            lineRange = LineRange.of(method, lines);
         }
 
         // Get method signature
@@ -193,30 +133,41 @@ public class CallHierarchyTool extends AbstractProjectMcpTool<CallHierarchyTool.
         }
         signature.append(")");
 
-        return new MethodInfo(name, className, filePath, signature.toString(), lineRange, Collections.emptyList());
+        return new MethodInfo(id, name, className, filePath, signature.toString(), lineRange, depth, SymbolRegistry.idOf(method));
     }
 
     /**
-     * Response containing the call hierarchy for a method.
+     * Response containing the call hierarchy for a method as a graph.
+     * A method reached along several call paths is listed once, with one call per path.
      */
-    public record CallHierarchyResponse(MethodInfo method) {}
+    public record CallHierarchyResponse(
+            MethodInfo method,
+            List<MethodInfo> callers,
+            List<MethodInfo> callees,
+            List<CallInfo> calls
+    ) {}
 
     /**
      * Information about a method in the call hierarchy.
+     * The depth is the length of the shortest call path from or to the root method.
+     * The id is local to this response; the symbolId can be passed to other tools.
      */
     public record MethodInfo(
+            int id,
             String name,
             String className,
             String filePath,
             String signature,
             LineRange lineRange,
-            List<MethodInfo> callers
-    ) {
-        /**
-         * Returns a new MethodInfo with the given callers.
-         */
-        public MethodInfo withCallers(List<MethodInfo> callers) {
-            return new MethodInfo(name, className, filePath, signature, lineRange, callers);
-        }
-    }
+            int depth,
+            String symbolId
+    ) {}
+
+    /**
+     * A call from the method with id {@code caller} to the method with id {@code callee}.
+     */
+    public record CallInfo(
+            int caller,
+            int callee
+    ) {}
 }
@@ -0,0 +1,149 @@
+package net.orekyuu.intellijmcp.tools;
+
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.fileEditor.FileEditor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.problems.ProblemListener;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Project-level journal behind the version tokens of {@code get_diagnostics}.
+ * <p>
+ * Problem solver and daemon events mark the files whose diagnostics may have changed, each with
+ * the number of events seen so far. A token names a {@link Snapshot} of the diagnostics returned by
+ * an earlier call, so a call with that token only has to re-read the files touched since the snapshot
+ * and can report what was added and resolved in them. The most recent {@link #MAX_SNAPSHOTS}
+ * snapshots are kept; older tokens are reported as unknown. Tokens start with a random prefix per
+ * journal, so a token from an earlier IDE session is unknown too.
+ */
+@Service(Service.Level.PROJECT)
+public final class DiagnosticsJournal implements Disposable {
+
+    static final int MAX_SNAPSHOTS = 16;
+
+    private final String prefix = Integer.toString(ThreadLocalRandom.current().nextInt(36 * 36 * 36, 36 * 36 * 36 * 36), 36);
+    private final Object lock = new Object();
+    private final Map<VirtualFile, Long> touched = new HashMap<>();
+    private final LinkedHashMap<String, Snapshot> snapshots = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Snapshot> eldest) {
+            return size() > MAX_SNAPSHOTS;
+        }
+    };
+    private long eventCount;
+    private long nextToken;
+
+    public DiagnosticsJournal(Project project) {
+        var connection = project.getMessageBus().connect(this);
+        connection.subscribe(ProblemListener.TOPIC, new ProblemListener() {
+            @Override
+            public void problemsAppeared(VirtualFile file) {
+                touch(List.of(file));
+            }
+
+            @Override
+            public void problemsChanged(VirtualFile file) {
+                touch(List.of(file));
+            }
+
+            @Override
+            public void problemsDisappeared(VirtualFile file) {
+                touch(List.of(file));
+            }
+        });
+        connection.subscribe(DaemonCodeAnalyzer.DAEMON_EVENT_TOPIC, new DaemonCodeAnalyzer.DaemonListener() {
+            @Override
+            public void daemonFinished(Collection<? extends FileEditor> fileEditors) {
+                List<VirtualFile> files = new ArrayList<>();
+                for (FileEditor editor : fileEditors) {
+                    if (editor.getFile() != null) {
+                        files.add(editor.getFile());
+                    }
+                }
+                touch(files);
+            }
+        });
+    }
+
+    public static DiagnosticsJournal getInstance(Project project) {
+        return project.getService(DiagnosticsJournal.class);
+    }
+
+    private void touch(List<VirtualFile> files) {
+        synchronized (lock) {
+            eventCount++;
+            for (VirtualFile file : files) {
+                touched.put(file, eventCount);
+            }
+        }
+    }
+
+    /**
+     * Returns the current event count, to be stored in the snapshot of diagnostics read after this call.
+     */
+    public long eventCount() {
+        synchronized (lock) {
+            return eventCount;
+        }
+    }
+
+    /**
+     * Returns the files touched by an event after the given event count.
+     */
+    public List<VirtualFile> touchedSince(long eventCount) {
+        synchronized (lock) {
+            List<VirtualFile> files = new ArrayList<>();
+            touched.forEach((file, count) -> {
+                if (count > eventCount) {
+                    files.add(file);
+                }
+            });
+            return files;
+        }
+    }
+
+    /**
+     * Stores the snapshot and returns its token.
+     */
+    public String issue(Snapshot snapshot) {
+        synchronized (lock) {
+            String token = prefix + "-" + Long.toString(++nextToken, 36);
+            snapshots.put(token, snapshot);
+            // Events before every kept snapshot can no longer be asked for
+            long oldest = snapshots.values().stream().mapToLong(Snapshot::eventCount).min().orElse(eventCount);
+            touched.values().removeIf(count -> count <= oldest);
+            return token;
+        }
+    }
+
+    public @Nullable Snapshot snapshot(String token) {
+        synchronized (lock) {
+            return snapshots.get(token);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        synchronized (lock) {
+            touched.clear();
+            snapshots.clear();
+        }
+    }
+
+    /**
+     * Diagnostics per file as returned to a client, read after {@code eventCount} events.
+     * {@code arguments} identifies the filtering arguments the snapshot was taken with.
+     */
+    public record Snapshot(String arguments, long eventCount, Map<VirtualFile, List<GetDiagnosticsTool.DiagnosticInfo>> files) {}
+}
@@ -0,0 +1,102 @@
+package net.orekyuu.intellijmcp.tools;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Line ranges and line text of one document, read through {@link Document#getCharsSequence()}.
+ * <p>
+ * {@link Document#getText()} copies the whole file, so taking a context line from it per hit
+ * copies a file with many hits over and over. This class reads the character sequence in place
+ * and only copies the text it returns. Line numbers come from the document's own line table,
+ * so one instance can serve every hit in the same file; use a {@link Cache} when the hits
+ * span several files. Line numbers are 1-indexed, like {@link LineRange}.
+ */
+public final class DocumentLines {
+
+    private final Document document;
+    private final CharSequence text;
+
+    private DocumentLines(Document document) {
+        this.document = document;
+        this.text = document.getCharsSequence();
+    }
+
+    public static DocumentLines of(Document document) {
+        return new DocumentLines(document);
+    }
+
+    /**
+     * @return the lines of the file's document, or null if the file has none
+     */
+    public static @Nullable DocumentLines of(PsiFile file) {
+        Document document = PsiDocumentManager.getInstance(file.getProject()).getDocument(file);
+        return document != null ? new DocumentLines(document) : null;
+    }
+
+    public int lineCount() {
+        return document.getLineCount();
+    }
+
+    /**
+     * Returns the 1-indexed line containing the given offset.
+     */
+    public int lineNumber(int offset) {
+        return document.getLineNumber(offset) + 1;
+    }
+
+    public LineRange lineRange(TextRange range) {
+        return lineRange(range.getStartOffset(), range.getEndOffset());
+    }
+
+    public LineRange lineRange(int startOffset, int endOffset) {
+        return new LineRange(lineNumber(startOffset), lineNumber(endOffset));
+    }
+
+    /**
+     * Returns the given 1-indexed line trimmed like {@link String#trim()}.
+     */
+    public String trimmedLine(int line) {
+        int start = document.getLineStartOffset(line - 1);
+        int end = document.getLineEndOffset(line - 1);
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return text.subSequence(start, end).toString();
+    }
+
+    /**
+     * Returns the text from the start of {@code startLine} to the end of {@code endLine},
+     * without the final line separator.
+     */
+    public String text(int startLine, int endLine) {
+        int start = document.getLineStartOffset(startLine - 1);
+        int end = document.getLineEndOffset(endLine - 1);
+        return text.subSequence(start, end).toString();
+    }
+
+    /**
+     * Per-call cache of {@link DocumentLines} by file, for hits spread over several files.
+     * Not thread-safe; use it from the thread that converts the hits.
+     */
+    public static final class Cache {
+
+        private final Map<PsiFile, Entry> lines = new HashMap<>();
+
+        public @Nullable DocumentLines get(PsiFile file) {
+            return lines.computeIfAbsent(file, f -> new Entry(of(f))).lines();
+        }
+
+        // HashMap.computeIfAbsent does not cache null, so files without a document are wrapped
+        private record Entry(@Nullable DocumentLines lines) {}
+    }
+}
@@ -5,10 +5,9 @@ import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiClass;
-import com.intellij.psi.PsiDocumentManager;
-import com.intellij.psi.PsiFile;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.search.PsiShortNamesCache;
+import com.intellij.psi.util.PsiUtilCore;
 import io.modelcontextprotocol.spec.McpSchema;
 import net.orekyuu.intellijmcp.tools.validator.Arg;
 import net.orekyuu.intellijmcp.tools.validator.Args;
@@ -28,21 +27,23 @@ public class FindClassTool extends AbstractProjectMcpTool<FindClassTool.FindClas
     private static final Arg<Project> PROJECT = Arg.project();
     private static final Arg<Boolean> INCLUDE_LIBRARIES =
             Arg.bool("includeLibraries", "Whether to include library classes in the search").optional(false);
+    private static final Arg<Boolean> INCLUDE_LOCATION =
+            Arg.bool("includeLocation", "Whether to compute line ranges. Set to false for broad lookups: hits are then served from indexes without parsing each file").optional(true);
 
     @Override
     public String getDescription() {
-        return "Find classes by simple or fully-qualified name. Use this when you need to locate a class file or confirm a class exists. Returns file path and line range. Prefer this over file search when you know the class name.";
+        return "Find classes by simple or fully-qualified name. Use this when you need to locate a class file or confirm a class exists. Returns file path and line range (set includeLocation=false to skip line ranges for broad lookups). Prefer this over file search when you know the class name.";
     }
 
     @Override
     public McpSchema.JsonSchema getInputSchema() {
-        return Args.schema(CLASS_NAME, PROJECT, INCLUDE_LIBRARIES);
+        return Args.schema(CLASS_NAME, PROJECT, INCLUDE_LIBRARIES, INCLUDE_LOCATION);
     }
 
     @Override
     public Result<ErrorResponse, FindClassResponse> doExecute(Map<String, Object> arguments) {
-        return Args.validate(arguments, CLASS_NAME, PROJECT, INCLUDE_LIBRARIES)
-                .mapN((className, project, includeLibraries) -> runReadActionWithResult(() -> {
+        return Args.validate(arguments, CLASS_NAME, PROJECT, INCLUDE_LIBRARIES, INCLUDE_LOCATION)
+                .mapN((className, project, includeLibraries, includeLocation) -> runReadActionWithResult(() -> {
                     try {
                         // Determine search scope
                         GlobalSearchScope scope = includeLibraries
@@ -57,13 +58,13 @@ public class FindClassTool extends AbstractProjectMcpTool<FindClassTool.FindClas
                             // Search by fully qualified name
                             PsiClass[] classes = JavaPsiFacade.getInstance(project).findClasses(className, scope);
                             for (PsiClass psiClass : classes) {
-                                foundClasses.add(createClassInfo(psiClass));
+                                foundClasses.add(createClassInfo(psiClass, includeLocation));
                             }
                         } else {
                             // Search by simple name
                             PsiClass[] classes = PsiShortNamesCache.getInstance(project).getClassesByName(className, scope);
                             for (PsiClass psiClass : classes) {
-                                foundClasses.add(createClassInfo(psiClass));
+                                foundClasses.add(createClassInfo(psiClass, includeLocation));
                             }
                         }
 
@@ -77,32 +78,20 @@ public class FindClassTool extends AbstractProjectMcpTool<FindClassTool.FindClas
                 .orElseErrors(errors -> errorResult("Error: " + Args.formatErrors(errors)));
     }
 
-    private ClassInfo createClassInfo(PsiClass psiClass) {
+    /**
+     * Builds the class info from stub-level data. The line range needs the AST, so it is only
+     * computed when requested.
+     */
+    private ClassInfo createClassInfo(PsiClass psiClass, boolean includeLocation) {
         String name = psiClass.getName();
         String qualifiedName = psiClass.getQualifiedName();
-        String filePath = null;
-        LineRange lineRange = null;
         String classType = PsiElementResolver.getClassKind(psiClass);
 
-        PsiFile containingFile = psiClass.getContainingFile();
-        if (containingFile != null) {
-            VirtualFile virtualFile = containingFile.getVirtualFile();
-            if (virtualFile != null) {
-                filePath = virtualFile.getPath();
-            }
-
-            // Get line range
-            var textRange = psiClass.getTextRange();
-            com.intellij.openapi.editor.Document document =
-                    PsiDocumentManager.getInstance(psiClass.getProject()).getDocument(containingFile);
-            if (document != null) {
-                int startLine = document.getLineNumber(textRange.getStartOffset()) + 1; // 1-indexed
-                int endLine = document.getLineNumber(textRange.getEndOffset()) + 1; // 1-indexed
-                lineRange = new LineRange(startLine, endLine);
-            }
-        }
-
-        return new ClassInfo(name, qualifiedName, filePath, classType, lineRange);
+        VirtualFile virtualFile = PsiUtilCore.getVirtualFile(psiClass);
+        String filePath = virtualFile != null ? virtualFile.getPath() : null;
+        LineRange lineRange = includeLocation ? LineRange.of(psiClass) : null;
+
+        return new ClassInfo(name, qualifiedName, filePath, classType, lineRange, SymbolRegistry.idOf(psiClass));
     }
 
     /**
@@ -121,6 +110,7 @@ public class FindClassTool extends AbstractProjectMcpTool<FindClassTool.FindClas
             String qualifiedName,
             String filePath,
             String classType,
-            LineRange lineRange
+            LineRange lineRange,
+            String symbolId
     ) {}
 }
@@ -3,22 +3,27 @@ package net.orekyuu.intellijmcp.tools;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.search.FilenameIndex;
 import com.intellij.psi.search.GlobalSearchScope;
 import io.modelcontextprotocol.spec.McpSchema;
+import net.orekyuu.intellijmcp.tools.search.FileGlob;
+import net.orekyuu.intellijmcp.tools.search.FuzzyFileMatcher;
+import net.orekyuu.intellijmcp.tools.search.ProjectFileNameTable;
 import net.orekyuu.intellijmcp.tools.validator.Arg;
 import net.orekyuu.intellijmcp.tools.validator.Args;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Pattern;
 
 /**
  * MCP tool that searches for files by name in a project.
- * Supports exact matching and glob patterns (*, ?).
+ * Supports exact matching, glob patterns (*, ?) and directory globs such as {@code **}{@code /config/*.xml}.
+ * Wildcards are matched against the distinct names in {@link FilenameIndex} instead of walking every file.
+ * Fuzzy queries are ranked over the cached {@link ProjectFileNameTable}.
  */
 public class FindFileTool extends AbstractProjectMcpTool<FindFileTool.FindFileResponse> {
 
@@ -26,26 +31,28 @@ public class FindFileTool extends AbstractProjectMcpTool<FindFileTool.FindFileRe
 
     private static final Arg<Project> PROJECT = Arg.project();
     private static final Arg<String> FILE_NAME =
-            Arg.string("fileName", "File name or pattern to search for. Supports glob patterns (* for any characters, ? for single character). Example: '*.java', 'Test*.kt', 'config.?ml'").required();
+            Arg.string("fileName", "File name or pattern to search for. Supports glob patterns (* for any characters, ? for single character) and directory globs (** for any number of directories). Example: '*.java', 'Test*.kt', 'config.?ml', '**/resources/*.xml'").required();
     private static final Arg<Boolean> INCLUDE_LIBRARIES =
             Arg.bool("includeLibraries", "Include library files in search").optional(false);
     private static final Arg<Integer> MAX_RESULTS =
             Arg.integer("maxResults", "Maximum number of results to return").optional(100);
+    private static final Arg<Boolean> FUZZY =
+            Arg.bool("fuzzy", "Treat fileName as a fuzzy query like Goto File: camel humps ('FFT' finds FindFileTool.java) and partial directory segments ('tools/FFT'). Results are ranked best first. Searches project files only").optional(false);
 
     @Override
     public String getDescription() {
-        return "Find files by name or glob pattern. Use this when you need a file path but only know the file name or a partial name pattern (e.g., '*.xml', 'Test*.java'). Returns file paths and metadata.";
+        return "Find files by name or glob pattern. Use this when you need a file path but only know the file name or a partial name pattern (e.g., '*.xml', 'Test*.java', '**/resources/*.xml'). Set fuzzy=true to resolve a vague file reference with ranked camel-hump matching. Returns file paths and metadata.";
     }
 
     @Override
     public McpSchema.JsonSchema getInputSchema() {
-        return Args.schema(PROJECT, FILE_NAME, INCLUDE_LIBRARIES, MAX_RESULTS);
+        return Args.schema(PROJECT, FILE_NAME, INCLUDE_LIBRARIES, MAX_RESULTS, FUZZY);
     }
 
     @Override
     public Result<ErrorResponse, FindFileResponse> doExecute(Map<String, Object> arguments) {
-        return Args.validate(arguments, PROJECT, FILE_NAME, INCLUDE_LIBRARIES, MAX_RESULTS)
-                .mapN((project, fileName, includeLibraries, maxResults) -> {
+        return Args.validate(arguments, PROJECT, FILE_NAME, INCLUDE_LIBRARIES, MAX_RESULTS, FUZZY)
+                .mapN((project, fileName, includeLibraries, maxResults, fuzzy) -> {
                     try {
                         // Determine search scope
                         GlobalSearchScope scope = includeLibraries
@@ -53,7 +60,9 @@ public class FindFileTool extends AbstractProjectMcpTool<FindFileTool.FindFileRe
                                 : GlobalSearchScope.projectScope(project);
 
                         // Perform search
-                        List<FileInfo> results = performSearch(project, fileName, scope, maxResults);
+                        List<FileInfo> results = fuzzy
+                                ? performFuzzySearch(project, fileName, maxResults)
+                                : performSearch(project, fileName, scope, maxResults);
 
                         return successResult(new FindFileResponse(
                                 fileName,
@@ -72,61 +81,92 @@ public class FindFileTool extends AbstractProjectMcpTool<FindFileTool.FindFileRe
     }
 
     private List<FileInfo> performSearch(Project project, String fileNamePattern, GlobalSearchScope scope, int maxResults) {
-        List<FileInfo> results = new ArrayList<>();
-
-        // Check if pattern contains wildcards
-        boolean hasWildcard = fileNamePattern.contains("*") || fileNamePattern.contains("?");
-
-        if (hasWildcard) {
-            // Use pattern matching with ProjectFileIndex
-            Pattern pattern = createPatternFromGlob(fileNamePattern);
-            searchWithPattern(project, pattern, scope, results, maxResults);
-        } else {
-            // Use exact filename search with FilenameIndex
-            searchExact(project, fileNamePattern, scope, results, maxResults);
-        }
-
-        return results;
-    }
-
-    private void searchExact(Project project, String fileName, GlobalSearchScope scope, List<FileInfo> results, int maxResults) {
-        runReadAction(() -> {
-            Collection<VirtualFile> files = FilenameIndex.getVirtualFilesByName(fileName, scope);
+        FileGlob glob = FileGlob.compile(fileNamePattern);
+        return runReadAction(() -> {
+            // Resolve the name part against the distinct file names in the index, so wildcard
+            // lookups scale with the number of names rather than the number of files
+            List<String> names = new ArrayList<>();
+            String literalName = glob.literalName();
+            if (literalName != null) {
+                names.add(literalName);
+            } else {
+                FilenameIndex.processAllFileNames(name -> {
+                    if (glob.matchesName(name)) {
+                        names.add(name);
+                    }
+                    return true;
+                }, scope, null);
+                names.sort(String.CASE_INSENSITIVE_ORDER);
+            }
 
-            for (VirtualFile file : files) {
-                if (results.size() >= maxResults) {
-                    break;
+            List<FileInfo> results = new ArrayList<>();
+            for (String name : names) {
+                List<VirtualFile> files = new ArrayList<>(FilenameIndex.getVirtualFilesByName(name, scope));
+                files.sort(Comparator.comparing(VirtualFile::getPath));
+                for (VirtualFile file : files) {
+                    if (results.size() >= maxResults) {
+                        return results;
+                    }
+                    if (file.isDirectory()) {
+                        continue;
+                    }
+                    if (glob.hasDirectoryPart() && !glob.matchesPath(globPath(project, file))) {
+                        continue;
+                    }
+                    results.add(createFileInfo(project, file));
                 }
-
-                results.add(createFileInfo(project, file));
             }
-            return null;
+            return results;
         });
     }
 
-    private void searchWithPattern(Project project, Pattern pattern, GlobalSearchScope scope, List<FileInfo> results, int maxResults) {
-        runReadAction(() -> {
-            ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
-
-            fileIndex.iterateContent(file -> {
-                if (results.size() >= maxResults) {
-                    return false; // Stop iteration
-                }
-
-                if (!file.isDirectory() && scope.contains(file)) {
-                    String name = file.getName();
-                    if (pattern.matcher(name).matches()) {
-                        results.add(createFileInfo(project, file));
-                    }
+    private List<FileInfo> performFuzzySearch(Project project, String query, int maxResults) {
+        // Take the snapshot before the read action: the first call builds the name table
+        ProjectFileNameTable.Snapshot snapshot = ProjectFileNameTable.getInstance(project).snapshot();
+        List<FuzzyFileMatcher.ScoredFile> matches = FuzzyFileMatcher.of(query).topMatches(snapshot, maxResults);
+        return runReadAction(() -> {
+            List<FileInfo> results = new ArrayList<>();
+            for (FuzzyFileMatcher.ScoredFile match : matches) {
+                VirtualFile file = snapshot.file(match.index());
+                if (file.isValid()) {
+                    results.add(createFileInfo(project, file, match.score()));
                 }
-                return true; // Continue iteration
-            });
-
-            return null;
+            }
+            return results;
         });
     }
 
+    /**
+     * Returns the path a directory glob is matched against: relative to the project root,
+     * or to the content or library root for files outside it.
+     */
+    private String globPath(Project project, VirtualFile file) {
+        String basePath = project.getBasePath();
+        if (basePath != null && file.getPath().startsWith(basePath + "/")) {
+            return file.getPath().substring(basePath.length() + 1);
+        }
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        VirtualFile root = fileIndex.getContentRootForFile(file);
+        if (root == null) {
+            root = fileIndex.getSourceRootForFile(file);
+        }
+        if (root == null) {
+            root = fileIndex.getClassRootForFile(file);
+        }
+        if (root != null) {
+            String relativePath = VfsUtilCore.getRelativePath(file, root);
+            if (relativePath != null) {
+                return relativePath;
+            }
+        }
+        return file.getPath();
+    }
+
     private FileInfo createFileInfo(Project project, VirtualFile file) {
+        return createFileInfo(project, file, null);
+    }
+
+    private FileInfo createFileInfo(Project project, VirtualFile file, Integer score) {
         String path = file.getPath();
         String name = file.getName();
         String extension = file.getExtension();
@@ -143,28 +183,7 @@ public class FindFileTool extends AbstractProjectMcpTool<FindFileTool.FindFileRe
             }
         }
 
-        return new FileInfo(path, relativePath, name, extension, size, fileType);
-    }
-
-    /**
-     * Converts a glob pattern to a regex pattern.
-     * Supports * (any characters) and ? (single character).
-     */
-    private Pattern createPatternFromGlob(String glob) {
-        StringBuilder regex = new StringBuilder("^");
-        for (int i = 0; i < glob.length(); i++) {
-            char c = glob.charAt(i);
-            switch (c) {
-                case '*' -> regex.append(".*");
-                case '?' -> regex.append(".");
-                case '.' -> regex.append("\\.");
-                case '\\' -> regex.append("\\\\");
-                case '[', ']', '(', ')', '{', '}', '^', '$', '+', '|' -> regex.append("\\").append(c);
-                default -> regex.append(c);
-            }
-        }
-        regex.append("$");
-        return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE);
+        return new FileInfo(path, relativePath, name, extension, size, fileType, score);
     }
 
     public record FindFileResponse(
@@ -181,6 +200,7 @@ public class FindFileTool extends AbstractProjectMcpTool<FindFileTool.FindFileRe
             String name,
             String extension,
             long size,
-            String fileType
+            String fileType,
+            Integer score
     ) {}
 }
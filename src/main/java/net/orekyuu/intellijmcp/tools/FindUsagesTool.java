@@ -1,13 +1,26 @@
 package net.orekyuu.intellijmcp.tools;
 
+import com.intellij.lang.injection.InjectedLanguageManager;
 import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.util.TextRange;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
 import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.PsiSearchHelper;
+import com.intellij.psi.search.SearchRequestCollector;
+import com.intellij.psi.search.SearchSession;
+import com.intellij.psi.search.UsageSearchContext;
 import com.intellij.psi.search.searches.ReferencesSearch;
+import com.intellij.psi.util.PropertyUtilBase;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiUtilCore;
+import com.intellij.usages.impl.rules.UsageType;
+import com.intellij.usages.impl.rules.UsageTypeProvider;
 import io.modelcontextprotocol.spec.McpSchema;
 import net.orekyuu.intellijmcp.tools.validator.Arg;
 import net.orekyuu.intellijmcp.tools.validator.Args;
@@ -17,72 +30,167 @@ import java.util.*;
 /**
  * MCP tool that finds all usages of a symbol by class name and optional member name.
  * Returns the list of locations where the symbol is referenced.
+ * Usages are searched in batches of candidate files in path order and streamed through a processor,
+ * so a page stops the search once it is full and a cursor resumes from the next usage. Batches double
+ * in size, so a page sets up only a few searches however many files it has to go through.
+ * Candidate files come from the word index, so only files containing the symbol's name are searched.
+ * In summary mode usages are only counted per module, file and usage type.
+ * Several members of one class can be searched together in a single search session.
  */
 public class FindUsagesTool extends AbstractProjectMcpTool<FindUsagesTool.FindUsagesResponse> {
 
     private static final Logger LOG = Logger.getInstance(FindUsagesTool.class);
-    private static final Arg<String> CLASS_NAME = Arg.string("className", "Fully qualified class name (e.g., 'com.example.MyClass')").required();
-    private static final Arg<Optional<String>> MEMBER_NAME = Arg.string("memberName", "Method, field, or inner class name. If not specified, finds usages of the class itself").optional();
+    private static final Arg<Optional<String>> SYMBOL_ID =
+            Arg.string("symbolId", "symbolId returned by an earlier tool call. Takes the place of className and memberName").optional();
+    private static final Arg<Optional<String>> CLASS_NAME = Arg.string("className", "Fully qualified class name (e.g., 'com.example.MyClass')").requiredUnless("symbolId");
+    private static final Arg<Optional<String>> MEMBER_NAME = Arg.string("memberName", "Method, field, or inner class name. A method overload can be selected by parameter types, e.g. 'run(int, String)'. If not specified, finds usages of the class itself").optional();
+    private static final Arg<List<String>> MEMBER_NAMES =
+            Arg.stringArray("memberNames", "Several member names of the class, optionally with parameter types, to search in one pass instead of memberName. Results are returned per member in members").optional();
     private static final Arg<Project> PROJECT = Arg.project();
+    private static final Arg<Integer> MAX_RESULTS =
+            Arg.integer("maxResults", "Maximum number of usages to return in this page, or per member with memberNames").min(1).optional(100);
+    private static final Arg<Boolean> GROUP_BY_FILE =
+            Arg.bool("groupByFile", "Group usages by file instead of returning a flat list").optional(false);
+    private static final Arg<Optional<String>> CURSOR =
+            Arg.string("cursor", "nextCursor from a previous call with the same target to fetch the next page").optional();
+    private static final Arg<Boolean> SUMMARY =
+            Arg.bool("summary", "Only count usages per module, file and usage type instead of listing them. maxResults, groupByFile and cursor are ignored").optional(false);
+
+    private static final String NO_MODULE = "(no module)";
+
+    // Candidate files searched by a page's first ReferencesSearch run; each further run searches twice as many,
+    // up to the maximum. The search stops after the batch that fills the page
+    private static final int FILE_BATCH_SIZE = 64;
+    private static final int MAX_FILE_BATCH_SIZE = 4096;
 
     @Override
     public String getDescription() {
-        return "Find all places a class or member is used/called in the project. Use this when asked 'where is X used?', 'what calls this?', or when assessing the impact of changing a symbol. Returns file paths, line numbers, and code snippets.";
+        return "Find all places a class or member is used/called in the project. Use this when asked 'where is X used?', 'what calls this?', or when assessing the impact of changing a symbol. Returns file paths, line numbers, and code snippets, a page at a time with an estimate of the total. Only files whose text contains the symbol's name (or its property name for getters and setters) are searched, so implicit usages that never spell the name out are not listed. Set summary to only get usage counts per module, file and usage type, e.g. to check the impact of a rename.";
     }
 
     @Override
     public McpSchema.JsonSchema getInputSchema() {
-        return Args.schema(CLASS_NAME, MEMBER_NAME, PROJECT);
+        return Args.schema(SYMBOL_ID, CLASS_NAME, MEMBER_NAME, MEMBER_NAMES, PROJECT, MAX_RESULTS, GROUP_BY_FILE, CURSOR, SUMMARY);
     }
 
     @Override
     public Result<ErrorResponse, FindUsagesResponse> doExecute(Map<String, Object> arguments) {
-        return Args.validate(arguments, CLASS_NAME, MEMBER_NAME, PROJECT)
-                .mapN((className, memberName, project) -> {
+        return Args.validate(arguments, SYMBOL_ID, CLASS_NAME, MEMBER_NAME, MEMBER_NAMES, PROJECT, MAX_RESULTS, GROUP_BY_FILE, CURSOR, SUMMARY)
+                .mapN((symbolId, className, memberName, memberNames, project, maxResults, groupByFile, cursorOpt, summary) -> {
                     try {
-                        // Resolve the target element
-                        PsiElement targetElement = runReadAction(() -> {
-                            PsiElementResolver.ResolveResult result = PsiElementResolver.resolve(project, className, memberName.orElse(null));
-                            if (result instanceof PsiElementResolver.ResolveResult.Success s) {
-                                return s.element();
+                        if (!memberNames.isEmpty()) {
+                            if (memberName.isPresent()) {
+                                return errorResult("Error: Specify either memberName or memberNames, not both");
+                            }
+                            if (cursorOpt.isPresent() || groupByFile) {
+                                return errorResult("Error: cursor and groupByFile cannot be used with memberNames");
                             }
-                            return null;
-                        });
-
-                        if (targetElement == null) {
-                            PsiElementResolver.ResolveResult result = runReadAction(() -> PsiElementResolver.resolve(project, className, memberName.orElse(null)));
-                            return switch (result) {
-                                case PsiElementResolver.ResolveResult.ClassNotFound r ->
-                                        errorResult("Error: Class not found: " + r.className());
-                                case PsiElementResolver.ResolveResult.MemberNotFound r ->
-                                        errorResult("Error: Member '" + r.memberName() + "' not found in class: " + r.className());
-                                case PsiElementResolver.ResolveResult.Success ignored ->
-                                        errorResult("Error: Unexpected state");
-                            };
+                            if (className.isEmpty()) {
+                                return errorResult("Error: memberNames requires className");
+                            }
+                            return findMemberUsages(project, className.get(), memberNames, maxResults, summary);
                         }
 
+                        // Resolve the target element
+                        PsiElementResolver.ResolveResult resolveResult = runReadAction(() ->
+                                PsiElementResolver.resolve(project, symbolId.orElse(null), className.orElse(null), memberName.orElse(null)));
+                        if (!(resolveResult instanceof PsiElementResolver.ResolveResult.Success resolved)) {
+                            return errorResult(((PsiElementResolver.ResolveResult.Failure) resolveResult).errorMessage());
+                        }
+                        PsiElement targetElement = resolved.element();
+
                         // Get symbol info
                         SymbolInfo symbolInfo = runReadAction(() -> createSymbolInfo(targetElement));
 
-                        // Search for usages using ReadAction.nonBlocking()
-                        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
-                        Collection<PsiReference> references = ReadAction
-                                .nonBlocking(() -> ReferencesSearch.search(targetElement, scope).findAll())
-                                .executeSynchronously();
-
-                        // Convert references to usage info
-                        List<UsageInfo> usages = runReadAction(() -> {
-                            List<UsageInfo> result = new ArrayList<>();
-                            for (PsiReference ref : references) {
-                                UsageInfo usage = createUsageInfo(ref);
-                                if (usage != null) {
-                                    result.add(usage);
-                                }
+                        if (summary) {
+                            UsageSummary usageSummary = ReadAction
+                                    .nonBlocking(() -> summarizeUsages(project, targetElement))
+                                    .executeSynchronously();
+                            return successResult(new FindUsagesResponse(
+                                    symbolInfo,
+                                    null,
+                                    null,
+                                    usageSummary.totalUsages(),
+                                    false,
+                                    usageSummary.totalUsages(),
+                                    null,
+                                    usageSummary,
+                                    null,
+                                    null
+                            ));
+                        }
+
+                        // Decode the continuation cursor, rejecting it if PSI changed since it was issued
+                        // or if it was issued for another target
+                        long modificationCount = PsiModificationTracker.getInstance(project).getModificationCount();
+                        String query = runReadAction(() -> targetKey(targetElement));
+                        PageCursor cursor = PageCursor.start(modificationCount);
+                        if (cursorOpt.isPresent()) {
+                            String rejection = PageCursor.check(cursorOpt.get(), modificationCount, query);
+                            if (rejection != null) {
+                                return errorResult(rejection);
                             }
-                            return result;
-                        });
+                            cursor = PageCursor.decode(cursorOpt.get()).orElseThrow();
+                        }
+
+                        // Search candidate files batch by batch in path order, stopping once the page is full
+                        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+                        List<VirtualFile> candidates = runReadAction(() -> findCandidateFiles(project, targetElement, scope));
+                        List<UsageInfo> usages = new ArrayList<>();
+                        int usagesSeen = 0;
+                        int fileIndex = cursor.index();
+                        int batchSize = FILE_BATCH_SIZE;
+                        Position next = null;
+                        while (next == null && fileIndex < candidates.size()) {
+                            List<VirtualFile> batch = candidates.subList(fileIndex, Math.min(candidates.size(), fileIndex + batchSize));
+                            Position from = fileIndex == cursor.index()
+                                    ? new Position(cursor.index(), cursor.offset(), parseOrdinal(cursor.anchor()))
+                                    : new Position(fileIndex, 0, 0);
+                            int batchStart = fileIndex;
+                            int remaining = maxResults - usages.size();
+                            BatchResult result = ReadAction
+                                    .nonBlocking(() -> searchBatch(project, targetElement, batch, batchStart, from, remaining))
+                                    .executeSynchronously();
+                            usages.addAll(result.usages());
+                            usagesSeen += result.usageCount();
+                            next = result.next();
+                            fileIndex += batch.size();
+                            batchSize = Math.min(batchSize * 2, MAX_FILE_BATCH_SIZE);
+                        }
 
-                        return successResult(new FindUsagesResponse(symbolInfo, usages));
+                        boolean truncated = next != null;
+                        int reported = cursor.reported() + usages.size();
+                        int estimatedTotal = reported;
+                        if (truncated) {
+                            // Extrapolate from the usage density of the files searched so far
+                            int filesSearched = fileIndex - cursor.index();
+                            double perFile = (double) usagesSeen / Math.max(1, filesSearched);
+                            estimatedTotal = cursor.reported() + usagesSeen
+                                    + (int) Math.round(perFile * (candidates.size() - fileIndex));
+                        }
+                        String nextCursor = truncated
+                                ? new PageCursor(modificationCount, next.fileIndex(), next.offset(), reported,
+                                        query, Integer.toString(next.ordinal())).encode()
+                                : null;
+
+                        List<FileUsages> files = null;
+                        if (groupByFile) {
+                            files = groupByFile(usages);
+                            usages = null;
+                        }
+
+                        return successResult(new FindUsagesResponse(
+                                symbolInfo,
+                                usages,
+                                files,
+                                reported - cursor.reported(),
+                                truncated,
+                                estimatedTotal,
+                                nextCursor,
+                                null,
+                                null,
+                                null
+                        ));
 
                     } catch (com.intellij.openapi.progress.ProcessCanceledException e) {
                         throw e;
@@ -94,6 +202,340 @@ public class FindUsagesTool extends AbstractProjectMcpTool<FindUsagesTool.FindUs
                 .orElseErrors(errors -> errorResult("Error: " + Args.formatErrors(errors)));
     }
 
+    private Result<ErrorResponse, FindUsagesResponse> findMemberUsages(Project project, String className,
+                                                                      List<String> memberNames, int maxResults,
+                                                                      boolean summary) {
+        // Resolve the class once and look up every member in it
+        PsiClass psiClass = runReadAction(() ->
+                PsiElementResolver.findClass(project, className));
+        if (psiClass == null) {
+            return errorResult("Error: Class not found: " + className);
+        }
+        List<PsiElement> targets = new ArrayList<>();
+        List<String> notFound = new ArrayList<>();
+        SymbolInfo classInfo = runReadAction(() -> {
+            for (String name : new LinkedHashSet<>(memberNames)) {
+                if (PsiElementResolver.resolveMember(psiClass, className, name) instanceof PsiElementResolver.ResolveResult.Success s) {
+                    targets.add(s.element());
+                } else {
+                    notFound.add(name);
+                }
+            }
+            return createSymbolInfo(psiClass);
+        });
+
+        List<MemberUsages> members = ReadAction
+                .nonBlocking(() -> searchMembers(project, targets, maxResults, summary))
+                .executeSynchronously();
+        int total = members.stream().mapToInt(MemberUsages::totalUsages).sum();
+        int returned = members.stream().mapToInt(member -> member.usages() != null ? member.usages().size() : member.totalUsages()).sum();
+        boolean truncated = members.stream().anyMatch(MemberUsages::truncated);
+        return successResult(new FindUsagesResponse(
+                classInfo,
+                null,
+                null,
+                returned,
+                truncated,
+                total,
+                null,
+                null,
+                members,
+                notFound
+        ));
+    }
+
+    /**
+     * Returns the files that can contain a reference to the target, sorted by path so pages are stable.
+     * Candidates come from the word index: files containing the target's name, plus the property name
+     * for getters and setters, which other JVM languages may reference as a property.
+     */
+    /**
+     * Returns the {@link PageCursor#queryKey} of a target: its file and offset, which identify it
+     * for as long as a cursor is valid, since a cursor is rejected once PSI changes.
+     */
+    private static String targetKey(PsiElement target) {
+        VirtualFile file = PsiUtilCore.getVirtualFile(target);
+        return PageCursor.queryKey(file != null ? file.getPath() : "", target.getTextOffset());
+    }
+
+    private List<VirtualFile> findCandidateFiles(Project project, PsiElement target, GlobalSearchScope scope) {
+        Set<String> words = new LinkedHashSet<>();
+        if (target instanceof PsiNamedElement namedElement && namedElement.getName() != null) {
+            words.add(namedElement.getName());
+        }
+        if (target instanceof PsiMethod method) {
+            String propertyName = PropertyUtilBase.getPropertyName(method);
+            if (propertyName != null) {
+                words.add(propertyName);
+            }
+        }
+
+        Set<VirtualFile> files = new HashSet<>();
+        PsiSearchHelper searchHelper = PsiSearchHelper.getInstance(project);
+        for (String word : words) {
+            searchHelper.processCandidateFilesForText(scope, UsageSearchContext.ANY, true, word, file -> {
+                files.add(file);
+                return true;
+            });
+        }
+        List<VirtualFile> sorted = new ArrayList<>(files);
+        sorted.sort(Comparator.comparing(VirtualFile::getPath));
+        return sorted;
+    }
+
+    /**
+     * Finds the references in one batch of candidate files and converts the first {@code limit}
+     * of them at or after {@code from}, in file then offset order. References starting at the same
+     * offset are numbered in a fixed order, so a page boundary between them is never crossed twice.
+     */
+    private BatchResult searchBatch(Project project, PsiElement target, List<VirtualFile> batch, int batchStart,
+                                    Position from, int limit) {
+        Map<VirtualFile, Integer> fileIndexes = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            fileIndexes.put(batch.get(i), batchStart + i);
+        }
+
+        InjectedLanguageManager injectedLanguageManager = InjectedLanguageManager.getInstance(project);
+        List<FoundReference> all = new ArrayList<>();
+        ReferencesSearch.search(target, GlobalSearchScope.filesScope(project, batch)).forEach(reference -> {
+            PsiElement element = reference.getElement();
+            PsiFile hostFile = injectedLanguageManager.getTopLevelFile(element);
+            VirtualFile file = hostFile != null ? hostFile.getVirtualFile() : null;
+            Integer index = file != null ? fileIndexes.get(file) : null;
+            if (index == null) {
+                return true;
+            }
+            TextRange range = element.getTextRange();
+            int start = range != null ? range.getStartOffset() + reference.getRangeInElement().getStartOffset() : 0;
+            int offset = range != null ? injectedLanguageManager.injectedToHost(element, start) : 0;
+            synchronized (all) {
+                all.add(new FoundReference(new Position(index, offset, 0), reference));
+            }
+            return true;
+        });
+        // The search may report references concurrently, so ties are ordered by the reference itself
+        all.sort(Comparator.comparing((FoundReference found) -> found.position())
+                .thenComparingInt(found -> found.reference().getRangeInElement().getEndOffset())
+                .thenComparing(found -> found.reference().getClass().getName()));
+
+        List<FoundReference> found = new ArrayList<>();
+        int ordinal = 0;
+        for (int i = 0; i < all.size(); i++) {
+            Position position = all.get(i).position();
+            ordinal = i > 0 && all.get(i - 1).position().sameOffset(position) ? ordinal + 1 : 0;
+            Position numbered = new Position(position.fileIndex(), position.offset(), ordinal);
+            if (numbered.compareTo(from) >= 0) {
+                found.add(new FoundReference(numbered, all.get(i).reference()));
+            }
+        }
+
+        List<UsageInfo> usages = new ArrayList<>();
+        DocumentLines.Cache lines = new DocumentLines.Cache();
+        for (FoundReference reference : found.subList(0, Math.min(limit, found.size()))) {
+            UsageInfo usage = createUsageInfo(reference.reference(), lines);
+            if (usage != null) {
+                usages.add(usage);
+            }
+        }
+        Position next = found.size() > limit ? found.get(limit).position() : null;
+        return new BatchResult(usages, found.size(), next);
+    }
+
+    /**
+     * Counts the usages of the target per module, file and usage type.
+     * References are only counted, so none of them is resolved or turned into a line range and context.
+     * The usage type comes from the platform's {@link UsageTypeProvider}s, which classify a reference from
+     * the surrounding syntax, as in the grouping of the Find Usages view.
+     */
+    private UsageSummary summarizeUsages(Project project, PsiElement target) {
+        // The same candidate files as the pages search, so the counts match what the pages would list
+        List<VirtualFile> candidates = findCandidateFiles(project, target, GlobalSearchScope.projectScope(project));
+        UsageCounter counter = new UsageCounter(project);
+        ReferencesSearch.search(target, GlobalSearchScope.filesScope(project, candidates)).forEach(reference -> {
+            counter.add(reference);
+            return true;
+        });
+        return counter.toSummary();
+    }
+
+    /**
+     * Finds the usages of several members of one class in a single search session.
+     * Each member's reference search is only registered with a shared {@link SearchRequestCollector};
+     * {@link PsiSearchHelper#processRequests} then looks up all their words in the index together and
+     * scans each candidate file once, handing every reference to the member it belongs to.
+     */
+    private List<MemberUsages> searchMembers(Project project, List<PsiElement> targets, int maxResults, boolean summary) {
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+        SearchRequestCollector collector = new SearchRequestCollector(new SearchSession(targets.toArray(PsiElement.EMPTY_ARRAY)));
+        List<List<PsiReference>> found = new ArrayList<>();
+        List<UsageCounter> counters = new ArrayList<>();
+        for (int i = 0; i < targets.size(); i++) {
+            List<PsiReference> references = new ArrayList<>();
+            UsageCounter counter = new UsageCounter(project);
+            found.add(references);
+            counters.add(counter);
+            ReferencesSearch.searchOptimized(targets.get(i), scope, false, collector, reference -> {
+                if (summary) {
+                    counter.add(reference);
+                } else {
+                    synchronized (references) {
+                        references.add(reference);
+                    }
+                }
+                return true;
+            });
+        }
+        PsiSearchHelper.getInstance(project).processRequests(collector, reference -> true);
+
+        InjectedLanguageManager injectedLanguageManager = InjectedLanguageManager.getInstance(project);
+        DocumentLines.Cache lines = new DocumentLines.Cache();
+        List<MemberUsages> members = new ArrayList<>();
+        for (int i = 0; i < targets.size(); i++) {
+            SymbolInfo symbol = createSymbolInfo(targets.get(i));
+            if (summary) {
+                UsageSummary usageSummary = counters.get(i).toSummary();
+                members.add(new MemberUsages(symbol, usageSummary.totalUsages(), false, null, usageSummary));
+                continue;
+            }
+            List<PsiReference> references = found.get(i);
+            references.sort(Comparator
+                    .comparing((PsiReference reference) -> hostPath(injectedLanguageManager, reference))
+                    .thenComparingInt(reference -> hostOffset(injectedLanguageManager, reference)));
+            List<UsageInfo> usages = new ArrayList<>();
+            for (PsiReference reference : references.subList(0, Math.min(maxResults, references.size()))) {
+                UsageInfo usage = createUsageInfo(reference, lines);
+                if (usage != null) {
+                    usages.add(usage);
+                }
+            }
+            members.add(new MemberUsages(symbol, references.size(), references.size() > maxResults, usages, null));
+        }
+        return members;
+    }
+
+    private static String hostPath(InjectedLanguageManager injectedLanguageManager, PsiReference reference) {
+        PsiFile hostFile = injectedLanguageManager.getTopLevelFile(reference.getElement());
+        VirtualFile file = hostFile != null ? hostFile.getVirtualFile() : null;
+        return file != null ? file.getPath() : "";
+    }
+
+    private static int hostOffset(InjectedLanguageManager injectedLanguageManager, PsiReference reference) {
+        PsiElement element = reference.getElement();
+        TextRange range = element.getTextRange();
+        return range != null ? injectedLanguageManager.injectedToHost(element, range.getStartOffset()) : 0;
+    }
+
+    /**
+     * Counts references per file and usage type without resolving them or computing their line context.
+     * Thread-safe, as reference searches may call their processor concurrently.
+     */
+    private static final class UsageCounter {
+        private final Project project;
+        private final InjectedLanguageManager injectedLanguageManager;
+        private final List<UsageTypeProvider> usageTypeProviders = UsageTypeProvider.EP_NAME.getExtensionList();
+        private final Map<VirtualFile, Integer> fileCounts = new HashMap<>();
+        private final Map<String, Integer> typeCounts = new HashMap<>();
+        private int total;
+
+        UsageCounter(Project project) {
+            this.project = project;
+            this.injectedLanguageManager = InjectedLanguageManager.getInstance(project);
+        }
+
+        void add(PsiReference reference) {
+            PsiElement element = reference.getElement();
+            PsiFile hostFile = injectedLanguageManager.getTopLevelFile(element);
+            VirtualFile file = hostFile != null ? hostFile.getVirtualFile() : null;
+            String usageType = getUsageType(usageTypeProviders, element);
+            synchronized (this) {
+                total++;
+                if (file != null) {
+                    fileCounts.merge(file, 1, Integer::sum);
+                }
+                typeCounts.merge(usageType, 1, Integer::sum);
+            }
+        }
+
+        synchronized UsageSummary toSummary() {
+            ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+            Map<String, Integer> moduleCounts = new HashMap<>();
+            Map<String, Integer> filePathCounts = new HashMap<>();
+            fileCounts.forEach((file, count) -> {
+                Module module = fileIndex.getModuleForFile(file);
+                moduleCounts.merge(module != null ? module.getName() : NO_MODULE, count, Integer::sum);
+                filePathCounts.put(file.getPath(), count);
+            });
+            return new UsageSummary(total, toUsageCounts(moduleCounts), toUsageCounts(filePathCounts), toUsageCounts(typeCounts));
+        }
+    }
+
+    private static String getUsageType(List<UsageTypeProvider> providers, PsiElement element) {
+        for (UsageTypeProvider provider : providers) {
+            UsageType usageType = provider.getUsageType(element);
+            if (usageType != null) {
+                return usageType.toString();
+            }
+        }
+        return UsageType.UNCLASSIFIED.toString();
+    }
+
+    // Largest counts first, then by name so the output is stable
+    private static List<UsageCount> toUsageCounts(Map<String, Integer> counts) {
+        return counts.entrySet().stream()
+                .map(entry -> new UsageCount(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingInt(UsageCount::count).reversed().thenComparing(UsageCount::name))
+                .toList();
+    }
+
+    private static List<FileUsages> groupByFile(List<UsageInfo> usages) {
+        Map<String, List<UsageInfo>> byFile = new LinkedHashMap<>();
+        for (UsageInfo usage : usages) {
+            byFile.computeIfAbsent(usage.filePath(), key -> new ArrayList<>()).add(new UsageInfo(
+                    null,
+                    usage.lineRange(),
+                    usage.context(),
+                    usage.usageType(),
+                    usage.containingClass(),
+                    usage.containingMethod()
+            ));
+        }
+        List<FileUsages> files = new ArrayList<>();
+        byFile.forEach((filePath, fileUsages) -> files.add(new FileUsages(filePath, fileUsages.size(), fileUsages)));
+        return files;
+    }
+
+    private static int parseOrdinal(String anchor) {
+        try {
+            return anchor.isEmpty() ? 0 : Math.max(0, Integer.parseInt(anchor));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Where a reference starts: its candidate file, its offset in the host file, and its number among the
+     * references starting at that offset. The cursor stores the number in its anchor.
+     */
+    private record Position(int fileIndex, int offset, int ordinal) implements Comparable<Position> {
+        boolean sameOffset(Position other) {
+            return fileIndex == other.fileIndex && offset == other.offset;
+        }
+
+        @Override
+        public int compareTo(Position other) {
+            int byFile = Integer.compare(fileIndex, other.fileIndex);
+            if (byFile != 0) {
+                return byFile;
+            }
+            int byOffset = Integer.compare(offset, other.offset);
+            return byOffset != 0 ? byOffset : Integer.compare(ordinal, other.ordinal);
+        }
+    }
+
+    private record FoundReference(Position position, PsiReference reference) {}
+
+    private record BatchResult(List<UsageInfo> usages, int usageCount, Position next) {}
+
     private SymbolInfo createSymbolInfo(PsiElement element) {
         String name = null;
         String kind = "unknown";
@@ -127,10 +569,10 @@ public class FindUsagesTool extends AbstractProjectMcpTool<FindUsagesTool.FindUs
             kind = "local_variable";
         }
 
-        return new SymbolInfo(name, kind, containingClass);
+        return new SymbolInfo(name, kind, containingClass, SymbolRegistry.idOf(element));
     }
 
-    private UsageInfo createUsageInfo(PsiReference reference) {
+    private UsageInfo createUsageInfo(PsiReference reference, DocumentLines.Cache lines) {
         PsiElement element = reference.getElement();
         String filePath = null;
         LineRange lineRange = null;
@@ -149,19 +591,11 @@ public class FindUsagesTool extends AbstractProjectMcpTool<FindUsagesTool.FindUs
 
         // Get line range for the reference
         var textRange = element.getTextRange();
-        if (textRange != null) {
-            com.intellij.openapi.editor.Document document =
-                    PsiDocumentManager.getInstance(element.getProject()).getDocument(containingFile);
-            if (document != null) {
-                int startLine = document.getLineNumber(textRange.getStartOffset()) + 1;
-                int endLine = document.getLineNumber(textRange.getEndOffset()) + 1;
-                lineRange = new LineRange(startLine, endLine);
-
-                // Get the line content as context
-                int lineStartOffset = document.getLineStartOffset(startLine - 1);
-                int lineEndOffset = document.getLineEndOffset(startLine - 1);
-                context = document.getText().substring(lineStartOffset, lineEndOffset).trim();
-            }
+        DocumentLines documentLines = textRange != null ? lines.get(containingFile) : null;
+        if (documentLines != null) {
+            lineRange = documentLines.lineRange(textRange);
+            // Get the line content as context
+            context = documentLines.trimmedLine(lineRange.startLine());
         }
 
         // Determine usage type based on the resolved target element (language-independent)
@@ -188,13 +622,48 @@ public class FindUsagesTool extends AbstractProjectMcpTool<FindUsagesTool.FindUs
 
     public record FindUsagesResponse(
             SymbolInfo symbol,
+            List<UsageInfo> usages,
+            List<FileUsages> files,
+            int totalFound,
+            boolean truncated,
+            int estimatedTotalUsages,
+            String nextCursor,
+            UsageSummary summary,
+            List<MemberUsages> members,
+            List<String> notFoundMembers
+    ) {}
+
+    public record MemberUsages(
+            SymbolInfo symbol,
+            int totalUsages,
+            boolean truncated,
+            List<UsageInfo> usages,
+            UsageSummary summary
+    ) {}
+
+    public record UsageSummary(
+            int totalUsages,
+            List<UsageCount> modules,
+            List<UsageCount> files,
+            List<UsageCount> usageTypes
+    ) {}
+
+    public record UsageCount(
+            String name,
+            int count
+    ) {}
+
+    public record FileUsages(
+            String filePath,
+            int usageCount,
             List<UsageInfo> usages
     ) {}
 
     public record SymbolInfo(
             String name,
             String kind,
-            String containingClass
+            String containingClass,
+            String symbolId
     ) {}
 
     public record UsageInfo(
@@ -4,7 +4,6 @@ import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
-import com.intellij.psi.search.GlobalSearchScope;
 import io.modelcontextprotocol.spec.McpSchema;
 import net.orekyuu.intellijmcp.tools.validator.Arg;
 import net.orekyuu.intellijmcp.tools.validator.Args;
@@ -19,8 +18,10 @@ public class GetClassStructureTool extends AbstractProjectMcpTool<GetClassStruct
 
     private static final Logger LOG = Logger.getInstance(GetClassStructureTool.class);
 
-    private static final Arg<String> CLASS_NAME =
-            Arg.string("className", "The class name to get structure for (simple name or fully qualified name)").required();
+    private static final Arg<Optional<String>> SYMBOL_ID =
+            Arg.string("symbolId", "symbolId returned by an earlier tool call. Takes the place of className").optional();
+    private static final Arg<Optional<String>> CLASS_NAME =
+            Arg.string("className", "The class name to get structure for (simple name or fully qualified name)").requiredUnless("symbolId");
     private static final Arg<Project> PROJECT = Arg.project();
     private static final Arg<Boolean> INCLUDE_INHERITED =
             Arg.bool("includeInherited", "Whether to include inherited members").optional(false);
@@ -32,21 +33,21 @@ public class GetClassStructureTool extends AbstractProjectMcpTool<GetClassStruct
 
     @Override
     public McpSchema.JsonSchema getInputSchema() {
-        return Args.schema(CLASS_NAME, PROJECT, INCLUDE_INHERITED);
+        return Args.schema(SYMBOL_ID, CLASS_NAME, PROJECT, INCLUDE_INHERITED);
     }
 
     @Override
     public Result<ErrorResponse, ClassStructureResponse> doExecute(Map<String, Object> arguments) {
-        return Args.validate(arguments, CLASS_NAME, PROJECT, INCLUDE_INHERITED)
-                .mapN((className, project, includeInherited) -> runReadActionWithResult(() -> {
+        return Args.validate(arguments, SYMBOL_ID, CLASS_NAME, PROJECT, INCLUDE_INHERITED)
+                .mapN((symbolId, className, project, includeInherited) -> runReadActionWithResult(() -> {
                     try {
                         // Find the class
-                        GlobalSearchScope scope = GlobalSearchScope.allScope(project);
-                        PsiClass psiClass = PsiElementResolver.findClass(project, className, scope);
-
-                        if (psiClass == null) {
-                            return errorResult("Error: Class not found: " + className);
+                        PsiElementResolver.ResolveResult resolved =
+                                PsiElementResolver.resolveClass(project, symbolId.orElse(null), className.orElse(null));
+                        if (!(resolved instanceof PsiElementResolver.ResolveResult.Success s)) {
+                            return errorResult(((PsiElementResolver.ResolveResult.Failure) resolved).errorMessage());
                         }
+                        PsiClass psiClass = (PsiClass) s.element();
 
                         // Build structure
                         ClassStructure structure = buildClassStructure(psiClass, includeInherited);
@@ -66,7 +67,6 @@ public class GetClassStructureTool extends AbstractProjectMcpTool<GetClassStruct
         String qualifiedName = psiClass.getQualifiedName();
         String classType = PsiElementResolver.getClassKind(psiClass);
         String filePath = null;
-        LineRange lineRange = null;
 
         // Get file info
         PsiFile containingFile = psiClass.getContainingFile();
@@ -75,16 +75,10 @@ public class GetClassStructureTool extends AbstractProjectMcpTool<GetClassStruct
             if (virtualFile != null) {
                 filePath = virtualFile.getPath();
             }
-
-            var textRange = psiClass.getTextRange();
-            com.intellij.openapi.editor.Document document =
-                    PsiDocumentManager.getInstance(psiClass.getProject()).getDocument(containingFile);
-            if (document != null) {
-                int startLine = document.getLineNumber(textRange.getStartOffset()) + 1;
-                int endLine = document.getLineNumber(textRange.getEndOffset()) + 1;
-                lineRange = new LineRange(startLine, endLine);
-            }
         }
+        // Inherited members may come from other files, so their line lookups share one cache
+        DocumentLines.Cache lines = new DocumentLines.Cache();
+        LineRange lineRange = LineRange.of(psiClass, lines);
 
         // Get superclass and interfaces
         String superClass = null;
@@ -105,13 +99,13 @@ public class GetClassStructureTool extends AbstractProjectMcpTool<GetClassStruct
         List<FieldInfo> fields = new ArrayList<>();
         PsiField[] psiFields = includeInherited ? psiClass.getAllFields() : psiClass.getFields();
         for (PsiField field : psiFields) {
-            fields.add(createFieldInfo(field, psiClass));
+            fields.add(createFieldInfo(field, psiClass, lines));
         }
 
         // Get constructors
         List<MethodInfo> constructors = new ArrayList<>();
         for (PsiMethod constructor : psiClass.getConstructors()) {
-            constructors.add(createMethodInfo(constructor, psiClass));
+            constructors.add(createMethodInfo(constructor, psiClass, lines));
         }
 
         // Get methods
@@ -119,14 +113,14 @@ public class GetClassStructureTool extends AbstractProjectMcpTool<GetClassStruct
         PsiMethod[] psiMethods = includeInherited ? psiClass.getAllMethods() : psiClass.getMethods();
         for (PsiMethod method : psiMethods) {
             if (!method.isConstructor()) {
-                methods.add(createMethodInfo(method, psiClass));
+                methods.add(createMethodInfo(method, psiClass, lines));
             }
         }
 
         // Get inner classes
         List<InnerClassInfo> innerClasses = new ArrayList<>();
         for (PsiClass innerClass : psiClass.getInnerClasses()) {
-            innerClasses.add(createInnerClassInfo(innerClass));
+            innerClasses.add(createInnerClassInfo(innerClass, lines));
         }
 
         return new ClassStructure(
@@ -136,25 +130,25 @@ public class GetClassStructureTool extends AbstractProjectMcpTool<GetClassStruct
         );
     }
 
-    private FieldInfo createFieldInfo(PsiField field, PsiClass containingClass) {
+    private FieldInfo createFieldInfo(PsiField field, PsiClass containingClass, DocumentLines.Cache lines) {
         String name = field.getName();
         String type = field.getType().getPresentableText();
         List<String> modifiers = getModifiers(field.getModifierList());
         PsiClass fieldClass = field.getContainingClass();
         boolean inherited = fieldClass != null && !fieldClass.equals(containingClass);
-        LineRange lineRange = getLineRange(field);
+        LineRange lineRange = LineRange.of(field, lines);
 
-        return new FieldInfo(name, type, modifiers, inherited, lineRange);
+        return new FieldInfo(name, type, modifiers, inherited, lineRange, SymbolRegistry.idOf(field));
     }
 
-    private MethodInfo createMethodInfo(PsiMethod method, PsiClass containingClass) {
+    private MethodInfo createMethodInfo(PsiMethod method, PsiClass containingClass, DocumentLines.Cache lines) {
         String name = method.getName();
         String returnType = method.isConstructor() ? null :
                 method.getReturnType() != null ? method.getReturnType().getPresentableText() : "void";
         List<String> modifiers = getModifiers(method.getModifierList());
         PsiClass methodClass = method.getContainingClass();
         boolean inherited = methodClass != null && !methodClass.equals(containingClass);
-        LineRange lineRange = getLineRange(method);
+        LineRange lineRange = LineRange.of(method, lines);
 
         // Get parameters
         List<ParameterInfo> parameters = new ArrayList<>();
@@ -162,33 +156,16 @@ public class GetClassStructureTool extends AbstractProjectMcpTool<GetClassStruct
             parameters.add(new ParameterInfo(param.getName(), param.getType().getPresentableText()));
         }
 
-        return new MethodInfo(name, returnType, parameters, modifiers, inherited, lineRange);
+        return new MethodInfo(name, returnType, parameters, modifiers, inherited, lineRange, SymbolRegistry.idOf(method));
     }
 
-    private InnerClassInfo createInnerClassInfo(PsiClass innerClass) {
+    private InnerClassInfo createInnerClassInfo(PsiClass innerClass, DocumentLines.Cache lines) {
         String name = innerClass.getName();
         String classType = PsiElementResolver.getClassKind(innerClass);
         List<String> modifiers = getModifiers(innerClass.getModifierList());
-        LineRange lineRange = getLineRange(innerClass);
+        LineRange lineRange = LineRange.of(innerClass, lines);
 
-        return new InnerClassInfo(name, classType, modifiers, lineRange);
-    }
-
-    private LineRange getLineRange(PsiElement element) {
-        PsiFile containingFile = element.getContainingFile();
-        if (containingFile == null) {
-            return null;
-        }
-
-        var textRange = element.getTextRange();
-        com.intellij.openapi.editor.Document document =
-                PsiDocumentManager.getInstance(element.getProject()).getDocument(containingFile);
-        if (document != null) {
-            int startLine = document.getLineNumber(textRange.getStartOffset()) + 1;
-            int endLine = document.getLineNumber(textRange.getEndOffset()) + 1;
-            return new LineRange(startLine, endLine);
-        }
-        return null;
+        return new InnerClassInfo(name, classType, modifiers, lineRange, SymbolRegistry.idOf(innerClass));
     }
 
     private List<String> getModifiers(PsiModifierList modifierList) {
@@ -235,7 +212,8 @@ public class GetClassStructureTool extends AbstractProjectMcpTool<GetClassStruct
             String type,
             List<String> modifiers,
             boolean inherited,
-            LineRange lineRange
+            LineRange lineRange,
+            String symbolId
     ) {}
 
     public record MethodInfo(
@@ -244,7 +222,8 @@ public class GetClassStructureTool extends AbstractProjectMcpTool<GetClassStruct
             List<ParameterInfo> parameters,
             List<String> modifiers,
             boolean inherited,
-            LineRange lineRange
+            LineRange lineRange,
+            String symbolId
     ) {}
 
     public record ParameterInfo(
@@ -256,6 +235,7 @@ public class GetClassStructureTool extends AbstractProjectMcpTool<GetClassStruct
             String name,
             String classType,
             List<String> modifiers,
-            LineRange lineRange
+            LineRange lineRange,
+            String symbolId
     ) {}
 }
\ No newline at end of file
@@ -18,8 +18,10 @@ import java.util.Optional;
 public class GetDefinitionTool extends AbstractProjectMcpTool<GetDefinitionTool.GetDefinitionResponse> {
 
     private static final Logger LOG = Logger.getInstance(GetDefinitionTool.class);
-    private static final Arg<String> CLASS_NAME = Arg.string("className", "Fully qualified class name (e.g., 'com.example.MyClass')").required();
-    private static final Arg<Optional<String>> MEMBER_NAME = Arg.string("memberName", "Method, field, or inner class name. If not specified, returns the class definition").optional();
+    private static final Arg<Optional<String>> SYMBOL_ID =
+            Arg.string("symbolId", "symbolId returned by an earlier tool call. Takes the place of className and memberName").optional();
+    private static final Arg<Optional<String>> CLASS_NAME = Arg.string("className", "Fully qualified class name (e.g., 'com.example.MyClass')").requiredUnless("symbolId");
+    private static final Arg<Optional<String>> MEMBER_NAME = Arg.string("memberName", "Method, field, or inner class name. A method overload can be selected by parameter types, e.g. 'run(int, String)'. If not specified, returns the class definition").optional();
     private static final Arg<Project> PROJECT = Arg.project();
 
     @Override
@@ -29,22 +31,20 @@ public class GetDefinitionTool extends AbstractProjectMcpTool<GetDefinitionTool.
 
     @Override
     public McpSchema.JsonSchema getInputSchema() {
-        return Args.schema(CLASS_NAME, MEMBER_NAME, PROJECT);
+        return Args.schema(SYMBOL_ID, CLASS_NAME, MEMBER_NAME, PROJECT);
     }
 
     @Override
     public Result<ErrorResponse, GetDefinitionResponse> doExecute(Map<String, Object> arguments) {
-        return Args.validate(arguments, CLASS_NAME, MEMBER_NAME, PROJECT)
-                .mapN((className, memberName, project) -> runReadActionWithResult(() -> {
+        return Args.validate(arguments, SYMBOL_ID, CLASS_NAME, MEMBER_NAME, PROJECT)
+                .mapN((symbolId, className, memberName, project) -> runReadActionWithResult(() -> {
                     try {
                         // Resolve element
-                        PsiElementResolver.ResolveResult resolveResult = PsiElementResolver.resolve(project, className, memberName.orElse(null));
+                        PsiElementResolver.ResolveResult resolveResult = PsiElementResolver.resolve(project, symbolId.orElse(null), className.orElse(null), memberName.orElse(null));
 
                         return switch (resolveResult) {
-                            case PsiElementResolver.ResolveResult.ClassNotFound r ->
-                                    errorResult("Error: Class not found: " + r.className());
-                            case PsiElementResolver.ResolveResult.MemberNotFound r ->
-                                    errorResult("Error: Member '" + r.memberName() + "' not found in class: " + r.className());
+                            case PsiElementResolver.ResolveResult.Failure failure ->
+                                    errorResult(failure.errorMessage());
                             case PsiElementResolver.ResolveResult.Success r -> {
                                 DefinitionInfo info = createDefinitionInfo(r.element());
                                 if (info == null) {
@@ -110,23 +110,14 @@ public class GetDefinitionTool extends AbstractProjectMcpTool<GetDefinitionTool.
                 filePath = virtualFile.getPath();
             }
 
-            var textRange = element.getTextRange();
-            if (textRange != null) {
-                com.intellij.openapi.editor.Document document =
-                        PsiDocumentManager.getInstance(element.getProject()).getDocument(containingFile);
-                if (document != null) {
-                    int startLine = document.getLineNumber(textRange.getStartOffset()) + 1;
-                    int endLine = document.getLineNumber(textRange.getEndOffset()) + 1;
-                    lineRange = new LineRange(startLine, endLine);
-                }
-            }
+            lineRange = LineRange.of(element);
         }
 
         if (name == null && filePath == null) {
             return null;
         }
 
-        return new DefinitionInfo(name, kind, containingClass, filePath, lineRange);
+        return new DefinitionInfo(name, kind, containingClass, filePath, lineRange, SymbolRegistry.idOf(element));
     }
 
     public record GetDefinitionResponse(DefinitionInfo definition) {}
@@ -136,6 +127,7 @@ public class GetDefinitionTool extends AbstractProjectMcpTool<GetDefinitionTool.
             String kind,
             String containingClass,
             String filePath,
-            LineRange lineRange
+            LineRange lineRange,
+            String symbolId
     ) {}
 }
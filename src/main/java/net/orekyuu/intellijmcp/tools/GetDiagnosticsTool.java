@@ -5,11 +5,14 @@ import com.intellij.codeInsight.daemon.impl.HighlightInfo;
 import com.intellij.lang.annotation.HighlightSeverity;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ProjectFileIndex;
-import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Condition;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.openapi.vfs.VirtualFileVisitor;
 import com.intellij.problems.WolfTheProblemSolver;
 import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiFile;
@@ -17,12 +20,17 @@ import com.intellij.psi.PsiManager;
 import io.modelcontextprotocol.spec.McpSchema;
 import net.orekyuu.intellijmcp.tools.validator.Arg;
 import net.orekyuu.intellijmcp.tools.validator.Args;
-import org.jetbrains.annotations.NotNull;
+import net.orekyuu.intellijmcp.tools.validator.ProjectRelativePath;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
 /**
  * MCP tool that retrieves all diagnostics (errors and warnings) in the project.
+ * Only the files reported by {@link WolfTheProblemSolver} are read, each in its own read action.
+ * In analyze mode the files under a path are highlighted by the {@link BackgroundHighlighter} instead.
+ * Otherwise each response carries a token; passing it back returns only the changes since that
+ * response, re-reading just the files the {@link DiagnosticsJournal} saw events for.
  */
 public class GetDiagnosticsTool extends AbstractProjectMcpTool<GetDiagnosticsTool.GetDiagnosticsResponse> {
 
@@ -31,6 +39,15 @@ public class GetDiagnosticsTool extends AbstractProjectMcpTool<GetDiagnosticsToo
     private static final Arg<Project> PROJECT = Arg.project();
     private static final Arg<Boolean> ERRORS_ONLY =
             Arg.bool("errorsOnly", "Whether to return only errors, excluding warnings").optional(false);
+    private static final Arg<Optional<ProjectRelativePath>> PATH =
+            Arg.optionalProjectRelativePath("path", "Relative path from the project root to a file or directory to limit the diagnostics to (optional, the whole project if not specified)");
+    private static final Arg<Boolean> ANALYZE =
+            Arg.bool("analyze", "Run highlighting on every source file under path, including files that are not open in an editor, instead of only reading the results the IDE already has. Requires path").optional(false);
+    private static final Arg<Optional<String>> TOKEN =
+            Arg.string("token", "token from a previous call with the same errorsOnly and path. Only the diagnostics added or resolved since that call are returned").optional();
+
+    // Files highlighted per call in analyze mode; the rest are counted in unanalyzedFiles
+    private static final int MAX_ANALYZED_FILES = 200;
 
     @Override
     public String getDescription() {
@@ -39,77 +56,285 @@ public class GetDiagnosticsTool extends AbstractProjectMcpTool<GetDiagnosticsToo
 
     @Override
     public McpSchema.JsonSchema getInputSchema() {
-        return Args.schema(PROJECT, ERRORS_ONLY);
+        return Args.schema(PROJECT, ERRORS_ONLY, PATH, ANALYZE, TOKEN);
     }
 
     @Override
     public Result<ErrorResponse, GetDiagnosticsResponse> doExecute(Map<String, Object> arguments) {
-        return Args.validate(arguments, PROJECT, ERRORS_ONLY)
-                .mapN((project, errorsOnly) -> runReadActionWithResult(() -> {
+        return Args.validate(arguments, PROJECT, ERRORS_ONLY, PATH, ANALYZE, TOKEN)
+                .mapN((project, errorsOnly, path, analyze, token) -> {
                     try {
-                        // Get problem files using WolfTheProblemSolver
-                        WolfTheProblemSolver problemSolver = WolfTheProblemSolver.getInstance(project);
+                        String scopePath = path
+                                .map(p -> FileUtil.toSystemIndependentName(p.resolve(project).toString()))
+                                .orElse(null);
 
-                        List<FileDiagnostics> fileDiagnosticsList = new ArrayList<>();
-                        int totalErrors = 0;
-                        int totalWarnings = 0;
-
-                        // Get all source roots and scan for problems
-                        VirtualFile[] contentRoots = com.intellij.openapi.roots.ProjectRootManager
-                                .getInstance(project).getContentSourceRoots();
-
-                        Set<VirtualFile> processedFiles = new HashSet<>();
-
-                        for (VirtualFile root : contentRoots) {
-                            VfsUtilCore.visitChildrenRecursively(root, new VirtualFileVisitor<Void>() {
-                                @Override
-                                public boolean visitFile(@NotNull VirtualFile file) {
-                                    if (!file.isDirectory() && isSourceFile(project, file) && !processedFiles.contains(file)) {
-                                        processedFiles.add(file);
-
-                                        if (problemSolver.isProblemFile(file)) {
-                                            FileDiagnostics fileDiag = getFileDiagnostics(project, file, errorsOnly);
-                                            if (fileDiag != null && !fileDiag.diagnostics().isEmpty()) {
-                                                fileDiagnosticsList.add(fileDiag);
-                                            }
-                                        }
-                                    }
-                                    return true;
+                        if (analyze) {
+                            if (token.isPresent()) {
+                                return errorResult("Error: token cannot be used with analyze");
+                            }
+                            if (scopePath == null) {
+                                return errorResult("Error: analyze requires path");
+                            }
+                            VirtualFile root = runReadAction(() -> findScopeRoot(project, scopePath));
+                            if (root == null) {
+                                return errorResult("Error: Path not found: " + path.get().relativePath());
+                            }
+                            List<VirtualFile> sourceFiles = runReadAction(() -> collectSourceFiles(project, root));
+                            List<VirtualFile> analyzed = sourceFiles.subList(0, Math.min(sourceFiles.size(), MAX_ANALYZED_FILES));
+
+                            List<List<DiagnosticInfo>> highlighted = BackgroundHighlighter.getInstance(project).highlight(analyzed);
+                            List<FileDiagnostics> fileDiagnosticsList = new ArrayList<>();
+                            for (int i = 0; i < analyzed.size(); i++) {
+                                FileDiagnostics fileDiag = toFileDiagnostics(analyzed.get(i), highlighted.get(i), errorsOnly);
+                                if (fileDiag != null) {
+                                    fileDiagnosticsList.add(fileDiag);
                                 }
-                            });
+                            }
+                            int[] totals = countBySeverity(fileDiagnosticsList.stream().map(FileDiagnostics::diagnostics).toList());
+                            return successResult(new GetDiagnosticsResponse(
+                                    totals[0],
+                                    totals[1],
+                                    fileDiagnosticsList,
+                                    sourceFiles.size() - analyzed.size(),
+                                    null,
+                                    null,
+                                    null
+                            ));
                         }
 
-                        // Calculate totals
-                        for (FileDiagnostics fd : fileDiagnosticsList) {
-                            for (DiagnosticInfo d : fd.diagnostics()) {
-                                if ("error".equals(d.severity())) {
-                                    totalErrors++;
+                        DiagnosticsJournal journal = DiagnosticsJournal.getInstance(project);
+                        String snapshotArguments = errorsOnly + "|" + scopePath;
+                        // Taken before reading, so events during the read are picked up by the next delta
+                        long eventCount = journal.eventCount();
+
+                        if (token.isPresent()) {
+                            DiagnosticsJournal.Snapshot previous = journal.snapshot(token.get());
+                            if (previous == null) {
+                                return errorResult("Error: Unknown or expired token. Call again without a token");
+                            }
+                            if (!previous.arguments().equals(snapshotArguments)) {
+                                return errorResult("Error: token was issued for a different errorsOnly or path");
+                            }
+
+                            // Only the files touched since the previous snapshot are read again
+                            Map<VirtualFile, List<DiagnosticInfo>> current = new HashMap<>(previous.files());
+                            List<FileDiagnostics> added = new ArrayList<>();
+                            List<FileDiagnostics> resolved = new ArrayList<>();
+                            List<VirtualFile> touched = runReadAction(() ->
+                                    filterToScope(project, journal.touchedSince(previous.eventCount()), scopePath));
+                            // Deleted files are out of the file index, but their diagnostics are resolved
+                            for (VirtualFile file : previous.files().keySet()) {
+                                if (!file.isValid() && !touched.contains(file)) {
+                                    touched.add(file);
+                                }
+                            }
+                            for (VirtualFile file : touched) {
+                                List<DiagnosticInfo> before = previous.files().getOrDefault(file, List.of());
+                                List<DiagnosticInfo> after = runReadAction(() -> readProblemFile(project, file, errorsOnly));
+                                if (after.isEmpty()) {
+                                    current.remove(file);
                                 } else {
-                                    totalWarnings++;
+                                    current.put(file, after);
+                                }
+                                List<DiagnosticInfo> addedInFile = subtract(after, before);
+                                if (!addedInFile.isEmpty()) {
+                                    added.add(new FileDiagnostics(file.getPath(), addedInFile));
+                                }
+                                List<DiagnosticInfo> resolvedInFile = subtract(before, after);
+                                if (!resolvedInFile.isEmpty()) {
+                                    resolved.add(new FileDiagnostics(file.getPath(), resolvedInFile));
                                 }
                             }
+
+                            int[] totals = countBySeverity(current.values());
+                            String nextToken = journal.issue(new DiagnosticsJournal.Snapshot(snapshotArguments, eventCount, current));
+                            return successResult(new GetDiagnosticsResponse(
+                                    totals[0],
+                                    totals[1],
+                                    null,
+                                    null,
+                                    nextToken,
+                                    added,
+                                    resolved
+                            ));
                         }
 
+                        // Only the files the problem solver knows to have problems are read, not every project file
+                        List<VirtualFile> problemFiles = runReadAction(() -> collectProblemFiles(project, scopePath));
+
+                        // One short read action per file, so write actions are not blocked for the whole project
+                        Map<VirtualFile, List<DiagnosticInfo>> current = new HashMap<>();
+                        List<FileDiagnostics> fileDiagnosticsList = new ArrayList<>();
+                        for (VirtualFile file : problemFiles) {
+                            List<DiagnosticInfo> diagnostics = runReadAction(() -> readProblemFile(project, file, errorsOnly));
+                            if (!diagnostics.isEmpty()) {
+                                current.put(file, diagnostics);
+                                fileDiagnosticsList.add(new FileDiagnostics(file.getPath(), diagnostics));
+                            }
+                        }
+
+                        int[] totals = countBySeverity(current.values());
+                        String nextToken = journal.issue(new DiagnosticsJournal.Snapshot(snapshotArguments, eventCount, current));
                         return successResult(new GetDiagnosticsResponse(
-                                totalErrors,
-                                totalWarnings,
-                                fileDiagnosticsList
+                                totals[0],
+                                totals[1],
+                                fileDiagnosticsList,
+                                null,
+                                nextToken,
+                                null,
+                                null
                         ));
 
+                    } catch (ProcessCanceledException e) {
+                        throw e;
                     } catch (Exception e) {
                         LOG.error("Error in get_diagnostics tool", e);
                         return errorResult("Error: " + e.getMessage());
                     }
-                }))
+                })
                 .orElseErrors(errors -> errorResult("Error: " + Args.formatErrors(errors)));
     }
 
-    private boolean isSourceFile(Project project, VirtualFile file) {
-        return ProjectFileIndex.getInstance(project).isInSourceContent(file);
+    /**
+     * Returns the problem files in source content under the scope path, sorted by path.
+     * {@link WolfTheProblemSolver} has no accessor for its problem files, but
+     * {@link WolfTheProblemSolver#hasProblemFilesBeneath(Condition)} passes each of them to the
+     * condition until it returns true, so a condition that never does visits them all.
+     */
+    private static List<VirtualFile> collectProblemFiles(Project project, @Nullable String scopePath) {
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        Set<VirtualFile> files = new HashSet<>();
+        WolfTheProblemSolver.getInstance(project).hasProblemFilesBeneath(file -> {
+            if (isInScope(file, scopePath) && fileIndex.isInSourceContent(file)) {
+                files.add(file);
+            }
+            return false;
+        });
+        List<VirtualFile> sorted = new ArrayList<>(files);
+        sorted.sort(Comparator.comparing(VirtualFile::getPath));
+        return sorted;
+    }
+
+    /**
+     * Returns the touched files that are in source content under the scope path, sorted by path.
+     */
+    private static List<VirtualFile> filterToScope(Project project, List<VirtualFile> files, @Nullable String scopePath) {
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        List<VirtualFile> result = new ArrayList<>();
+        for (VirtualFile file : files) {
+            if (file.isValid() && isInScope(file, scopePath) && fileIndex.isInSourceContent(file)) {
+                result.add(file);
+            }
+        }
+        result.sort(Comparator.comparing(VirtualFile::getPath));
+        return result;
+    }
+
+    /**
+     * Returns the diagnostics of the file, or none if the problem solver does not report it as a problem file.
+     */
+    private static List<DiagnosticInfo> readProblemFile(Project project, VirtualFile file, boolean errorsOnly) {
+        if (!file.isValid() || !WolfTheProblemSolver.getInstance(project).isProblemFile(file)) {
+            return List.of();
+        }
+        FileDiagnostics fileDiag = getFileDiagnostics(project, file, errorsOnly);
+        return fileDiag != null ? fileDiag.diagnostics() : List.of();
+    }
+
+    /**
+     * Returns the diagnostics in {@code from} that are not in {@code other}, counting duplicates.
+     * Line ranges are not compared, so a diagnostic that only moved because lines were inserted or
+     * removed above it is in neither difference.
+     */
+    private static List<DiagnosticInfo> subtract(List<DiagnosticInfo> from, List<DiagnosticInfo> other) {
+        Map<List<String>, Integer> remaining = new HashMap<>();
+        for (DiagnosticInfo diagnostic : other) {
+            remaining.merge(matchKey(diagnostic), 1, Integer::sum);
+        }
+        List<DiagnosticInfo> result = new ArrayList<>();
+        for (DiagnosticInfo diagnostic : from) {
+            List<String> key = matchKey(diagnostic);
+            Integer count = remaining.get(key);
+            if (count == null) {
+                result.add(diagnostic);
+            } else if (count == 1) {
+                remaining.remove(key);
+            } else {
+                remaining.put(key, count - 1);
+            }
+        }
+        return result;
+    }
+
+    private static List<String> matchKey(DiagnosticInfo diagnostic) {
+        return Arrays.asList(diagnostic.severity(), diagnostic.message(), diagnostic.context());
+    }
+
+    /**
+     * Returns the number of errors and warnings, in that order.
+     */
+    private static int[] countBySeverity(Collection<List<DiagnosticInfo>> diagnosticsPerFile) {
+        int[] totals = new int[2];
+        for (List<DiagnosticInfo> diagnostics : diagnosticsPerFile) {
+            for (DiagnosticInfo d : diagnostics) {
+                totals["error".equals(d.severity()) ? 0 : 1]++;
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Finds the file or directory at the path, through the project's content roots first, so a path under
+     * a content root that is not on the local file system is found too, as {@link #isInScope} matches it.
+     */
+    private static @Nullable VirtualFile findScopeRoot(Project project, String scopePath) {
+        for (VirtualFile contentRoot : ProjectRootManager.getInstance(project).getContentRoots()) {
+            String rootPath = contentRoot.getPath();
+            if (scopePath.equals(rootPath)) {
+                return contentRoot;
+            }
+            if (scopePath.startsWith(rootPath + "/")) {
+                VirtualFile file = contentRoot.findFileByRelativePath(scopePath.substring(rootPath.length() + 1));
+                if (file != null) {
+                    return file;
+                }
+            }
+        }
+        return LocalFileSystem.getInstance().findFileByPath(scopePath);
+    }
+
+    /**
+     * Returns the source files at or under the root, sorted by path.
+     */
+    private static List<VirtualFile> collectSourceFiles(Project project, VirtualFile root) {
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        List<VirtualFile> files = new ArrayList<>();
+        if (!root.isDirectory()) {
+            if (fileIndex.isInSourceContent(root)) {
+                files.add(root);
+            }
+            return files;
+        }
+        fileIndex.iterateContentUnderDirectory(root, file -> {
+            if (!file.isDirectory() && fileIndex.isInSourceContent(file)) {
+                files.add(file);
+            }
+            return true;
+        });
+        files.sort(Comparator.comparing(VirtualFile::getPath));
+        return files;
+    }
+
+    private static boolean isInScope(VirtualFile file, @Nullable String scopePath) {
+        if (scopePath == null) {
+            return true;
+        }
+        String filePath = file.getPath();
+        return filePath.equals(scopePath) || filePath.startsWith(scopePath + "/");
     }
 
     @SuppressWarnings("UnstableApiUsage")
-    private FileDiagnostics getFileDiagnostics(Project project, VirtualFile file, boolean errorsOnly) {
+    private static FileDiagnostics getFileDiagnostics(Project project, VirtualFile file, boolean errorsOnly) {
         PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
         if (psiFile == null) {
             return null;
@@ -122,18 +347,32 @@ public class GetDiagnosticsTool extends AbstractProjectMcpTool<GetDiagnosticsToo
 
         List<HighlightInfo> highlights = DaemonCodeAnalyzerImpl.getHighlights(
                 document, HighlightSeverity.WARNING, project);
+        return toFileDiagnostics(file, toDiagnostics(highlights, document), errorsOnly);
+    }
 
+    private static @Nullable FileDiagnostics toFileDiagnostics(VirtualFile file, List<DiagnosticInfo> diagnostics,
+                                                               boolean errorsOnly) {
+        if (errorsOnly) {
+            diagnostics = diagnostics.stream().filter(d -> "error".equals(d.severity())).toList();
+        }
+        if (diagnostics.isEmpty()) {
+            return null;
+        }
+        return new FileDiagnostics(file.getPath(), diagnostics);
+    }
+
+    /**
+     * Converts highlights to the warnings and errors among them. Must be called in a read action.
+     */
+    static List<DiagnosticInfo> toDiagnostics(List<HighlightInfo> highlights, Document document) {
         List<DiagnosticInfo> diagnostics = new ArrayList<>();
+        DocumentLines lines = DocumentLines.of(document);
 
         for (HighlightInfo info : highlights) {
             if (info.getSeverity().compareTo(HighlightSeverity.WARNING) < 0) {
                 continue; // Skip info and below
             }
 
-            if (errorsOnly && info.getSeverity().compareTo(HighlightSeverity.ERROR) < 0) {
-                continue;
-            }
-
             String severity = info.getSeverity().compareTo(HighlightSeverity.ERROR) >= 0 ? "error" : "warning";
             String message = info.getDescription();
 
@@ -141,29 +380,30 @@ public class GetDiagnosticsTool extends AbstractProjectMcpTool<GetDiagnosticsToo
                 continue;
             }
 
-            int startLine = document.getLineNumber(info.getStartOffset()) + 1;
-            int endLine = document.getLineNumber(info.getEndOffset()) + 1;
-            LineRange lineRange = new LineRange(startLine, endLine);
+            LineRange lineRange = lines.lineRange(info.getStartOffset(), info.getEndOffset());
 
             // Get the problematic code snippet
-            int lineStartOffset = document.getLineStartOffset(startLine - 1);
-            int lineEndOffset = document.getLineEndOffset(startLine - 1);
-            String context = document.getText().substring(lineStartOffset, lineEndOffset).trim();
+            String context = lines.trimmedLine(lineRange.startLine());
 
             diagnostics.add(new DiagnosticInfo(severity, message, lineRange, context));
         }
-
-        if (diagnostics.isEmpty()) {
-            return null;
-        }
-
-        return new FileDiagnostics(file.getPath(), diagnostics);
+        return diagnostics;
     }
 
+    /**
+     * {@code unanalyzedFiles} counts the source files under the path left out by the analyze mode's
+     * per-call limit; it is null without analyze. With a token, {@code files} is null and
+     * {@code added} and {@code resolved} hold the changes since the token's call; the totals
+     * always cover the whole scope.
+     */
     public record GetDiagnosticsResponse(
             int totalErrors,
             int totalWarnings,
-            List<FileDiagnostics> files
+            List<FileDiagnostics> files,
+            Integer unanalyzedFiles,
+            String token,
+            List<FileDiagnostics> added,
+            List<FileDiagnostics> resolved
     ) {}
 
     public record FileDiagnostics(
@@ -20,7 +20,9 @@ import java.util.*;
 public class GetDocumentationTool extends AbstractProjectMcpTool<GetDocumentationTool.DocumentationResponse> {
 
     private static final Logger LOG = Logger.getInstance(GetDocumentationTool.class);
-    private static final Arg<String> SYMBOL_NAME = Arg.string("symbolName", "Fully qualified class name (e.g., 'java.util.List'), or 'ClassName#memberName' for a member (e.g., 'java.util.List#add')").required();
+    private static final Arg<Optional<String>> SYMBOL_ID =
+            Arg.string("symbolId", "symbolId returned by an earlier tool call. Takes the place of symbolName").optional();
+    private static final Arg<Optional<String>> SYMBOL_NAME = Arg.string("symbolName", "Fully qualified class name (e.g., 'java.util.List'), or 'ClassName#memberName' for a member (e.g., 'java.util.List#add')").requiredUnless("symbolId");
     private static final Arg<Project> PROJECT = Arg.project();
 
     @Override
@@ -30,21 +32,29 @@ public class GetDocumentationTool extends AbstractProjectMcpTool<GetDocumentatio
 
     @Override
     public McpSchema.JsonSchema getInputSchema() {
-        return Args.schema(SYMBOL_NAME, PROJECT);
+        return Args.schema(SYMBOL_ID, SYMBOL_NAME, PROJECT);
     }
 
     @Override
     public Result<ErrorResponse, DocumentationResponse> doExecute(Map<String, Object> arguments) {
-        return Args.validate(arguments, SYMBOL_NAME, PROJECT)
-                .mapN((symbolName, project) -> runReadActionWithResult(() -> {
+        return Args.validate(arguments, SYMBOL_ID, SYMBOL_NAME, PROJECT)
+                .mapN((symbolId, symbolName, project) -> runReadActionWithResult(() -> {
                     try {
+                        if (symbolId.isPresent()) {
+                            PsiElementResolver.ResolveResult result = PsiElementResolver.resolve(project, symbolId.get(), null, null);
+                            if (!(result instanceof PsiElementResolver.ResolveResult.Success s)) {
+                                return errorResult(((PsiElementResolver.ResolveResult.Failure) result).errorMessage());
+                            }
+                            return successResult(new DocumentationResponse(buildDocumentation(s)));
+                        }
+
                         GlobalSearchScope scope = GlobalSearchScope.allScope(project);
 
                         // Parse the symbol name
-                        Documentation doc = findDocumentation(project, symbolName, scope);
+                        Documentation doc = findDocumentation(project, symbolName.get(), scope);
 
                         if (doc == null) {
-                            return errorResult("Error: Symbol not found or has no documentation: " + symbolName);
+                            return errorResult("Error: Symbol not found or has no documentation: " + symbolName.get());
                         }
 
                         return successResult(new DocumentationResponse(doc));
@@ -91,12 +101,7 @@ public class GetDocumentationTool extends AbstractProjectMcpTool<GetDocumentatio
         PsiElementResolver.ResolveResult result =
                 PsiElementResolver.resolve(project, className, memberName);
 
-        return switch (result) {
-            case PsiElementResolver.ResolveResult.Success s ->
-                    buildDocumentation(s.element(), s.name(), getQualifiedName(s), s.kind());
-            case PsiElementResolver.ResolveResult.ClassNotFound ignored -> null;
-            case PsiElementResolver.ResolveResult.MemberNotFound ignored -> null;
-        };
+        return result instanceof PsiElementResolver.ResolveResult.Success s ? buildDocumentation(s) : null;
     }
 
     private String getQualifiedName(PsiElementResolver.ResolveResult.Success result) {
@@ -112,9 +117,10 @@ public class GetDocumentationTool extends AbstractProjectMcpTool<GetDocumentatio
         return result.name();
     }
 
-    private Documentation buildDocumentation(PsiElement element, String name, String qualifiedName, String symbolType) {
+    private Documentation buildDocumentation(PsiElementResolver.ResolveResult.Success result) {
+        PsiElement element = result.element();
         String docText = generateDocumentation(element);
-        return new Documentation(name, qualifiedName, symbolType, docText, getFilePath(element), getLineRange(element));
+        return new Documentation(result.name(), getQualifiedName(result), result.kind(), docText, getFilePath(element), LineRange.of(element));
     }
 
     private String generateDocumentation(PsiElement element) {
@@ -165,23 +171,6 @@ public class GetDocumentationTool extends AbstractProjectMcpTool<GetDocumentatio
         return null;
     }
 
-    private LineRange getLineRange(PsiElement element) {
-        PsiFile containingFile = element.getContainingFile();
-        if (containingFile == null) {
-            return null;
-        }
-
-        var textRange = element.getTextRange();
-        com.intellij.openapi.editor.Document document =
-                PsiDocumentManager.getInstance(element.getProject()).getDocument(containingFile);
-        if (document != null) {
-            int startLine = document.getLineNumber(textRange.getStartOffset()) + 1;
-            int endLine = document.getLineNumber(textRange.getEndOffset()) + 1;
-            return new LineRange(startLine, endLine);
-        }
-        return null;
-    }
-
     // Response and data records
 
     public record DocumentationResponse(Documentation documentation) {}
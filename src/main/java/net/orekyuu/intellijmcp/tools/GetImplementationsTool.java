@@ -2,78 +2,144 @@ package net.orekyuu.intellijmcp.tools;
 
 import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.search.searches.ClassInheritorsSearch;
+import com.intellij.psi.search.searches.DirectClassInheritorsSearch;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiUtilCore;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import io.modelcontextprotocol.spec.McpSchema;
+import net.orekyuu.intellijmcp.tools.search.SearchUtil;
 import net.orekyuu.intellijmcp.tools.validator.Arg;
 import net.orekyuu.intellijmcp.tools.validator.Args;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * MCP tool that finds all implementations of an interface or subclasses of a class.
+ * Results are returned a page at a time; by default inheritors are searched level by level,
+ * so a page only searches as deep as it needs.
  */
 public class GetImplementationsTool extends AbstractProjectMcpTool<GetImplementationsTool.GetImplementationsResponse> {
 
     private static final Logger LOG = Logger.getInstance(GetImplementationsTool.class);
 
-    private static final Arg<String> CLASS_NAME =
-            Arg.string("className", "The class or interface name to find implementations for (simple name or fully qualified name)").required();
+    private static final Arg<Optional<String>> SYMBOL_ID =
+            Arg.string("symbolId", "symbolId returned by an earlier tool call. Takes the place of className").optional();
+    private static final Arg<Optional<String>> CLASS_NAME =
+            Arg.string("className", "The class or interface name to find implementations for (simple name or fully qualified name)").requiredUnless("symbolId");
     private static final Arg<Project> PROJECT = Arg.project();
     private static final Arg<Boolean> INCLUDE_ABSTRACT =
             Arg.bool("includeAbstract", "Whether to include abstract classes in the results").optional(true);
+    private static final Arg<Integer> MAX_RESULTS =
+            Arg.integer("maxResults", "Maximum number of implementations to return in this page").min(1).optional(100);
+    private static final Arg<Boolean> DIRECT_FIRST =
+            Arg.bool("directFirst", "Return direct inheritors first, then the next level, searching only as deep as the page needs. If false, all inheritors are found and ordered by name").optional(true);
+    private static final Arg<Optional<String>> CURSOR =
+            Arg.string("cursor", "nextCursor from a previous call with the same arguments to fetch the next page").optional();
+
+    private static final int CONVERSION_PARALLELISM = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+    private static final Comparator<Inheritor> INHERITOR_ORDER = Comparator
+            .comparing(Inheritor::qualifiedName)
+            .thenComparing(Inheritor::path)
+            .thenComparingInt(Inheritor::offset);
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
 
     @Override
     public String getDescription() {
-        return "Find all concrete implementations of an interface or all subclasses of a class. Use this when asked 'what implements this interface?' or 'what extends this class?'. Returns class names and file locations.";
+        return "Find all concrete implementations of an interface or all subclasses of a class. Use this when asked 'what implements this interface?' or 'what extends this class?'. Returns class names and file locations, a page at a time.";
     }
 
     @Override
     public McpSchema.JsonSchema getInputSchema() {
-        return Args.schema(CLASS_NAME, PROJECT, INCLUDE_ABSTRACT);
+        return Args.schema(SYMBOL_ID, CLASS_NAME, PROJECT, INCLUDE_ABSTRACT, MAX_RESULTS, DIRECT_FIRST, CURSOR);
     }
 
     @Override
     public Result<ErrorResponse, GetImplementationsResponse> doExecute(Map<String, Object> arguments) {
-        return Args.validate(arguments, CLASS_NAME, PROJECT, INCLUDE_ABSTRACT)
-                .mapN((className, project, includeAbstract) -> {
+        return Args.validate(arguments, SYMBOL_ID, CLASS_NAME, PROJECT, INCLUDE_ABSTRACT, MAX_RESULTS, DIRECT_FIRST, CURSOR)
+                .mapN((symbolId, className, project, includeAbstract, maxResults, directFirst, cursorOpt) -> {
                     try {
                         // Find the target class
-                        PsiClass targetClass = runReadAction(() ->
-                                PsiElementResolver.findClass(project, className, GlobalSearchScope.allScope(project)));
-
-                        if (targetClass == null) {
-                            return errorResult("Error: Class not found: " + className);
+                        PsiElementResolver.ResolveResult resolved = runReadAction(() ->
+                                PsiElementResolver.resolveClass(project, symbolId.orElse(null), className.orElse(null)));
+                        if (!(resolved instanceof PsiElementResolver.ResolveResult.Success s)) {
+                            return errorResult(((PsiElementResolver.ResolveResult.Failure) resolved).errorMessage());
                         }
+                        PsiClass targetClass = (PsiClass) s.element();
 
                         // Get target class info
                         ClassInfo targetInfo = runReadAction(() -> createClassInfo(targetClass));
 
-                        // Search for implementations using ReadAction.nonBlocking()
+                        // Decode the continuation cursor, rejecting it if PSI changed since it was issued
+                        // or if it was issued for other arguments
+                        long modificationCount = PsiModificationTracker.getInstance(project).getModificationCount();
+                        String query = PageCursor.queryKey(targetInfo.qualifiedName(), includeAbstract, directFirst);
+                        PageCursor from = null;
+                        if (cursorOpt.isPresent()) {
+                            String rejection = PageCursor.check(cursorOpt.get(), modificationCount, query);
+                            if (rejection != null) {
+                                return errorResult(rejection);
+                            }
+                            from = PageCursor.decode(cursorOpt.get()).orElseThrow();
+                        }
+                        int reported = from != null ? from.reported() : 0;
+
                         GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
-                        Collection<PsiClass> inheritors = ReadAction
-                                .nonBlocking(() -> ClassInheritorsSearch.search(targetClass, scope, true).findAll())
-                                .executeSynchronously();
-
-                        // Convert to implementation info
-                        List<ClassInfo> implementations = runReadAction(() -> {
-                            List<ClassInfo> result = new ArrayList<>();
-                            for (PsiClass inheritor : inheritors) {
-                                // Skip abstract classes if not included
-                                if (!includeAbstract && inheritor.hasModifierProperty(PsiModifier.ABSTRACT)) {
-                                    continue;
-                                }
-                                result.add(createClassInfo(inheritor));
+                        List<PsiClass> page;
+                        String nextCursor = null;
+                        if (directFirst) {
+                            GlobalSearchScope walkScope = GlobalSearchScope.allScope(project);
+                            PageCursor resume = from;
+                            LevelPage levelPage = ReadAction
+                                    .nonBlocking(() -> {
+                                        LevelPosition position;
+                                        if (resume == null) {
+                                            position = LevelPosition.start(targetClass);
+                                        } else {
+                                            Resume decoded = Resume.decode(resume.anchor());
+                                            position = decoded != null ? decoded.toPosition(targetClass, walkScope) : null;
+                                        }
+                                        return position != null
+                                                ? findInheritorsByLevel(targetClass, walkScope, scope, includeAbstract, maxResults, position)
+                                                : null;
+                                    })
+                                    .executeSynchronously();
+                            if (levelPage == null) {
+                                return errorResult("Error: Invalid or expired cursor. Run the search again without a cursor");
+                            }
+                            page = levelPage.classes();
+                            Resume next = levelPage.next();
+                            if (next != null) {
+                                nextCursor = new PageCursor(modificationCount, 0, 0, reported + page.size(), query,
+                                        next.encode()).encode();
                             }
-                            return result;
-                        });
+                        } else {
+                            // A name order needs every inheritor, so each page sorts them all and slices its range
+                            int start = from != null ? from.index() : 0;
+                            int end = start + maxResults;
+                            List<PsiClass> found = ReadAction
+                                    .nonBlocking(() -> findAllInheritors(targetClass, scope, includeAbstract))
+                                    .executeSynchronously();
+                            page = found.subList(Math.min(start, found.size()), Math.min(end, found.size()));
+                            if (found.size() > end) {
+                                nextCursor = new PageCursor(modificationCount, end, 0, end, query, "").encode();
+                            }
+                        }
+
+                        List<ClassInfo> implementations = convertInParallel(page);
+                        boolean truncated = nextCursor != null;
 
-                        return successResult(new GetImplementationsResponse(targetInfo, implementations));
+                        return successResult(new GetImplementationsResponse(targetInfo, implementations, truncated, nextCursor));
 
-                    } catch (com.intellij.openapi.progress.ProcessCanceledException e) {
+                    } catch (ProcessCanceledException e) {
                         throw e;
                     } catch (Exception e) {
                         LOG.error("Error in get_implementations tool", e);
@@ -83,7 +149,287 @@ public class GetImplementationsTool extends AbstractProjectMcpTool<GetImplementa
                 .orElseErrors(errors -> errorResult("Error: " + Args.formatErrors(errors)));
     }
 
-    private ClassInfo createClassInfo(PsiClass psiClass) {
+    /**
+     * Collects one page of inheritors level by level with direct inheritor searches, starting at {@code from}.
+     * The hierarchy is walked in {@code scope} and only inheritors in {@code resultScope} are listed, so a project
+     * class that extends the root through a library class is still found. A level lists the direct inheritors of
+     * each frontier class in turn, so the search stops as soon as the page is full, with one inheritor to spare to
+     * tell whether another page follows. Abstract classes are still descended into when they are excluded.
+     * <p>
+     * A class with several parents in the frontier is listed under the first of them, and only at the level of
+     * its shortest path from the root, so each inheritor is listed once without a visited set across pages.
+     */
+    private static LevelPage findInheritorsByLevel(PsiClass root, GlobalSearchScope scope, GlobalSearchScope resultScope,
+                                                   boolean includeAbstract, int limit, LevelPosition from) {
+        List<PsiClass> result = new ArrayList<>();
+        Map<PsiClass, Integer> depths = new HashMap<>();
+        depths.put(root, 0);
+        int level = from.level();
+        List<PsiClass> frontier = from.frontier();
+        int parentIndex = from.parentIndex();
+        int childIndex = from.childIndex();
+        while (!frontier.isEmpty()) {
+            Map<PsiClass, Integer> parentIndices = indicesOf(frontier);
+            // A level visited from its start yields the next frontier on the way; one resumed midway lists it again
+            List<Inheritor> next = parentIndex == 0 && childIndex == 0 ? new ArrayList<>() : null;
+            for (int p = parentIndex; p < frontier.size(); p++) {
+                List<Inheritor> children = childrenOf(root, frontier, p, parentIndices, level, scope, depths);
+                for (int c = p == parentIndex ? childIndex : 0; c < children.size(); c++) {
+                    PsiClass child = children.get(c).psiClass();
+                    if (isIncluded(child, includeAbstract) && isInScope(child, resultScope)) {
+                        if (result.size() == limit) {
+                            return new LevelPage(result, new Resume(level, Inheritor.of(frontier.get(p)), children.get(c)));
+                        }
+                        result.add(child);
+                    }
+                    if (next != null) {
+                        next.add(children.get(c));
+                    }
+                }
+            }
+            if (next == null) {
+                next = levelOf(root, frontier, level, scope, depths);
+            }
+            frontier = toFrontier(next);
+            level++;
+            parentIndex = 0;
+            childIndex = 0;
+        }
+        return new LevelPage(result, null);
+    }
+
+    /**
+     * Returns every inheritor at {@code level}, the children of all the frontier classes.
+     */
+    private static List<Inheritor> levelOf(PsiClass root, List<PsiClass> frontier, int level,
+                                           GlobalSearchScope scope, Map<PsiClass, Integer> depths) {
+        Map<PsiClass, Integer> parentIndices = indicesOf(frontier);
+        List<Inheritor> inheritors = new ArrayList<>();
+        for (int p = 0; p < frontier.size(); p++) {
+            inheritors.addAll(childrenOf(root, frontier, p, parentIndices, level, scope, depths));
+        }
+        return inheritors;
+    }
+
+    /**
+     * Returns the direct inheritors listed under {@code frontier[parentIndex]} at {@code level}, in a stable order.
+     */
+    private static List<Inheritor> childrenOf(PsiClass root, List<PsiClass> frontier, int parentIndex,
+                                              Map<PsiClass, Integer> parentIndices, int level,
+                                              GlobalSearchScope scope, Map<PsiClass, Integer> depths) {
+        List<Inheritor> found = new ArrayList<>();
+        DirectClassInheritorsSearch.search(frontier.get(parentIndex), scope).forEach(inheritor -> {
+            synchronized (found) {
+                found.add(Inheritor.of(inheritor));
+            }
+            return true;
+        });
+        found.sort(INHERITOR_ORDER);
+        List<Inheritor> children = new ArrayList<>();
+        Set<PsiClass> seen = new HashSet<>();
+        for (Inheritor inheritor : found) {
+            PsiClass child = inheritor.psiClass();
+            if (seen.add(child)
+                    && depthOf(child, root, depths) == level
+                    && firstParentIndex(child, parentIndices, parentIndex) == parentIndex) {
+                children.add(inheritor);
+            }
+        }
+        return children;
+    }
+
+    /**
+     * Returns the length of the shortest path from the root down to the class, or {@link #UNREACHABLE} if there is none.
+     */
+    private static int depthOf(PsiClass psiClass, PsiClass root, Map<PsiClass, Integer> depths) {
+        Integer known = depths.get(psiClass);
+        if (known != null) {
+            return known;
+        }
+        // Recorded up front so a cyclic hierarchy in broken code ends the walk
+        depths.put(psiClass, UNREACHABLE);
+        int depth = UNREACHABLE;
+        for (PsiClass superClass : psiClass.getSupers()) {
+            int superDepth = depthOf(superClass, root, depths);
+            if (superDepth != UNREACHABLE) {
+                depth = Math.min(depth, superDepth + 1);
+            }
+        }
+        depths.put(psiClass, depth);
+        return depth;
+    }
+
+    private static int firstParentIndex(PsiClass child, Map<PsiClass, Integer> parentIndices, int parentIndex) {
+        int first = parentIndex;
+        for (PsiClass superClass : child.getSupers()) {
+            Integer index = parentIndices.get(superClass);
+            if (index != null && index < first) {
+                first = index;
+            }
+        }
+        return first;
+    }
+
+    private static Map<PsiClass, Integer> indicesOf(List<PsiClass> frontier) {
+        Map<PsiClass, Integer> indices = new HashMap<>();
+        for (int i = 0; i < frontier.size(); i++) {
+            indices.put(frontier.get(i), i);
+        }
+        return indices;
+    }
+
+    /**
+     * Orders the classes of a level as the parents of the next one. Anonymous classes cannot be extended.
+     */
+    private static List<PsiClass> toFrontier(List<Inheritor> level) {
+        return level.stream()
+                .filter(inheritor -> !(inheritor.psiClass() instanceof PsiAnonymousClass))
+                .sorted(INHERITOR_ORDER)
+                .map(Inheritor::psiClass)
+                .toList();
+    }
+
+    private static boolean isInScope(PsiClass psiClass, GlobalSearchScope scope) {
+        VirtualFile file = PsiUtilCore.getVirtualFile(psiClass);
+        return file != null && scope.contains(file);
+    }
+
+    private static List<PsiClass> findAllInheritors(PsiClass root, GlobalSearchScope scope, boolean includeAbstract) {
+        List<Inheritor> inheritors = new ArrayList<>();
+        ClassInheritorsSearch.search(root, scope, true).forEach(inheritor -> {
+            if (isIncluded(inheritor, includeAbstract)) {
+                synchronized (inheritors) {
+                    inheritors.add(Inheritor.of(inheritor));
+                }
+            }
+            return true;
+        });
+        inheritors.sort(INHERITOR_ORDER);
+        return inheritors.stream().map(Inheritor::psiClass).toList();
+    }
+
+    private static boolean isIncluded(PsiClass inheritor, boolean includeAbstract) {
+        return includeAbstract || !inheritor.hasModifierProperty(PsiModifier.ABSTRACT);
+    }
+
+    /**
+     * Sort key of an inheritor. Anonymous and local classes have no qualified name, so they sort first by
+     * location; only they need the text offset, which may load the file's AST. A key decoded from a cursor
+     * has no class.
+     */
+    private record Inheritor(@Nullable PsiClass psiClass, String qualifiedName, String path, int offset) {
+        static Inheritor of(PsiClass psiClass) {
+            String qualifiedName = psiClass.getQualifiedName();
+            VirtualFile file = PsiUtilCore.getVirtualFile(psiClass);
+            return new Inheritor(
+                    psiClass,
+                    qualifiedName != null ? qualifiedName : "",
+                    file != null ? file.getPath() : "",
+                    qualifiedName != null ? 0 : psiClass.getTextOffset()
+            );
+        }
+    }
+
+    /**
+     * Where a level-by-level search stands: the inheritors at {@code level} are the children of the
+     * {@code frontier} classes, and the next one to visit is child {@code childIndex} of parent {@code parentIndex}.
+     */
+    private record LevelPosition(int level, List<PsiClass> frontier, int parentIndex, int childIndex) {
+
+        static LevelPosition start(PsiClass root) {
+            return new LevelPosition(1, List.of(root), 0, 0);
+        }
+    }
+
+    /**
+     * Where the next page of a level-by-level search starts: inheritor {@code next}, under {@code parent}, at
+     * {@code level}. Only their sort keys go into the cursor anchor. The frontier is rebuilt on resume by walking
+     * the levels above again, which enumerates their classes without converting or listing them.
+     */
+    private record Resume(int level, Inheritor parent, Inheritor next) {
+
+        private static final String SEPARATOR = "\n";
+
+        String encode() {
+            return level + SEPARATOR + key(parent) + SEPARATOR + key(next);
+        }
+
+        private static String key(Inheritor inheritor) {
+            return inheritor.qualifiedName() + SEPARATOR + inheritor.path() + SEPARATOR + inheritor.offset();
+        }
+
+        static @Nullable Resume decode(String anchor) {
+            String[] parts = anchor.split(SEPARATOR, -1);
+            if (parts.length != 7) {
+                return null;
+            }
+            try {
+                return new Resume(
+                        Integer.parseInt(parts[0]),
+                        new Inheritor(null, parts[1], parts[2], Integer.parseInt(parts[3])),
+                        new Inheritor(null, parts[4], parts[5], Integer.parseInt(parts[6])));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        /**
+         * @return the position to resume at, or null if the parent is no longer at its level
+         */
+        @Nullable LevelPosition toPosition(PsiClass root, GlobalSearchScope scope) {
+            if (level < 1) {
+                return null;
+            }
+            Map<PsiClass, Integer> depths = new HashMap<>();
+            depths.put(root, 0);
+            List<PsiClass> frontier = List.of(root);
+            for (int above = 1; above < level && !frontier.isEmpty(); above++) {
+                frontier = toFrontier(levelOf(root, frontier, above, scope, depths));
+            }
+            int parentIndex = 0;
+            while (parentIndex < frontier.size()
+                    && INHERITOR_ORDER.compare(Inheritor.of(frontier.get(parentIndex)), parent) != 0) {
+                parentIndex++;
+            }
+            if (parentIndex == frontier.size()) {
+                return null;
+            }
+            List<Inheritor> children = childrenOf(root, frontier, parentIndex, indicesOf(frontier), level, scope, depths);
+            int childIndex = 0;
+            while (childIndex < children.size() && INHERITOR_ORDER.compare(children.get(childIndex), next) < 0) {
+                childIndex++;
+            }
+            return new LevelPosition(level, frontier, parentIndex, childIndex);
+        }
+    }
+
+    /**
+     * One page of a level-by-level search, and where the next page starts, or null if this is the last page.
+     */
+    private record LevelPage(List<PsiClass> classes, @Nullable Resume next) {}
+
+    /**
+     * Converts a page of classes, each in its own short non-blocking read action on a bounded pool,
+     * so the document loads behind the line ranges do not hold one long read action.
+     */
+    private List<ClassInfo> convertInParallel(List<PsiClass> classes) {
+        ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("GetImplementationsTool", CONVERSION_PARALLELISM);
+        try {
+            List<Future<ClassInfo>> futures = new ArrayList<>();
+            for (PsiClass psiClass : classes) {
+                futures.add(ReadAction.nonBlocking(() -> createClassInfo(psiClass)).submit(executor));
+            }
+            List<ClassInfo> result = new ArrayList<>();
+            for (Future<ClassInfo> future : futures) {
+                result.add(SearchUtil.await(future));
+            }
+            return result;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static ClassInfo createClassInfo(PsiClass psiClass) {
         String name = psiClass.getName();
         String qualifiedName = psiClass.getQualifiedName();
         String classType = PsiElementResolver.getClassKind(psiClass);
@@ -98,22 +444,13 @@ public class GetImplementationsTool extends AbstractProjectMcpTool<GetImplementa
                 filePath = virtualFile.getPath();
             }
 
-            var textRange = psiClass.getTextRange();
-            if (textRange != null) {
-                com.intellij.openapi.editor.Document document =
-                        PsiDocumentManager.getInstance(psiClass.getProject()).getDocument(containingFile);
-                if (document != null) {
-                    int startLine = document.getLineNumber(textRange.getStartOffset()) + 1;
-                    int endLine = document.getLineNumber(textRange.getEndOffset()) + 1;
-                    lineRange = new LineRange(startLine, endLine);
-                }
-            }
+            lineRange = LineRange.of(psiClass);
         }
 
-        return new ClassInfo(name, qualifiedName, classType, filePath, lineRange, modifiers);
+        return new ClassInfo(name, qualifiedName, classType, filePath, lineRange, modifiers, SymbolRegistry.idOf(psiClass));
     }
 
-    private List<String> getModifiers(PsiModifierList modifierList) {
+    private static List<String> getModifiers(PsiModifierList modifierList) {
         List<String> modifiers = new ArrayList<>();
         if (modifierList == null) {
             return modifiers;
@@ -130,7 +467,9 @@ public class GetImplementationsTool extends AbstractProjectMcpTool<GetImplementa
 
     public record GetImplementationsResponse(
             ClassInfo target,
-            List<ClassInfo> implementations
+            List<ClassInfo> implementations,
+            boolean truncated,
+            String nextCursor
     ) {}
 
     public record ClassInfo(
@@ -139,6 +478,7 @@ public class GetImplementationsTool extends AbstractProjectMcpTool<GetImplementa
             String classType,
             String filePath,
             LineRange lineRange,
-            List<String> modifiers
+            List<String> modifiers,
+            String symbolId
     ) {}
 }
@@ -8,8 +8,7 @@ import io.modelcontextprotocol.spec.McpSchema;
 import net.orekyuu.intellijmcp.tools.validator.Arg;
 import net.orekyuu.intellijmcp.tools.validator.Args;
 
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
 
 /**
  * MCP tool that retrieves the source code of a class or its member.
@@ -19,32 +18,55 @@ public class GetSourceCodeTool extends AbstractProjectMcpTool<GetSourceCodeTool.
 
     private static final Logger LOG = Logger.getInstance(GetSourceCodeTool.class);
     private static final Arg<Project> PROJECT = Arg.project();
-    private static final Arg<String> CLASS_NAME = Arg.string("className", "Fully qualified class name (e.g., 'com.example.MyClass')").required();
-    private static final Arg<Optional<String>> MEMBER_NAME = Arg.string("memberName", "Method or field name. If not specified, returns the entire class source code").optional();
+    private static final Arg<Optional<String>> SYMBOL_ID =
+            Arg.string("symbolId", "symbolId returned by an earlier tool call. Takes the place of className and memberName").optional();
+    private static final Arg<Optional<String>> CLASS_NAME = Arg.string("className", "Fully qualified class name (e.g., 'com.example.MyClass')").requiredUnless("symbolId", "targets");
+    private static final Arg<Optional<String>> MEMBER_NAME = Arg.string("memberName", "Method or field name. A method overload can be selected by parameter types, e.g. 'run(int, String)'. If not specified, returns the entire class source code").optional();
+    private static final Arg<List<String>> MEMBER_NAMES =
+            Arg.stringArray("memberNames", "Several members of className to return in one call instead of memberName. Results are returned in sources").optional();
+    private static final Arg<List<String>> TARGETS =
+            Arg.stringArray("targets", "Several symbols to return in one call, each 'ClassName' or 'ClassName#memberName' (e.g. 'com.example.MyClass#run(int)'). Cannot be combined with className or symbolId. Results are returned in sources").optional();
 
     @Override
     public String getDescription() {
-        return "Get the source code of a class or a specific method/field by class name. Use this when you need to read implementation details. Prefer this over read_file when you know the class name rather than the file path.";
+        return "Get the source code of a class or a specific method/field by class name. Use this when you need to read implementation details. Prefer this over read_file when you know the class name rather than the file path. Pass memberNames or targets to get several members in one call.";
     }
 
     @Override
     public McpSchema.JsonSchema getInputSchema() {
-        return Args.schema(PROJECT, CLASS_NAME, MEMBER_NAME);
+        return Args.schema(PROJECT, SYMBOL_ID, CLASS_NAME, MEMBER_NAME, MEMBER_NAMES, TARGETS);
     }
 
     @Override
     public Result<ErrorResponse, GetSourceCodeResponse> doExecute(Map<String, Object> arguments) {
-        return Args.validate(arguments, PROJECT, CLASS_NAME, MEMBER_NAME)
-                .mapN((project, className, memberName) -> runReadActionWithResult(() -> {
+        return Args.validate(arguments, PROJECT, SYMBOL_ID, CLASS_NAME, MEMBER_NAME, MEMBER_NAMES, TARGETS)
+                .mapN((project, symbolId, className, memberName, memberNames, targets) -> runReadActionWithResult(() -> {
                     try {
+                        if (!targets.isEmpty()) {
+                            if (symbolId.isPresent() || className.isPresent() || memberName.isPresent() || !memberNames.isEmpty()) {
+                                return errorResult("Error: targets cannot be combined with symbolId, className, memberName or memberNames");
+                            }
+                            return successResult(getSources(project, targets));
+                        }
+                        if (!memberNames.isEmpty()) {
+                            if (memberName.isPresent()) {
+                                return errorResult("Error: Specify either memberName or memberNames, not both");
+                            }
+                            if (className.isEmpty()) {
+                                return errorResult("Error: memberNames requires className");
+                            }
+                            List<String> memberTargets = memberNames.stream()
+                                    .map(name -> className.get() + "#" + name)
+                                    .toList();
+                            return successResult(getSources(project, memberTargets));
+                        }
+
                         // Resolve element using PsiElementResolver
-                        PsiElementResolver.ResolveResult resolveResult = PsiElementResolver.resolve(project, className, memberName.orElse(null));
+                        PsiElementResolver.ResolveResult resolveResult = PsiElementResolver.resolve(project, symbolId.orElse(null), className.orElse(null), memberName.orElse(null));
 
                         return switch (resolveResult) {
-                            case PsiElementResolver.ResolveResult.ClassNotFound r ->
-                                    errorResult("Error: Class not found: " + r.className());
-                            case PsiElementResolver.ResolveResult.MemberNotFound r ->
-                                    errorResult("Error: Member '" + r.memberName() + "' not found in class: " + r.className());
+                            case PsiElementResolver.ResolveResult.Failure failure ->
+                                    errorResult(failure.errorMessage());
                             case PsiElementResolver.ResolveResult.Success r -> {
                                 PsiElement targetElement = r.element();
                                 String kind = r.kind();
@@ -64,25 +86,19 @@ public class GetSourceCodeTool extends AbstractProjectMcpTool<GetSourceCodeTool.
                                         filePath = virtualFile.getPath();
                                     }
 
-                                    var textRange = targetElement.getTextRange();
-                                    if (textRange != null) {
-                                        com.intellij.openapi.editor.Document document =
-                                                PsiDocumentManager.getInstance(project).getDocument(containingFile);
-                                        if (document != null) {
-                                            int startLine = document.getLineNumber(textRange.getStartOffset()) + 1;
-                                            int endLine = document.getLineNumber(textRange.getEndOffset()) + 1;
-                                            lineRange = new LineRange(startLine, endLine);
-                                        }
-                                    }
+                                    lineRange = LineRange.of(targetElement);
                                 }
 
                                 yield successResult(new GetSourceCodeResponse(
                                         name,
                                         kind,
-                                        className,
+                                        className.orElseGet(() -> PsiElementResolver.getClassName(targetElement)),
                                         sourceCode,
                                         filePath,
-                                        lineRange
+                                        lineRange,
+                                        null,
+                                        null,
+                                        null
                                 ));
                             }
                         };
@@ -95,12 +111,87 @@ public class GetSourceCodeTool extends AbstractProjectMcpTool<GetSourceCodeTool.
                 .orElseErrors(errors -> errorResult("Error: " + Args.formatErrors(errors)));
     }
 
+    /**
+     * Resolves every target and slices its source, all in the caller's read action.
+     * Each file path is listed once in {@code files} and referenced by index from the slices.
+     * Targets are "ClassName" or "ClassName#memberName"; a target resolving to an element
+     * that was already returned is skipped.
+     */
+    private GetSourceCodeResponse getSources(Project project, List<String> targets) {
+        List<String> files = new ArrayList<>();
+        Map<String, Integer> fileIndexes = new HashMap<>();
+        List<SourceSlice> sources = new ArrayList<>();
+        List<String> notFound = new ArrayList<>();
+        Set<PsiElement> seen = new HashSet<>();
+        DocumentLines.Cache lines = new DocumentLines.Cache();
+
+        for (String target : new LinkedHashSet<>(targets)) {
+            int hash = target.indexOf('#');
+            String targetClass = hash >= 0 ? target.substring(0, hash) : target;
+            String targetMember = hash >= 0 ? target.substring(hash + 1) : null;
+            if (!(PsiElementResolver.resolve(project, targetClass, targetMember) instanceof PsiElementResolver.ResolveResult.Success r)) {
+                notFound.add(target);
+                continue;
+            }
+            PsiElement element = r.element();
+            if (!seen.add(element)) {
+                continue;
+            }
+
+            Integer fileIndex = null;
+            LineRange lineRange = null;
+            PsiFile containingFile = element.getContainingFile();
+            if (containingFile != null) {
+                VirtualFile virtualFile = containingFile.getVirtualFile();
+                if (virtualFile != null) {
+                    fileIndex = fileIndexes.computeIfAbsent(virtualFile.getPath(), path -> {
+                        files.add(path);
+                        return files.size() - 1;
+                    });
+                }
+                lineRange = LineRange.of(element, lines);
+            }
+
+            sources.add(new SourceSlice(
+                    target,
+                    r.name(),
+                    r.kind(),
+                    PsiElementResolver.getClassName(element),
+                    element.getText(),
+                    fileIndex,
+                    lineRange
+            ));
+        }
+
+        return new GetSourceCodeResponse(null, null, null, null, null, null, files, sources, notFound);
+    }
+
+    /**
+     * The single-target fields are set for one symbol; files, sources and notFound
+     * are set instead when several targets are requested.
+     */
     public record GetSourceCodeResponse(
             String name,
             String kind,
             String className,
             String sourceCode,
             String filePath,
+            LineRange lineRange,
+            List<String> files,
+            List<SourceSlice> sources,
+            List<String> notFound
+    ) {}
+
+    /**
+     * Source of one requested target. {@code fileIndex} points into the response's files.
+     */
+    public record SourceSlice(
+            String target,
+            String name,
+            String kind,
+            String className,
+            String sourceCode,
+            Integer fileIndex,
             LineRange lineRange
     ) {}
 }
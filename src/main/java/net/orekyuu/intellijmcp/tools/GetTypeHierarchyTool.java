@@ -5,7 +5,8 @@ import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
 import com.intellij.psi.search.GlobalSearchScope;
-import com.intellij.psi.search.searches.ClassInheritorsSearch;
+import com.intellij.psi.search.searches.DirectClassInheritorsSearch;
+import com.intellij.psi.util.PsiUtilCore;
 import io.modelcontextprotocol.spec.McpSchema;
 import net.orekyuu.intellijmcp.tools.validator.Arg;
 import net.orekyuu.intellijmcp.tools.validator.Args;
@@ -15,46 +16,63 @@ import java.util.*;
 /**
  * MCP tool that returns the type hierarchy of a class.
  * Shows superclasses, interfaces, and subclasses/implementors.
+ * Subclasses are searched one level at a time and the search stops once the limit is reached.
  */
 public class GetTypeHierarchyTool extends AbstractProjectMcpTool<GetTypeHierarchyTool.TypeHierarchyResponse> {
 
     private static final Logger LOG = Logger.getInstance(GetTypeHierarchyTool.class);
-    private static final int MAX_SUBCLASSES = 50;
+    // Once the subclass limit is reached, further subclasses are only counted, up to this many
+    private static final int MAX_OMITTED_COUNT = 1000;
 
-    private static final Arg<String> CLASS_NAME =
-            Arg.string("className", "The class name to get hierarchy for (simple name or fully qualified name)").required();
+    private static final Arg<Optional<String>> SYMBOL_ID =
+            Arg.string("symbolId", "symbolId returned by an earlier tool call. Takes the place of className").optional();
+    private static final Arg<Optional<String>> CLASS_NAME =
+            Arg.string("className", "The class name to get hierarchy for (simple name or fully qualified name)").requiredUnless("symbolId");
     private static final Arg<Project> PROJECT = Arg.project();
     private static final Arg<Boolean> INCLUDE_SUBCLASSES =
             Arg.bool("includeSubclasses", "Whether to include subclasses/implementors").optional(true);
+    private static final Arg<Boolean> DIRECT_ONLY =
+            Arg.bool("directOnly", "Only return direct subclasses/implementors instead of walking the hierarchy level by level").optional(false);
+    private static final Arg<Boolean> PROJECT_ONLY =
+            Arg.bool("projectOnly", "Only search subclasses/implementors in project sources, not in libraries").optional(false);
+    private static final Arg<Integer> MAX_SUBCLASSES =
+            Arg.integer("maxSubclasses", "Maximum number of subclasses/implementors to return").min(1).optional(50);
 
     @Override
     public String getDescription() {
-        return "Get the full type hierarchy of a class: its superclasses, implemented interfaces, and direct subclasses. Use this when asked 'what does this class extend?', 'what interfaces does it implement?', or to understand the class hierarchy.";
+        return "Get the full type hierarchy of a class: its superclasses, implemented interfaces, and subclasses level by level. Use this when asked 'what does this class extend?', 'what interfaces does it implement?', or to understand the class hierarchy.";
     }
 
     @Override
     public McpSchema.JsonSchema getInputSchema() {
-        return Args.schema(CLASS_NAME, PROJECT, INCLUDE_SUBCLASSES);
+        return Args.schema(SYMBOL_ID, CLASS_NAME, PROJECT, INCLUDE_SUBCLASSES, DIRECT_ONLY, PROJECT_ONLY, MAX_SUBCLASSES);
     }
 
     @Override
     public Result<ErrorResponse, TypeHierarchyResponse> doExecute(Map<String, Object> arguments) {
-        return Args.validate(arguments, CLASS_NAME, PROJECT, INCLUDE_SUBCLASSES)
-                .mapN((className, project, includeSubclasses) -> runReadActionWithResult(() -> {
+        return Args.validate(arguments, SYMBOL_ID, CLASS_NAME, PROJECT, INCLUDE_SUBCLASSES, DIRECT_ONLY, PROJECT_ONLY, MAX_SUBCLASSES)
+                .mapN((symbolId, className, project, includeSubclasses, directOnly, projectOnly, maxSubclasses) -> runReadActionWithResult(() -> {
                     try {
                         // Find the class
                         GlobalSearchScope scope = GlobalSearchScope.allScope(project);
-                        PsiClass psiClass = PsiElementResolver.findClass(project, className, scope);
-
-                        if (psiClass == null) {
-                            return errorResult("Error: Class not found: " + className);
+                        PsiElementResolver.ResolveResult resolved =
+                                PsiElementResolver.resolveClass(project, symbolId.orElse(null), className.orElse(null));
+                        if (!(resolved instanceof PsiElementResolver.ResolveResult.Success s)) {
+                            return errorResult(((PsiElementResolver.ResolveResult.Failure) resolved).errorMessage());
                         }
+                        PsiClass psiClass = (PsiClass) s.element();
 
                         // Build hierarchy
-                        TypeHierarchy hierarchy = buildTypeHierarchy(psiClass, scope, includeSubclasses);
+                        GlobalSearchScope resultScope = projectOnly ? GlobalSearchScope.projectScope(project) : scope;
+                        SubclassQuery subclassQuery = includeSubclasses
+                                ? new SubclassQuery(scope, resultScope, directOnly, maxSubclasses)
+                                : null;
+                        TypeHierarchy hierarchy = buildTypeHierarchy(psiClass, subclassQuery);
 
                         return successResult(new TypeHierarchyResponse(hierarchy));
 
+                    } catch (com.intellij.openapi.progress.ProcessCanceledException e) {
+                        throw e;
                     } catch (Exception e) {
                         LOG.error("Error in get_type_hierarchy tool", e);
                         return errorResult("Error: " + e.getMessage());
@@ -63,12 +81,12 @@ public class GetTypeHierarchyTool extends AbstractProjectMcpTool<GetTypeHierarch
                 .orElseErrors(errors -> errorResult("Error: " + Args.formatErrors(errors)));
     }
 
-    private TypeHierarchy buildTypeHierarchy(PsiClass psiClass, GlobalSearchScope scope, boolean includeSubclasses) {
+    private TypeHierarchy buildTypeHierarchy(PsiClass psiClass, SubclassQuery subclassQuery) {
         String name = psiClass.getName();
         String qualifiedName = psiClass.getQualifiedName();
         String classType = PsiElementResolver.getClassKind(psiClass);
         String filePath = getFilePath(psiClass);
-        LineRange lineRange = getLineRange(psiClass);
+        LineRange lineRange = LineRange.of(psiClass);
 
         // Get superclass chain
         List<TypeInfo> superclasses = new ArrayList<>();
@@ -85,22 +103,69 @@ public class GetTypeHierarchyTool extends AbstractProjectMcpTool<GetTypeHierarch
 
         // Get subclasses/implementors
         List<TypeInfo> subclasses = new ArrayList<>();
-        if (includeSubclasses) {
-            Collection<PsiClass> inheritors = ClassInheritorsSearch.search(psiClass, scope, true).findAll();
-            int count = 0;
-            for (PsiClass inheritor : inheritors) {
-                if (count >= MAX_SUBCLASSES) break;
-                subclasses.add(createTypeInfo(inheritor));
-                count++;
-            }
+        int omittedSubclasses = 0;
+        if (subclassQuery != null) {
+            omittedSubclasses = collectSubclasses(psiClass, subclassQuery, subclasses);
         }
 
         return new TypeHierarchy(
                 name, qualifiedName, classType, filePath, lineRange,
-                superclasses, interfaces, subclasses
+                superclasses, interfaces, subclasses, omittedSubclasses > 0, omittedSubclasses
         );
     }
 
+    /**
+     * The hierarchy is walked in {@code scope}, and only subclasses in {@code resultScope} are listed,
+     * so a project class that extends the root through a library class is still found.
+     */
+    private record SubclassQuery(GlobalSearchScope scope, GlobalSearchScope resultScope, boolean directOnly, int limit) {}
+
+    /**
+     * Collects subclasses level by level with direct inheritor searches, so the search stops at the
+     * level where the limit is reached instead of walking every inheritor in the scope first.
+     * Subclasses past the limit in that level are only counted, up to {@link #MAX_OMITTED_COUNT}.
+     * Classes outside the result scope are descended into but neither listed nor counted.
+     *
+     * @return the number of subclasses found but not returned
+     */
+    private int collectSubclasses(PsiClass root, SubclassQuery query, List<TypeInfo> subclasses) {
+        Set<PsiClass> visited = new HashSet<>();
+        visited.add(root);
+        int[] omitted = {0};
+        List<PsiClass> level = List.of(root);
+        for (int depth = 1; !level.isEmpty() && omitted[0] == 0; depth++) {
+            List<PsiClass> next = new ArrayList<>();
+            int levelDepth = depth;
+            for (PsiClass parent : level) {
+                boolean completed = DirectClassInheritorsSearch.search(parent, query.scope()).forEach(inheritor -> {
+                    synchronized (visited) {
+                        if (!visited.add(inheritor)) {
+                            return true;
+                        }
+                        next.add(inheritor);
+                        VirtualFile file = PsiUtilCore.getVirtualFile(inheritor);
+                        if (file == null || !query.resultScope().contains(file)) {
+                            return true;
+                        }
+                        if (subclasses.size() < query.limit()) {
+                            subclasses.add(createTypeInfo(inheritor, levelDepth));
+                            return true;
+                        }
+                        return ++omitted[0] < MAX_OMITTED_COUNT;
+                    }
+                });
+                if (!completed) {
+                    break;
+                }
+            }
+            if (query.directOnly()) {
+                break;
+            }
+            level = next;
+        }
+        return omitted[0];
+    }
+
     private void collectInterfaces(PsiClass psiClass, List<TypeInfo> interfaces, Set<String> seen) {
         for (PsiClass iface : psiClass.getInterfaces()) {
             String qn = iface.getQualifiedName();
@@ -119,12 +184,18 @@ public class GetTypeHierarchyTool extends AbstractProjectMcpTool<GetTypeHierarch
     }
 
     private TypeInfo createTypeInfo(PsiClass psiClass) {
+        return createTypeInfo(psiClass, null);
+    }
+
+    private TypeInfo createTypeInfo(PsiClass psiClass, Integer depth) {
         return new TypeInfo(
                 psiClass.getName(),
                 psiClass.getQualifiedName(),
                 PsiElementResolver.getClassKind(psiClass),
                 getFilePath(psiClass),
-                getLineRange(psiClass)
+                LineRange.of(psiClass),
+                depth,
+                SymbolRegistry.idOf(psiClass)
         );
     }
 
@@ -139,23 +210,6 @@ public class GetTypeHierarchyTool extends AbstractProjectMcpTool<GetTypeHierarch
         return null;
     }
 
-    private LineRange getLineRange(PsiClass psiClass) {
-        PsiFile containingFile = psiClass.getContainingFile();
-        if (containingFile == null) {
-            return null;
-        }
-
-        var textRange = psiClass.getTextRange();
-        com.intellij.openapi.editor.Document document =
-                PsiDocumentManager.getInstance(psiClass.getProject()).getDocument(containingFile);
-        if (document != null) {
-            int startLine = document.getLineNumber(textRange.getStartOffset()) + 1;
-            int endLine = document.getLineNumber(textRange.getEndOffset()) + 1;
-            return new LineRange(startLine, endLine);
-        }
-        return null;
-    }
-
     // Response and data records
 
     public record TypeHierarchyResponse(TypeHierarchy hierarchy) {}
@@ -168,7 +222,9 @@ public class GetTypeHierarchyTool extends AbstractProjectMcpTool<GetTypeHierarch
             LineRange lineRange,
             List<TypeInfo> superclasses,
             List<TypeInfo> interfaces,
-            List<TypeInfo> subclasses
+            List<TypeInfo> subclasses,
+            boolean subclassesTruncated,
+            int omittedSubclasses
     ) {}
 
     public record TypeInfo(
@@ -176,6 +232,8 @@ public class GetTypeHierarchyTool extends AbstractProjectMcpTool<GetTypeHierarch
             String qualifiedName,
             String classType,
             String filePath,
-            LineRange lineRange
+            LineRange lineRange,
+            Integer depth,
+            String symbolId
     ) {}
 }
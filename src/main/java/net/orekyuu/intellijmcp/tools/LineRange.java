@@ -1,5 +1,9 @@
 package net.orekyuu.intellijmcp.tools;
 
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import org.jetbrains.annotations.Nullable;
+
 /**
  * Represents a range of lines in a file.
  * Both startLine and endLine are 1-indexed.
@@ -12,4 +16,32 @@ public record LineRange(
     public LineRange(int startLine, int endLine) {
         this(startLine, endLine, endLine - startLine + 1);
     }
+
+    /**
+     * Computes the line range of an element from its document.
+     * This needs the element's text range, so it loads the AST of elements otherwise served from stubs;
+     * callers listing many hits should only ask for the ones they return.
+     *
+     * @return the line range, or null if the element has no text range or document
+     */
+    public static @Nullable LineRange of(PsiElement element) {
+        return of(element, new DocumentLines.Cache());
+    }
+
+    /**
+     * Computes the line range of an element, sharing the document lines of its file with other
+     * elements converted through the same cache.
+     */
+    public static @Nullable LineRange of(PsiElement element, DocumentLines.Cache cache) {
+        PsiFile containingFile = element.getContainingFile();
+        if (containingFile == null) {
+            return null;
+        }
+        var textRange = element.getTextRange();
+        if (textRange == null) {
+            return null;
+        }
+        DocumentLines lines = cache.get(containingFile);
+        return lines != null ? lines.lineRange(textRange) : null;
+    }
 }
@@ -0,0 +1,81 @@
+package net.orekyuu.intellijmcp.tools;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Opaque continuation token for tools that page through an ordered result list.
+ * Records where the next page starts ({@code index} into the tool's ordered candidates and an
+ * {@code offset} within that candidate) and how many results were already reported, tied to the
+ * modification count it was issued at so a cursor from a changed project can be rejected.
+ * <p>
+ * {@code query} is a {@link #queryKey} of the arguments the cursor was issued for, so a cursor passed
+ * with a different query can be rejected instead of silently skipping results. {@code anchor} is a
+ * tool-specific resume point that is not an index, such as the path of the file the next page starts in.
+ * Both are empty when a tool does not use them.
+ */
+public record PageCursor(long modificationCount, int index, int offset, int reported, String query, String anchor) {
+
+    public PageCursor(long modificationCount, int index, int offset, int reported) {
+        this(modificationCount, index, offset, reported, "", "");
+    }
+
+    public static PageCursor start(long modificationCount) {
+        return new PageCursor(modificationCount, 0, 0, 0);
+    }
+
+    /**
+     * Returns a short hash of the arguments that define a query, to be stored in {@link #query}.
+     */
+    public static String queryKey(Object... arguments) {
+        return Integer.toHexString(Arrays.deepHashCode(arguments));
+    }
+
+    /**
+     * Checks a cursor passed back by a client against the current modification count and query.
+     *
+     * @return the error message to report, or null if the token decodes to a cursor that can resume the query
+     */
+    public static @Nullable String check(String token, long modificationCount, String query) {
+        Optional<PageCursor> decoded = decode(token);
+        if (decoded.isEmpty()) {
+            return "Error: Invalid cursor";
+        }
+        if (!decoded.get().query().equals(query)) {
+            return "Error: Cursor was issued for a different query. Run the search again without a cursor";
+        }
+        if (decoded.get().modificationCount() != modificationCount) {
+            return "Error: Cursor is stale because the project has changed. Run the search again without a cursor";
+        }
+        return null;
+    }
+
+    public String encode() {
+        // The anchor goes last because it may itself contain colons
+        String raw = modificationCount + ":" + index + ":" + offset + ":" + reported + ":" + query + ":" + anchor;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Optional<PageCursor> decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 6);
+            if (parts.length != 6) {
+                return Optional.empty();
+            }
+            int index = Integer.parseInt(parts[1]);
+            int offset = Integer.parseInt(parts[2]);
+            int reported = Integer.parseInt(parts[3]);
+            if (index < 0 || offset < 0 || reported < 0) {
+                return Optional.empty();
+            }
+            return Optional.of(new PageCursor(Long.parseLong(parts[0]), index, offset, reported, parts[4], parts[5]));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -4,8 +4,13 @@ import com.intellij.openapi.project.Project;
 import com.intellij.psi.*;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.search.PsiShortNamesCache;
+import com.intellij.psi.util.TypeConversionUtil;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
 /**
  * Utility for resolving PsiElements from className + memberName.
  */
@@ -13,14 +18,85 @@ public final class PsiElementResolver {
 
     private PsiElementResolver() {}
 
-    public sealed interface ResolveResult permits ResolveResult.Success, ResolveResult.ClassNotFound, ResolveResult.MemberNotFound {
+    public sealed interface ResolveResult permits ResolveResult.Success, ResolveResult.Failure {
         record Success(PsiElement element, String kind, String name) implements ResolveResult {}
-        record ClassNotFound(String className) implements ResolveResult {}
-        record MemberNotFound(String memberName, String className) implements ResolveResult {}
+
+        /**
+         * A symbol that could not be resolved, with the error message tools report for it.
+         */
+        sealed interface Failure extends ResolveResult permits ClassNotFound, MemberNotFound, SymbolNotFound, NotAClass {
+            String errorMessage();
+        }
+
+        record ClassNotFound(String className) implements Failure {
+            @Override
+            public String errorMessage() {
+                return "Error: Class not found: " + className;
+            }
+        }
+
+        record MemberNotFound(String memberName, String className) implements Failure {
+            @Override
+            public String errorMessage() {
+                return "Error: Member '" + memberName + "' not found in class: " + className;
+            }
+        }
+
+        record SymbolNotFound(String symbolId) implements Failure {
+            @Override
+            public String errorMessage() {
+                return "Error: Unknown symbolId: " + symbolId + ". It may have expired; look the symbol up by className instead";
+            }
+        }
+
+        record NotAClass(String symbolId) implements Failure {
+            @Override
+            public String errorMessage() {
+                return "Error: symbolId does not refer to a class: " + symbolId;
+            }
+        }
+    }
+
+    /**
+     * Resolves a PsiElement from a symbolId returned by an earlier tool call, or else from className
+     * and optional memberName. The symbolId takes precedence when both are given.
+     *
+     * @param project    the IntelliJ project
+     * @param symbolId   id from the {@link SymbolRegistry}, or null
+     * @param className  fully qualified class name, required when symbolId is null
+     * @param memberName member name (method, field, or inner class), or null for class only
+     * @return the resolve result
+     */
+    public static ResolveResult resolve(Project project, @Nullable String symbolId,
+                                        @Nullable String className, @Nullable String memberName) {
+        if (symbolId != null) {
+            PsiElement element = SymbolRegistry.getInstance(project).resolve(symbolId);
+            return element != null ? success(element) : new ResolveResult.SymbolNotFound(symbolId);
+        }
+        return resolve(project, Objects.requireNonNull(className), memberName);
+    }
+
+    /**
+     * Resolves a class from a symbolId returned by an earlier tool call, or else from className,
+     * for tools that only take a class.
+     *
+     * @param project   the IntelliJ project
+     * @param symbolId  id from the {@link SymbolRegistry}, or null
+     * @param className fully qualified or simple class name, required when symbolId is null
+     * @return the resolve result; a symbolId of a member is reported as {@link ResolveResult.NotAClass}
+     */
+    public static ResolveResult resolveClass(Project project, @Nullable String symbolId, @Nullable String className) {
+        ResolveResult result = resolve(project, symbolId, className, null);
+        if (symbolId != null && result instanceof ResolveResult.Success s && !(s.element() instanceof PsiClass)) {
+            return new ResolveResult.NotAClass(symbolId);
+        }
+        return result;
     }
 
     /**
      * Resolves a PsiElement from className and optional memberName.
+     * A method member can select an overload by its parameter types, e.g. {@code "run(int, String)"}.
+     * Found symbols are kept in the {@link ResolvedSymbolCache} until PSI changes.
      *
      * @param project   the IntelliJ project
      * @param className fully qualified class name
@@ -28,39 +104,150 @@ public final class PsiElementResolver {
      * @return the resolve result
      */
     public static ResolveResult resolve(Project project, String className, @Nullable String memberName) {
-        GlobalSearchScope scope = GlobalSearchScope.allScope(project);
-        PsiClass psiClass = findClass(project, className, scope);
+        ResolvedSymbolCache cache = ResolvedSymbolCache.getInstance(project);
+        String key = ResolvedSymbolCache.key(className, memberName);
+        PsiElement cached = cache.get(key);
+        if (cached != null) {
+            return success(cached);
+        }
 
+        PsiClass psiClass = findClass(project, className);
         if (psiClass == null) {
             return new ResolveResult.ClassNotFound(className);
         }
 
-        if (memberName == null || memberName.isEmpty()) {
-            return new ResolveResult.Success(psiClass, getClassKind(psiClass), psiClass.getName());
+        ResolveResult result = memberName == null || memberName.isEmpty()
+                ? success(psiClass)
+                : resolveMember(psiClass, className, memberName);
+        if (result instanceof ResolveResult.Success s) {
+            cache.put(key, s.element());
+        }
+        return result;
+    }
+
+    /**
+     * Resolves a member of an already resolved class, so callers looking up several members
+     * of the same class only resolve the class once.
+     * With parameter types in parentheses, only a method overload with exactly those types matches;
+     * each type can be given as its simple or fully qualified name. Without them the first method
+     * with the name is returned.
+     *
+     * @param psiClass   the class containing the member
+     * @param className  the class name as given by the caller, used in the not-found result
+     * @param memberName member name (method, field, or inner class), optionally with parameter types
+     * @return the resolve result
+     */
+    public static ResolveResult resolveMember(PsiClass psiClass, String className, String memberName) {
+        int paren = memberName.indexOf('(');
+        if (paren >= 0 && memberName.endsWith(")")) {
+            String name = memberName.substring(0, paren).trim();
+            List<String> parameterTypes = parseParameterTypes(memberName.substring(paren + 1, memberName.length() - 1));
+            for (PsiMethod method : psiClass.findMethodsByName(name, false)) {
+                if (matchesParameterTypes(method, parameterTypes)) {
+                    return success(method);
+                }
+            }
+            return new ResolveResult.MemberNotFound(memberName, className);
         }
 
-        
         // Try to find method first
         PsiMethod[] methods = psiClass.findMethodsByName(memberName, false);
         if (methods.length > 0) {
-            return new ResolveResult.Success(methods[0], methods[0].isConstructor() ? "constructor" : "method", memberName);
+            return success(methods[0]);
         }
 
         // Try to find field
         PsiField field = psiClass.findFieldByName(memberName, false);
         if (field != null) {
-            return new ResolveResult.Success(field, "field", memberName);
+            return success(field);
         }
 
         // Try to find inner class
         PsiClass innerClass = psiClass.findInnerClassByName(memberName, false);
         if (innerClass != null) {
-            return new ResolveResult.Success(innerClass, getClassKind(innerClass), memberName);
+            return success(innerClass);
         }
 
         return new ResolveResult.MemberNotFound(memberName, className);
     }
 
+    private static ResolveResult.Success success(PsiElement element) {
+        String name = element instanceof PsiNamedElement named ? named.getName() : null;
+        String kind = switch (element) {
+            case PsiMethod method -> method.isConstructor() ? "constructor" : "method";
+            case PsiField ignored -> "field";
+            case PsiClass psiClass -> getClassKind(psiClass);
+            default -> "symbol";
+        };
+        return new ResolveResult.Success(element, kind, name);
+    }
+
+    private static List<String> parseParameterTypes(String parameterList) {
+        List<String> types = new ArrayList<>();
+        if (parameterList.isBlank()) {
+            return types;
+        }
+        // Split on top-level commas only, so generic arguments such as Map<K, V> stay together
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < parameterList.length(); i++) {
+            char c = parameterList.charAt(i);
+            if (c == '<') {
+                depth++;
+            } else if (c == '>') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                types.add(withoutWhitespace(parameterList.substring(start, i)));
+                start = i + 1;
+            }
+        }
+        types.add(withoutWhitespace(parameterList.substring(start)));
+        return types;
+    }
+
+    private static boolean matchesParameterTypes(PsiMethod method, List<String> parameterTypes) {
+        PsiParameter[] parameters = method.getParameterList().getParameters();
+        if (parameters.length != parameterTypes.size()) {
+            return false;
+        }
+        for (int i = 0; i < parameters.length; i++) {
+            PsiType type = parameters[i].getType();
+            PsiType erased = TypeConversionUtil.erasure(type);
+            String expected = parameterTypes.get(i);
+            if (!expected.equals(withoutWhitespace(type.getPresentableText()))
+                    && !expected.equals(withoutWhitespace(type.getCanonicalText()))
+                    && !expected.equals(withoutWhitespace(erased.getPresentableText()))
+                    && !expected.equals(withoutWhitespace(erased.getCanonicalText()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String withoutWhitespace(String text) {
+        return text.replaceAll("\\s+", "");
+    }
+
+    /**
+     * Finds a PsiClass in all scope through the {@link ResolvedSymbolCache}.
+     *
+     * @param project   the IntelliJ project
+     * @param className fully qualified or simple class name
+     * @return the found PsiClass, or null if not found
+     */
+    public static @Nullable PsiClass findClass(Project project, String className) {
+        ResolvedSymbolCache cache = ResolvedSymbolCache.getInstance(project);
+        String key = ResolvedSymbolCache.key(className, null);
+        if (cache.get(key) instanceof PsiClass cached) {
+            return cached;
+        }
+        PsiClass psiClass = findClass(project, className, GlobalSearchScope.allScope(project));
+        if (psiClass != null) {
+            cache.put(key, psiClass);
+        }
+        return psiClass;
+    }
+
     /**
      * Finds a PsiClass by name, supporting both fully qualified names and simple names.
      *
@@ -72,8 +259,8 @@ public final class PsiElementResolver {
     public static PsiClass findClass(Project project, String className, GlobalSearchScope scope) {
         // FQN search
         if (className.contains(".")) {
-            PsiClass[] classes = JavaPsiFacade.getInstance(project).findClasses(className, scope);
-            if (classes.length > 0) return classes[0];
+            PsiClass psiClass = JavaPsiFacade.getInstance(project).findClass(className, scope);
+            if (psiClass != null) return psiClass;
         }
         // Short name fallback
         PsiClass[] classes = PsiShortNamesCache.getInstance(project).getClassesByName(className, scope);
@@ -81,6 +268,20 @@ public final class PsiElementResolver {
         return null;
     }
 
+    /**
+     * Returns the qualified name of the class, or of the class containing the member,
+     * for responses that name the class of an element resolved from a symbolId.
+     */
+    static @Nullable String getClassName(PsiElement element) {
+        if (element instanceof PsiClass psiClass) {
+            return psiClass.getQualifiedName();
+        }
+        if (element instanceof PsiMember member && member.getContainingClass() != null) {
+            return member.getContainingClass().getQualifiedName();
+        }
+        return null;
+    }
+
     static String getClassKind(PsiClass psiClass) {
         if (psiClass.isInterface()) {
             return "interface";
@@ -83,9 +83,7 @@ public class ReadFileTool extends AbstractProjectMcpTool<ReadFileTool.ReadFileRe
                             }
 
                             // Extract content for the specified line range
-                            int startOffset = document.getLineStartOffset(startLine - 1);
-                            int endOffset = document.getLineEndOffset(endLine - 1);
-                            String content = document.getText().substring(startOffset, endOffset);
+                            String content = DocumentLines.of(document).text(startLine, endLine);
 
                             return successResult(new ReadFileResponse(
                                     resolvedPath.toString(),
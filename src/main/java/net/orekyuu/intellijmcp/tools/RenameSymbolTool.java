@@ -21,8 +21,10 @@ import java.util.concurrent.TimeUnit;
 public class RenameSymbolTool extends AbstractProjectMcpTool<RenameSymbolTool.RenameSymbolResponse> {
 
     private static final Logger LOG = Logger.getInstance(RenameSymbolTool.class);
-    private static final Arg<String> CLASS_NAME = Arg.string("className", "Fully qualified class name (e.g., 'com.example.MyClass')").required();
-    private static final Arg<Optional<String>> MEMBER_NAME = Arg.string("memberName", "Method or field name. If not specified, renames the class itself").optional();
+    private static final Arg<Optional<String>> SYMBOL_ID =
+            Arg.string("symbolId", "symbolId returned by an earlier tool call. Takes the place of className and memberName").optional();
+    private static final Arg<Optional<String>> CLASS_NAME = Arg.string("className", "Fully qualified class name (e.g., 'com.example.MyClass')").requiredUnless("symbolId");
+    private static final Arg<Optional<String>> MEMBER_NAME = Arg.string("memberName", "Method or field name. A method overload can be selected by parameter types, e.g. 'run(int, String)'. If not specified, renames the class itself").optional();
     private static final Arg<String> NEW_NAME = Arg.string("newName", "The new name for the symbol").required();
     private static final Arg<Project> PROJECT = Arg.project();
 
@@ -33,23 +35,21 @@ public class RenameSymbolTool extends AbstractProjectMcpTool<RenameSymbolTool.Re
 
     @Override
     public McpSchema.JsonSchema getInputSchema() {
-        return Args.schema(CLASS_NAME, MEMBER_NAME, NEW_NAME, PROJECT);
+        return Args.schema(SYMBOL_ID, CLASS_NAME, MEMBER_NAME, NEW_NAME, PROJECT);
     }
 
     @Override
     public Result<ErrorResponse, RenameSymbolResponse> doExecute(Map<String, Object> arguments) {
-        return Args.validate(arguments, CLASS_NAME, MEMBER_NAME, NEW_NAME, PROJECT)
-                .mapN((className, memberName, newName, project) -> {
+        return Args.validate(arguments, SYMBOL_ID, CLASS_NAME, MEMBER_NAME, NEW_NAME, PROJECT)
+                .mapN((symbolId, className, memberName, newName, project) -> {
                     try {
                         // Resolve element
                         PsiElementResolver.ResolveResult resolveResult = runReadAction(() ->
-                                PsiElementResolver.resolve(project, className, memberName.orElse(null)));
+                                PsiElementResolver.resolve(project, symbolId.orElse(null), className.orElse(null), memberName.orElse(null)));
 
                         return switch (resolveResult) {
-                            case PsiElementResolver.ResolveResult.ClassNotFound r ->
-                                    errorResult("Error: Class not found: " + r.className());
-                            case PsiElementResolver.ResolveResult.MemberNotFound r ->
-                                    errorResult("Error: Member '" + r.memberName() + "' not found in class: " + r.className());
+                            case PsiElementResolver.ResolveResult.Failure failure ->
+                                    errorResult(failure.errorMessage());
                             case PsiElementResolver.ResolveResult.Success r -> {
                                 PsiElement namedElement = r.element();
 
@@ -59,6 +59,9 @@ public class RenameSymbolTool extends AbstractProjectMcpTool<RenameSymbolTool.Re
                                     }
                                     return null;
                                 });
+                                String targetClassName = className.isPresent()
+                                        ? className.get()
+                                        : runReadAction(() -> PsiElementResolver.getClassName(namedElement));
 
                                 // Perform rename on EDT
                                 CompletableFuture<Result<ErrorResponse, RenameSymbolResponse>> future = new CompletableFuture<>();
@@ -77,7 +80,7 @@ public class RenameSymbolTool extends AbstractProjectMcpTool<RenameSymbolTool.Re
                                         });
 
                                         future.complete(successResult(new RenameSymbolResponse(
-                                                className,
+                                                targetClassName,
                                                 oldName,
                                                 newName,
                                                 true,
@@ -0,0 +1,50 @@
+package net.orekyuu.intellijmcp.tools;
+
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Project-level cache of symbols resolved by {@link PsiElementResolver}, keyed by
+ * {@code className#member(signature)}.
+ * <p>
+ * Tools are usually called one after another on the same symbol, and each call would otherwise
+ * look the class up in the indexes again. The whole cache is dropped when {@link PsiModificationTracker}
+ * reports a change, so the elements are held directly: none outlives the PSI it was resolved from, and a
+ * renamed or moved symbol is never returned for its old name. Must be used inside a read action.
+ */
+@Service(Service.Level.PROJECT)
+public final class ResolvedSymbolCache {
+
+    private final CachedValue<Map<String, PsiElement>> elements;
+
+    public ResolvedSymbolCache(Project project) {
+        PsiModificationTracker tracker = PsiModificationTracker.getInstance(project);
+        this.elements = CachedValuesManager.getManager(project).createCachedValue(
+                () -> CachedValueProvider.Result.create(new ConcurrentHashMap<>(), tracker), false);
+    }
+
+    public static ResolvedSymbolCache getInstance(Project project) {
+        return project.getService(ResolvedSymbolCache.class);
+    }
+
+    public static String key(String className, @Nullable String memberName) {
+        return memberName == null || memberName.isEmpty() ? className : className + "#" + memberName;
+    }
+
+    public @Nullable PsiElement get(String key) {
+        return elements.getValue().get(key);
+    }
+
+    public void put(String key, PsiElement element) {
+        elements.getValue().put(key, element);
+    }
+}
@@ -438,7 +438,7 @@ public class RunInspectionTool extends AbstractProjectMcpTool<RunInspectionTool.
         String alternativeId = toolWrapper.getTool().getAlternativeID();
         String inspectionId = alternativeId != null ? alternativeId : toolWrapper.getShortName();
 
-        LineRange lineRange = getLineRange(element);
+        LineRange lineRange = LineRange.of(element);
 
         return new InspectionProblem(
                 filePath,
@@ -466,23 +466,6 @@ public class RunInspectionTool extends AbstractProjectMcpTool<RunInspectionTool.
         };
     }
 
-    private LineRange getLineRange(PsiElement element) {
-        PsiFile containingFile = element.getContainingFile();
-        if (containingFile == null) {
-            return null;
-        }
-
-        var textRange = element.getTextRange();
-        com.intellij.openapi.editor.Document document =
-                PsiDocumentManager.getInstance(element.getProject()).getDocument(containingFile);
-        if (document != null && textRange != null) {
-            int startLine = document.getLineNumber(textRange.getStartOffset()) + 1;
-            int endLine = document.getLineNumber(textRange.getEndOffset()) + 1;
-            return new LineRange(startLine, endLine);
-        }
-        return null;
-    }
-
     // Simple processor that does nothing (for GlobalSimpleInspectionTool)
     private static class SimpleProblemDescriptionsProcessor implements ProblemDescriptionsProcessor {
         // All methods have default implementations in the interface
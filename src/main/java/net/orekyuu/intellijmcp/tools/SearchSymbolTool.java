@@ -1,27 +1,40 @@
 package net.orekyuu.intellijmcp.tools;
 
+import com.intellij.navigation.ChooseByNameContributor;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.search.PsiShortNamesCache;
+import com.intellij.psi.util.PsiUtilCore;
 import io.modelcontextprotocol.spec.McpSchema;
+import net.orekyuu.intellijmcp.tools.search.ContributorSymbolSearch;
+import net.orekyuu.intellijmcp.tools.search.SearchUtil;
+import net.orekyuu.intellijmcp.tools.search.SymbolNameIndex;
+import net.orekyuu.intellijmcp.tools.search.SymbolNameScorer;
+import net.orekyuu.intellijmcp.tools.search.TrigramNameTable;
 import net.orekyuu.intellijmcp.tools.validator.Arg;
 import net.orekyuu.intellijmcp.tools.validator.Args;
+import org.jetbrains.uast.UClass;
+import org.jetbrains.uast.UField;
+import org.jetbrains.uast.UMethod;
+import org.jetbrains.uast.UastContextKt;
 
 import java.util.*;
 
 /**
  * MCP tool that searches for symbols (methods, fields, classes) by name.
+ * Names are looked up in the cached {@link SymbolNameIndex} rather than rescanned per query,
+ * and matches are ranked by camel-hump match quality, prefix and project bonuses before the top results are kept.
+ * With {@code allLanguages}, names come from the Go to Class/Symbol contributors of every language instead.
  */
 public class SearchSymbolTool extends AbstractProjectMcpTool<SearchSymbolTool.SearchSymbolResponse> {
 
     private static final Logger LOG = Logger.getInstance(SearchSymbolTool.class);
-    private static final int MAX_RESULTS = 50;
 
     private static final Arg<String> QUERY =
-            Arg.string("query", "Partial or full symbol name (case-insensitive substring match). Returns up to 50 results.").required();
+            Arg.string("query", "Symbol name, part of it, or a camel-hump abbreviation (e.g. 'userName', 'getUN' or 'GUN' for getUserName). Case-insensitive; best matches are returned first.").required();
     private static final Arg<Project> PROJECT = Arg.project();
     public enum SymbolType {
         ALL, CLASS, METHOD, FIELD
@@ -29,122 +42,211 @@ public class SearchSymbolTool extends AbstractProjectMcpTool<SearchSymbolTool.Se
 
     private static final Arg<SymbolType> SYMBOL_TYPE =
             Arg.enumArg("symbolType", "Type of symbol to search for", SymbolType.class).optional(SymbolType.ALL);
+    private static final Arg<Integer> MAX_RESULTS =
+            Arg.integer("maxResults", "Maximum number of results to return").min(1).optional(50);
+    private static final Arg<Boolean> INCLUDE_LIBRARIES =
+            Arg.bool("includeLibraries", "Also search library symbols. Project symbols rank above library symbols with the same name match").optional(false);
+    private static final Arg<Boolean> INCLUDE_LOCATION =
+            Arg.bool("includeLocation", "Whether to compute line ranges. Set to false for broad searches: hits are then served from indexes without parsing each file").optional(true);
+    private static final Arg<Boolean> ALL_LANGUAGES =
+            Arg.bool("allLanguages", "Search the symbols of every indexed language (Kotlin, Groovy, XML, ...) through the IDE's Go to Class/Symbol contributors instead of Java names only").optional(false);
 
     @Override
     public String getDescription() {
-        return "Search for methods, fields, or classes by partial name match. Use this when you know part of a symbol's name but not the exact class. Prefer find_class for exact class lookups; use this for partial/fuzzy symbol search across all symbol types.";
+        return "Search for methods, fields, or classes by partial name or camel-hump abbreviation. Results are ranked by match quality, so the best matches come first. Use this when you know part of a symbol's name but not the exact class. Prefer find_class for exact class lookups; use this for partial/fuzzy symbol search across all symbol types.";
     }
 
     @Override
     public McpSchema.JsonSchema getInputSchema() {
-        return Args.schema(QUERY, PROJECT, SYMBOL_TYPE);
+        return Args.schema(QUERY, PROJECT, SYMBOL_TYPE, MAX_RESULTS, INCLUDE_LIBRARIES, INCLUDE_LOCATION, ALL_LANGUAGES);
     }
 
     @Override
     public Result<ErrorResponse, SearchSymbolResponse> doExecute(Map<String, Object> arguments) {
-        return Args.validate(arguments, QUERY, PROJECT, SYMBOL_TYPE)
-                .mapN((query, project, symbolType) -> runReadActionWithResult(() -> {
+        return Args.validate(arguments, QUERY, PROJECT, SYMBOL_TYPE, MAX_RESULTS, INCLUDE_LIBRARIES, INCLUDE_LOCATION, ALL_LANGUAGES)
+                .mapN((query, project, symbolType, maxResults, includeLibraries, includeLocation, allLanguages) -> {
                     try {
-                        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
-                        PsiShortNamesCache cache = PsiShortNamesCache.getInstance(project);
-
-                        List<SymbolInfo> symbols = new ArrayList<>();
-
-                        // Search classes
-                        if (symbolType == SymbolType.ALL || symbolType == SymbolType.CLASS) {
-                            searchClasses(cache, query, scope, symbols);
-                        }
-
-                        // Search methods
-                        if (symbolType == SymbolType.ALL || symbolType == SymbolType.METHOD) {
-                            searchMethods(cache, query, scope, symbols);
-                        }
-
-                        // Search fields
-                        if (symbolType == SymbolType.ALL || symbolType == SymbolType.FIELD) {
-                            searchFields(cache, query, scope, symbols);
-                        }
-
-                        // Limit results
-                        if (symbols.size() > MAX_RESULTS) {
-                            symbols = symbols.subList(0, MAX_RESULTS);
-                        }
+                        SymbolNameScorer scorer = new SymbolNameScorer(query);
+
+                        // The contributor search runs its own read actions, one per contributor in parallel
+                        List<PsiElement> ranked = allLanguages
+                                ? ContributorSymbolSearch.search(project, contributorsFor(symbolType), scorer,
+                                        includeLibraries, maxResults, element -> matchesSymbolType(element, symbolType))
+                                : runReadAction(() -> searchJavaSymbols(project, scorer, symbolType, maxResults, includeLibraries));
+
+                        // Only the returned page is turned into responses, so line ranges are never computed for dropped hits
+                        List<SymbolInfo> symbols = runReadAction(() -> {
+                            List<SymbolInfo> result = new ArrayList<>();
+                            for (PsiElement element : ranked) {
+                                SymbolInfo info = element.isValid() ? createSymbolInfo(element, includeLocation) : null;
+                                if (info != null) {
+                                    result.add(info);
+                                }
+                            }
+                            return result;
+                        });
 
                         return successResult(new SearchSymbolResponse(query, symbols.size(), symbols));
 
+                    } catch (com.intellij.openapi.progress.ProcessCanceledException e) {
+                        throw e;
                     } catch (Exception e) {
                         LOG.error("Error in search_symbol tool", e);
                         return errorResult("Error: " + e.getMessage());
                     }
-                }))
+                })
                 .orElseErrors(errors -> errorResult("Error: " + Args.formatErrors(errors)));
     }
 
-    private void searchClasses(PsiShortNamesCache cache, String query, GlobalSearchScope scope, List<SymbolInfo> results) {
-        // Get all class names and filter
-        String[] allClassNames = cache.getAllClassNames();
-        for (String className : allClassNames) {
-            if (results.size() >= MAX_RESULTS) break;
-
-            if (matchesQuery(className, query)) {
-                PsiClass[] classes = cache.getClassesByName(className, scope);
-                for (PsiClass psiClass : classes) {
-                    if (results.size() >= MAX_RESULTS) break;
-
-                    SymbolInfo info = createSymbolInfo(psiClass);
-                    if (info != null) {
-                        results.add(info);
-                    }
-                }
+    /**
+     * Searches Java symbols through the cached {@link SymbolNameIndex} and returns the best matches, best first.
+     */
+    private List<PsiElement> searchJavaSymbols(Project project, SymbolNameScorer scorer, SymbolType symbolType,
+                                               int maxResults, boolean includeLibraries) {
+        GlobalSearchScope projectScope = GlobalSearchScope.projectScope(project);
+        GlobalSearchScope scope = includeLibraries ? GlobalSearchScope.allScope(project) : projectScope;
+        PsiShortNamesCache cache = PsiShortNamesCache.getInstance(project);
+        SymbolNameIndex nameIndex = SymbolNameIndex.getInstance(project);
+
+        // Pick the best ranked names first, keeping some slack for names that resolve to several symbols.
+        // Names declared in the project are ranked with the project bonus, and names that only exist in
+        // libraries are only read when libraries are searched, so they never take budget from project hits
+        int nameBudget = maxResults * 2;
+        PriorityQueue<NameCandidate> names = new PriorityQueue<>(nameBudget + 1, NameCandidate.WORST_FIRST);
+        for (boolean projectOnly : includeLibraries ? new boolean[]{true, false} : new boolean[]{true}) {
+            if (symbolType == SymbolType.ALL || symbolType == SymbolType.CLASS) {
+                collectNames(nameIndex.classNames(projectOnly), SymbolType.CLASS, scorer, projectOnly, nameBudget, names);
+            }
+            if (symbolType == SymbolType.ALL || symbolType == SymbolType.METHOD) {
+                collectNames(nameIndex.methodNames(projectOnly), SymbolType.METHOD, scorer, projectOnly, nameBudget, names);
+            }
+            if (symbolType == SymbolType.ALL || symbolType == SymbolType.FIELD) {
+                collectNames(nameIndex.fieldNames(projectOnly), SymbolType.FIELD, scorer, projectOnly, nameBudget, names);
             }
         }
-    }
 
-    private void searchMethods(PsiShortNamesCache cache, String query, GlobalSearchScope scope, List<SymbolInfo> results) {
-        String[] allMethodNames = cache.getAllMethodNames();
-        for (String methodName : allMethodNames) {
-            if (results.size() >= MAX_RESULTS) break;
+        List<NameCandidate> rankedNames = new ArrayList<>(names);
+        rankedNames.sort(NameCandidate.WORST_FIRST.reversed());
+
+        // Resolve names best first into a bounded heap of symbols. A name in both tables is resolved
+        // once, under its higher project rank, so no symbol scores above its name's rank
+        PriorityQueue<RankedSymbol> best = new PriorityQueue<>(maxResults + 1, RankedSymbol.WORST_FIRST);
+        Set<String> resolvedNames = new HashSet<>();
+        int found = 0;
+        for (NameCandidate candidate : rankedNames) {
+            if (best.size() >= maxResults && best.peek().score() >= candidate.rank()) {
+                break; // no remaining name can beat the current results
+            }
+            if (!resolvedNames.add(candidate.kind() + ":" + candidate.name())) {
+                continue;
+            }
+            for (PsiElement element : findElements(cache, candidate, scope)) {
+                VirtualFile file = PsiUtilCore.getVirtualFile(element);
+                boolean inProject = file != null && projectScope.contains(file);
+                int score = candidate.score() + (inProject ? SymbolNameScorer.PROJECT_BONUS : 0);
+                SearchUtil.offer(best, new RankedSymbol(element, score, found++), maxResults);
+            }
+        }
 
-            if (matchesQuery(methodName, query)) {
-                PsiMethod[] methods = cache.getMethodsByName(methodName, scope);
-                for (PsiMethod method : methods) {
-                    if (results.size() >= MAX_RESULTS) break;
+        List<RankedSymbol> ranked = new ArrayList<>(best);
+        ranked.sort(RankedSymbol.WORST_FIRST.reversed());
+        return ranked.stream().map(RankedSymbol::element).toList();
+    }
 
-                    SymbolInfo info = createSymbolInfo(method);
-                    if (info != null) {
-                        results.add(info);
-                    }
-                }
+    private static List<ChooseByNameContributor> contributorsFor(SymbolType symbolType) {
+        return switch (symbolType) {
+            case CLASS -> ChooseByNameContributor.CLASS_EP_NAME.getExtensionList();
+            case METHOD, FIELD -> ChooseByNameContributor.SYMBOL_EP_NAME.getExtensionList();
+            case ALL -> {
+                List<ChooseByNameContributor> all = new ArrayList<>(ChooseByNameContributor.CLASS_EP_NAME.getExtensionList());
+                all.addAll(ChooseByNameContributor.SYMBOL_EP_NAME.getExtensionList());
+                yield all;
             }
-        }
+        };
     }
 
-    private void searchFields(PsiShortNamesCache cache, String query, GlobalSearchScope scope, List<SymbolInfo> results) {
-        String[] allFieldNames = cache.getAllFieldNames();
-        for (String fieldName : allFieldNames) {
-            if (results.size() >= MAX_RESULTS) break;
+    /**
+     * Checks the kind of a contributor hit. Symbol contributors return every kind of symbol, so methods
+     * and fields of other JVM languages are recognized through their UAST form; symbols of languages
+     * without one only match {@link SymbolType#ALL}.
+     */
+    private static boolean matchesSymbolType(PsiElement element, SymbolType symbolType) {
+        return switch (symbolType) {
+            case ALL, CLASS -> true;
+            case METHOD -> element instanceof PsiMethod || UastContextKt.toUElement(element) instanceof UMethod;
+            case FIELD -> element instanceof PsiField || UastContextKt.toUElement(element) instanceof UField;
+        };
+    }
 
-            if (matchesQuery(fieldName, query)) {
-                PsiField[] fields = cache.getFieldsByName(fieldName, scope);
-                for (PsiField field : fields) {
-                    if (results.size() >= MAX_RESULTS) break;
+    /**
+     * Returns the kind of a symbol of another language, from its UAST form, or "symbol" if it has none.
+     */
+    private static String contributedKind(PsiElement element) {
+        return switch (UastContextKt.toUElement(element)) {
+            case UMethod method -> method.isConstructor() ? "constructor" : "method";
+            case UField ignored -> "field";
+            case UClass ignored -> "class";
+            case null, default -> "symbol";
+        };
+    }
 
-                    SymbolInfo info = createSymbolInfo(field);
-                    if (info != null) {
-                        results.add(info);
-                    }
+    /**
+     * Scores the names of one symbol kind from one table into the shared name heap.
+     * Substring hits come from the trigram postings; the camel-hump scan over all names only runs
+     * while substring hits alone cannot fill the heap, since a contiguous match is the stronger signal.
+     */
+    private void collectNames(TrigramNameTable table, SymbolType kind, SymbolNameScorer scorer, boolean projectNames,
+                              int limit, PriorityQueue<NameCandidate> names) {
+        Set<String> substringHits = new HashSet<>();
+        table.processMatches(scorer.query(), name -> {
+            substringHits.add(name);
+            SearchUtil.offer(names, new NameCandidate(name, kind, scorer.score(name, true), projectNames), limit);
+            return true;
+        });
+        if (substringHits.size() >= limit) {
+            return;
+        }
+        table.processSubsequenceMatches(scorer.query(), name -> {
+            if (!substringHits.contains(name)) {
+                int score = scorer.score(name, false);
+                if (score != SymbolNameScorer.NO_MATCH) {
+                    SearchUtil.offer(names, new NameCandidate(name, kind, score, projectNames), limit);
                 }
             }
+            return true;
+        });
+    }
+
+    private static PsiElement[] findElements(PsiShortNamesCache cache, NameCandidate candidate, GlobalSearchScope scope) {
+        return switch (candidate.kind()) {
+            case CLASS -> cache.getClassesByName(candidate.name(), scope);
+            case METHOD -> cache.getMethodsByName(candidate.name(), scope);
+            case FIELD -> cache.getFieldsByName(candidate.name(), scope);
+            case ALL -> PsiElement.EMPTY_ARRAY;
+        };
+    }
+
+    /**
+     * A scored name. {@code projectName} marks names taken from the project table, which rank with the project bonus.
+     */
+    private record NameCandidate(String name, SymbolType kind, int score, boolean projectName) {
+        // Lower rank first; among equal ranks the shorter, then alphabetically later name is worse
+        static final Comparator<NameCandidate> WORST_FIRST = Comparator.comparingInt(NameCandidate::rank)
+                .thenComparing(candidate -> candidate.name().length(), Comparator.reverseOrder())
+                .thenComparing(NameCandidate::name, Comparator.reverseOrder());
+
+        int rank() {
+            return score + (projectName ? SymbolNameScorer.PROJECT_BONUS : 0);
         }
     }
 
-    private boolean matchesQuery(String name, String query) {
-        if (name == null) return false;
-        // Case-insensitive contains match
-        return name.toLowerCase().contains(query.toLowerCase());
+    private record RankedSymbol(PsiElement element, int score, int order) {
+        // Lower score first; among equal scores the later found symbol is worse
+        static final Comparator<RankedSymbol> WORST_FIRST = Comparator.comparingInt(RankedSymbol::score)
+                .thenComparing(RankedSymbol::order, Comparator.reverseOrder());
     }
 
-    private SymbolInfo createSymbolInfo(PsiElement element) {
+    private SymbolInfo createSymbolInfo(PsiElement element, boolean includeLocation) {
         String name = null;
         String kind = "unknown";
         String containingClass = null;
@@ -175,33 +277,26 @@ public class SearchSymbolTool extends AbstractProjectMcpTool<SearchSymbolTool.Se
                 containingClass = parent.getQualifiedName();
             }
             signature = field.getType().getPresentableText() + " " + field.getName();
+        } else if (element instanceof PsiNamedElement namedElement) {
+            // Symbols of other languages found through contributors
+            name = namedElement.getName();
+            kind = contributedKind(element);
         }
 
-        // Get file path and line range
-        PsiFile containingFile = element.getContainingFile();
-        if (containingFile != null) {
-            VirtualFile virtualFile = containingFile.getVirtualFile();
-            if (virtualFile != null) {
-                filePath = virtualFile.getPath();
-            }
-
-            var textRange = element.getTextRange();
-            if (textRange != null) {
-                com.intellij.openapi.editor.Document document =
-                        PsiDocumentManager.getInstance(element.getProject()).getDocument(containingFile);
-                if (document != null) {
-                    int startLine = document.getLineNumber(textRange.getStartOffset()) + 1;
-                    int endLine = document.getLineNumber(textRange.getEndOffset()) + 1;
-                    lineRange = new LineRange(startLine, endLine);
-                }
-            }
+        // File path comes from the stub; the line range needs the AST, so it is only computed when requested
+        VirtualFile virtualFile = PsiUtilCore.getVirtualFile(element);
+        if (virtualFile != null) {
+            filePath = virtualFile.getPath();
+        }
+        if (includeLocation) {
+            lineRange = LineRange.of(element);
         }
 
         if (name == null) {
             return null;
         }
 
-        return new SymbolInfo(name, kind, containingClass, signature, filePath, lineRange);
+        return new SymbolInfo(name, kind, containingClass, signature, filePath, lineRange, SymbolRegistry.idOf(element));
     }
 
     private String buildMethodSignature(PsiMethod method) {
@@ -238,6 +333,7 @@ public class SearchSymbolTool extends AbstractProjectMcpTool<SearchSymbolTool.Se
             String containingClass,
             String signature,
             String filePath,
-            LineRange lineRange
+            LineRange lineRange,
+            String symbolId
     ) {}
 }
@@ -6,34 +6,56 @@ import com.intellij.find.FindResult;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.impl.LoadTextUtil;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.project.ProjectUtil;
-import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.roots.FileIndex;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.io.FileUtilRt;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.openapi.vfs.VirtualFileVisitor;
+import com.intellij.openapi.vfs.VirtualFileManager;
 import io.modelcontextprotocol.spec.McpSchema;
+import net.orekyuu.intellijmcp.tools.search.AhoCorasickMatcher;
+import net.orekyuu.intellijmcp.tools.search.CombinedRegexMatcher;
+import net.orekyuu.intellijmcp.tools.search.LineIndex;
+import net.orekyuu.intellijmcp.tools.search.LiteralMatcher;
+import net.orekyuu.intellijmcp.tools.search.TextMatcher;
 import net.orekyuu.intellijmcp.tools.validator.Arg;
 import net.orekyuu.intellijmcp.tools.validator.Args;
-import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 /**
  * MCP tool that searches for text in project files.
  * Supports regular expressions and case-sensitive matching.
+ * Several patterns can be matched in a single pass; each match is tagged with the pattern it came from.
+ * Traversal follows the project model, so excluded and ignored files are never read.
+ * Truncated results carry a continuation cursor that resumes the scan where it stopped.
+ * Files are listed in small batches, so a page only walks as far into the project as it scans.
  */
 public class SearchTextTool extends AbstractProjectMcpTool<SearchTextTool.SearchTextResponse> {
 
     private static final Logger LOG = Logger.getInstance(SearchTextTool.class);
     private static final int MAX_RESULTS = 100;
+    // Files listed per read action while scanning
+    private static final int CANDIDATE_BATCH_SIZE = 256;
 
-    private static final Arg<String> SEARCH_TEXT =
-            Arg.string("searchText", "Text or regex pattern to search for. Set useRegex=true when using regular expressions.").required();
+    private static final Arg<Optional<String>> SEARCH_TEXT =
+            Arg.string("searchText", "Text or regex pattern to search for. Set useRegex=true when using regular expressions. Required unless searchTexts is given").requiredUnless("searchTexts");
+    private static final Arg<List<String>> SEARCH_TEXTS =
+            Arg.stringArray("searchTexts", "Additional texts or regex patterns to search for in the same pass. Each match reports which pattern it came from").optional();
     private static final Arg<Project> PROJECT = Arg.project();
     private static final Arg<Boolean> USE_REGEX =
             Arg.bool("useRegex", "Use regular expression matching").optional(false);
@@ -43,7 +65,10 @@ public class SearchTextTool extends AbstractProjectMcpTool<SearchTextTool.Search
             Arg.string("filePattern", "File name pattern to filter (e.g., '*.java', '*.xml')").optional();
     private static final Arg<Integer> MAX_RESULTS_ARG =
             Arg.integer("maxResults", "Maximum number of results to return").optional(MAX_RESULTS);
-
+    private static final Arg<Optional<String>> MODULE =
+            Arg.string("module", "Module name to restrict the search to (e.g., from get_project_modules)").optional();
+    private static final Arg<Optional<String>> CURSOR =
+            Arg.string("cursor", "Continuation cursor (nextCursor) from a previous call with the same query. Resumes scanning where that call stopped").optional();
 
     @Override
     public String getDescription() {
@@ -52,36 +77,80 @@ public class SearchTextTool extends AbstractProjectMcpTool<SearchTextTool.Search
 
     @Override
     public McpSchema.JsonSchema getInputSchema() {
-        return Args.schema(SEARCH_TEXT, PROJECT, USE_REGEX, CASE_SENSITIVE, FILE_PATTERN, MAX_RESULTS_ARG);
+        return Args.schema(SEARCH_TEXT, SEARCH_TEXTS, PROJECT, USE_REGEX, CASE_SENSITIVE, FILE_PATTERN, MAX_RESULTS_ARG, MODULE, CURSOR);
     }
 
     @Override
     public Result<ErrorResponse, SearchTextResponse> doExecute(Map<String, Object> arguments) {
-        return Args.validate(arguments, SEARCH_TEXT, PROJECT, USE_REGEX, CASE_SENSITIVE, FILE_PATTERN, MAX_RESULTS_ARG)
-                .mapN((searchText, project, useRegex, caseSensitive, filePatternOpt, maxResults) -> {
+        return Args.validate(arguments, SEARCH_TEXT, SEARCH_TEXTS, PROJECT, USE_REGEX, CASE_SENSITIVE, FILE_PATTERN, MAX_RESULTS_ARG, MODULE, CURSOR)
+                .mapN((searchTextOpt, searchTexts, project, useRegex, caseSensitive, filePatternOpt, maxResults, moduleName, cursorOpt) -> {
                     try {
+                        String searchText = searchTextOpt.orElse(null);
                         String filePattern = filePatternOpt.orElse(null);
 
-                        // Validate regex if enabled
-                        if (useRegex) {
-                            try {
-                                Pattern.compile(searchText);
-                            } catch (PatternSyntaxException e) {
-                                return errorResult("Error: Invalid regular expression: " + e.getMessage());
+                        Set<String> uniquePatterns = new LinkedHashSet<>();
+                        searchTextOpt.ifPresent(uniquePatterns::add);
+                        searchTexts.stream().filter(text -> !text.isEmpty()).forEach(uniquePatterns::add);
+                        if (uniquePatterns.isEmpty()) {
+                            return errorResult("Error: searchText or searchTexts is required");
+                        }
+                        List<String> patterns = List.copyOf(uniquePatterns);
+
+                        Module module = null;
+                        if (moduleName.isPresent()) {
+                            module = runReadAction(() -> ModuleManager.getInstance(project).findModuleByName(moduleName.get()));
+                            if (module == null) {
+                                return errorResult("Error: Module not found: " + moduleName.get());
+                            }
+                        }
+
+                        // Decode the continuation cursor, rejecting it if the VFS changed since it was issued
+                        // or if it was issued for another query
+                        String queryKey = PageCursor.queryKey(patterns, useRegex, caseSensitive, filePattern, moduleName.orElse(null));
+                        PageCursor cursor = null;
+                        if (cursorOpt.isPresent()) {
+                            String rejection = PageCursor.check(cursorOpt.get(), currentVfsModificationCount(), queryKey);
+                            if (rejection != null) {
+                                return errorResult(rejection);
+                            }
+                            cursor = PageCursor.decode(cursorOpt.get()).orElseThrow();
+                            if (cursor.anchor().isEmpty()) {
+                                return errorResult("Error: Invalid cursor");
                             }
                         }
 
+                        // Build the matcher, validating regular expressions
+                        TextMatcher matcher;
+                        try {
+                            matcher = createMatcher(project, patterns, useRegex, caseSensitive);
+                        } catch (PatternSyntaxException e) {
+                            return errorResult("Error: Invalid regular expression: " + e.getMessage());
+                        } catch (IllegalArgumentException e) {
+                            return errorResult("Error: " + e.getMessage());
+                        }
+
                         // Perform search
-                        List<SearchMatch> matches = performSearch(
-                                project, searchText, useRegex, caseSensitive, filePattern, maxResults);
+                        long modificationCount = currentVfsModificationCount();
+                        List<SearchMatch> matches = new ArrayList<>();
+                        ScanPosition stoppedAt = performSearch(
+                                project, module, matcher, patterns, filePattern, maxResults, cursor, matches);
+
+                        boolean truncated = stoppedAt != null;
+                        int reported = (cursor != null ? cursor.reported() : 0) + matches.size();
+                        String nextCursor = truncated
+                                ? new PageCursor(modificationCount, stoppedAt.patternIndex(), stoppedAt.offset(), reported,
+                                        queryKey, stoppedAt.file().getPath()).encode()
+                                : null;
 
                         return successResult(new SearchTextResponse(
                                 searchText,
+                                patterns,
                                 useRegex,
                                 caseSensitive,
                                 filePattern,
                                 matches.size(),
-                                matches.size() >= maxResults,
+                                truncated,
+                                nextCursor,
                                 matches
                         ));
 
@@ -93,28 +162,20 @@ public class SearchTextTool extends AbstractProjectMcpTool<SearchTextTool.Search
                 .orElseErrors(errors -> errorResult("Error: " + Args.formatErrors(errors)));
     }
 
-    private List<SearchMatch> performSearch(
+    /**
+     * Scans project files and appends matches until maxResults is reached.
+     *
+     * @return the position where the next page starts, or null if every file was scanned
+     */
+    private ScanPosition performSearch(
             Project project,
-            String searchText,
-            boolean useRegex,
-            boolean caseSensitive,
+            Module module,
+            TextMatcher matcher,
+            List<String> patterns,
             String filePattern,
-            int maxResults) {
-
-        List<SearchMatch> matches = new ArrayList<>();
-
-        // Setup FindModel
-        FindModel findModel = new FindModel();
-        findModel.setStringToFind(searchText);
-        findModel.setRegularExpressions(useRegex);
-        findModel.setCaseSensitive(caseSensitive);
-        findModel.setWholeWordsOnly(false);
-
-        // Get project base directory
-        VirtualFile baseDir = runReadAction(() -> ProjectUtil.guessProjectDir(project));
-        if (baseDir == null) {
-            return matches;
-        }
+            int maxResults,
+            PageCursor cursor,
+            List<SearchMatch> matches) {
 
         // Create file pattern matcher if specified
         Pattern filePatternRegex = null;
@@ -122,112 +183,249 @@ public class SearchTextTool extends AbstractProjectMcpTool<SearchTextTool.Search
             String regex = convertGlobToRegex(filePattern);
             filePatternRegex = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
         }
-
         Pattern finalFilePatternRegex = filePatternRegex;
-        FindManager findManager = FindManager.getInstance(project);
 
-        // Visit all files in the project
-        VfsUtilCore.visitChildrenRecursively(baseDir, new VirtualFileVisitor<Void>() {
-            @Override
-            public boolean visitFile(@NotNull VirtualFile file) {
+        // A cursor resumes at its own file; later batches resume after the last file listed
+        String fromPath = cursor != null ? cursor.anchor() : null;
+        boolean inclusive = cursor != null;
+        while (true) {
+            String batchFromPath = fromPath;
+            boolean batchInclusive = inclusive;
+            List<VirtualFile> batch = runReadAction(() ->
+                    collectCandidateFiles(project, module, batchFromPath, batchInclusive, CANDIDATE_BATCH_SIZE));
+
+            for (int i = 0; i < batch.size(); i++) {
+                VirtualFile file = batch.get(i);
+                ScanPosition candidate = inclusive && i == 0
+                        ? new ScanPosition(file, cursor.offset(), cursor.index())
+                        : new ScanPosition(file, 0, 0);
+                boolean searchable = runReadAction(() -> file.isValid() && !file.getFileType().isBinary());
+                if (!searchable) {
+                    continue;
+                }
+
+                // Check file pattern
+                if (finalFilePatternRegex != null && !finalFilePatternRegex.matcher(file.getName()).matches()) {
+                    continue;
+                }
+
+                // The page is full; the next page starts at this file
                 if (matches.size() >= maxResults) {
-                    return false; // Stop visiting
+                    return candidate;
                 }
 
-                if (file.isDirectory()) {
-                    // Skip hidden directories and common non-source directories
-                    String name = file.getName();
-                    return !name.startsWith(".") &&
-                           !name.equals("node_modules") &&
-                           !name.equals("build") &&
-                           !name.equals("out") &&
-                           !name.equals("target");
+                // Search in file
+                ScanPosition resumeAt = searchInFile(matcher, patterns, candidate, matches, maxResults);
+                if (resumeAt != null) {
+                    return resumeAt;
                 }
+            }
+
+            if (batch.size() < CANDIDATE_BATCH_SIZE) {
+                return null;
+            }
+            fromPath = batch.getLast().getPath();
+            inclusive = false;
+        }
+    }
+
+    /**
+     * Lists up to {@code limit} files to scan, in a stable order, using the project model.
+     * Excluded directories and ignored files are skipped by the file index without being read.
+     * With {@code fromPath}, listing starts at that file ({@code inclusive}) or right after it, and
+     * subtrees that precede it are not entered.
+     */
+    private List<VirtualFile> collectCandidateFiles(Project project, Module module, String fromPath,
+                                                    boolean inclusive, int limit) {
+        FileIndex fileIndex;
+        VirtualFile[] roots;
+        if (module != null) {
+            ModuleRootManager rootManager = ModuleRootManager.getInstance(module);
+            fileIndex = rootManager.getFileIndex();
+            roots = rootManager.getContentRoots();
+        } else {
+            fileIndex = ProjectFileIndex.getInstance(project);
+            roots = ProjectRootManager.getInstance(project).getContentRoots();
+        }
+
+        List<VirtualFile> candidates = new ArrayList<>();
+        String[] resumePath = {fromPath};
 
-                // Skip binary files
-                if (file.getFileType().isBinary()) {
+        for (VirtualFile root : topLevelRoots(roots)) {
+            if (resumePath[0] != null && !isAncestorOrSelf(root, resumePath[0])) {
+                continue; // Entire root was scanned by a previous page
+            }
+            boolean completed = fileIndex.iterateContentUnderDirectory(root, file -> {
+                if (file.isDirectory()) {
                     return true;
                 }
-
-                // Check file pattern
-                if (finalFilePatternRegex != null) {
-                    if (!finalFilePatternRegex.matcher(file.getName()).matches()) {
+                if (resumePath[0] != null) {
+                    if (!file.getPath().equals(resumePath[0])) {
+                        return true;
+                    }
+                    resumePath[0] = null;
+                    if (!inclusive) {
                         return true;
                     }
                 }
+                candidates.add(file);
+                return candidates.size() < limit;
+            }, file -> resumePath[0] == null || !file.isDirectory() || isAncestorOrSelf(file, resumePath[0]));
+            if (!completed) {
+                break;
+            }
+        }
 
-                // Search in file
-                searchInFile(findManager, findModel, file, matches, maxResults);
-                return true;
+        return candidates;
+    }
+
+    /**
+     * Sorts content roots by path and drops roots nested inside another root, which are covered by their parent.
+     */
+    private static List<VirtualFile> topLevelRoots(VirtualFile[] roots) {
+        VirtualFile[] sorted = roots.clone();
+        Arrays.sort(sorted, Comparator.comparing(VirtualFile::getPath));
+        List<VirtualFile> result = new ArrayList<>();
+        for (VirtualFile root : sorted) {
+            if (result.isEmpty() || !isAncestorOrSelf(result.getLast(), root.getPath())) {
+                result.add(root);
             }
-        });
+        }
+        return result;
+    }
 
-        return matches;
+    private static boolean isAncestorOrSelf(VirtualFile dir, String path) {
+        String dirPath = dir.getPath();
+        return path.equals(dirPath) || path.startsWith(dirPath.endsWith("/") ? dirPath : dirPath + "/");
     }
 
-    private void searchInFile(
-            FindManager findManager,
-            FindModel findModel,
-            VirtualFile file,
+    /**
+     * Searches a single file starting at the candidate's position.
+     *
+     * @return the position to resume from if maxResults was reached, or null if the file was fully scanned
+     */
+    private ScanPosition searchInFile(
+            TextMatcher matcher,
+            List<String> patterns,
+            ScanPosition from,
             List<SearchMatch> matches,
             int maxResults) {
 
-        runReadAction(() -> {
+        VirtualFile file = from.file();
+        return runReadAction(() -> {
             if (!file.isValid()) {
                 return null;
             }
 
-            Document document = FileDocumentManager.getInstance().getDocument(file);
-            if (document == null) {
+            CharSequence text = loadText(file);
+            if (text == null) {
                 return null;
             }
 
-            CharSequence text = document.getCharsSequence();
-            int offset = 0;
+            // Built on the first match only, then shared by every match in the file
+            LineIndex[] lineIndex = new LineIndex[1];
+            ScanPosition[] resumeAt = new ScanPosition[1];
 
-            while (offset < text.length() && matches.size() < maxResults) {
-                FindResult result = findManager.findString(text, offset, findModel, file);
-
-                if (!result.isStringFound()) {
-                    break;
+            matcher.processMatches(text, Math.min(from.offset(), text.length()), match -> {
+                // Matches at the cursor offset from lower-indexed patterns were reported on the previous page
+                if (match.start() == from.offset() && match.patternIndex() < from.patternIndex()) {
+                    return true;
                 }
 
-                int startOffset = result.getStartOffset();
-                int endOffset = result.getEndOffset();
+                if (matches.size() >= maxResults) {
+                    resumeAt[0] = new ScanPosition(file, match.start(), match.patternIndex());
+                    return false;
+                }
 
-                // Prevent infinite loop for zero-length matches
-                if (startOffset == offset && endOffset == offset) {
-                    offset++;
-                    continue;
+                if (lineIndex[0] == null) {
+                    lineIndex[0] = LineIndex.of(text);
                 }
 
                 // Get line number (1-based)
-                int lineNumber = document.getLineNumber(startOffset) + 1;
+                int line = lineIndex[0].lineNumber(match.start());
+                int lineNumber = line + 1;
 
                 // Get column (1-based)
-                int lineStartOffset = document.getLineStartOffset(lineNumber - 1);
-                int column = startOffset - lineStartOffset + 1;
+                int column = match.start() - lineIndex[0].lineStart(line) + 1;
 
                 // Get matched text
-                String matchedText = text.subSequence(startOffset, endOffset).toString();
+                String matchedText = text.subSequence(match.start(), match.end()).toString();
 
                 // Get line content
-                int lineEndOffset = document.getLineEndOffset(lineNumber - 1);
-                String lineContent = text.subSequence(lineStartOffset, lineEndOffset).toString().trim();
+                String lineContent = lineIndex[0].lineText(line).toString().trim();
 
                 matches.add(new SearchMatch(
                         file.getPath(),
                         lineNumber,
                         column,
                         matchedText,
-                        lineContent
+                        lineContent,
+                        patterns.get(match.patternIndex())
                 ));
+                return true;
+            });
 
-                offset = endOffset;
-            }
+            return resumeAt[0];
+        });
+    }
 
+    /**
+     * Creates the matcher for the queried patterns.
+     * Literal queries use a Boyer-Moore-Horspool scan (one pattern) or an Aho-Corasick automaton (several patterns)
+     * over the raw characters. A single regular expression goes through FindManager so it behaves like Find in Files;
+     * several run side by side and their matches are merged.
+     *
+     * @throws PatternSyntaxException if a regular expression is invalid
+     * @throws IllegalArgumentException if a literal pattern is rejected
+     */
+    private TextMatcher createMatcher(Project project, List<String> patterns, boolean useRegex, boolean caseSensitive) {
+        if (!useRegex) {
+            return patterns.size() == 1
+                    ? LiteralMatcher.of(patterns.getFirst(), caseSensitive)
+                    : AhoCorasickMatcher.of(patterns, caseSensitive);
+        }
+        if (patterns.size() > 1) {
+            return CombinedRegexMatcher.of(patterns, caseSensitive);
+        }
+
+        String searchText = patterns.getFirst();
+        Pattern.compile(searchText);
+
+        FindModel findModel = new FindModel();
+        findModel.setStringToFind(searchText);
+        findModel.setRegularExpressions(true);
+        findModel.setCaseSensitive(caseSensitive);
+        findModel.setWholeWordsOnly(false);
+
+        FindManager findManager = FindManager.getInstance(project);
+        return (text, from) -> {
+            FindResult result = findManager.findString(text, from, findModel);
+            return result.isStringFound() ? new TextMatcher.Match(result.getStartOffset(), result.getEndOffset()) : null;
+        };
+    }
+
+    /**
+     * Returns the current text of a file without creating a Document for it.
+     * An already loaded Document is preferred because it may hold unsaved changes.
+     */
+    private CharSequence loadText(VirtualFile file) {
+        Document document = FileDocumentManager.getInstance().getCachedDocument(file);
+        if (document != null) {
+            return document.getCharsSequence();
+        }
+        if (FileUtilRt.isTooLarge(file.getLength())) {
             return null;
-        });
+        }
+        try {
+            return LoadTextUtil.loadText(file);
+        } catch (RuntimeException e) {
+            LOG.debug("Failed to load " + file.getPath(), e);
+            return null;
+        }
+    }
+
+    private static long currentVfsModificationCount() {
+        return VirtualFileManager.getInstance().getModificationCount();
     }
 
     /**
@@ -253,11 +451,13 @@ public class SearchTextTool extends AbstractProjectMcpTool<SearchTextTool.Search
 
     public record SearchTextResponse(
             String searchText,
+            List<String> patterns,
             boolean useRegex,
             boolean caseSensitive,
             String filePattern,
             int totalMatches,
             boolean truncated,
+            String nextCursor,
             List<SearchMatch> matches
     ) {}
 
@@ -266,6 +466,9 @@ public class SearchTextTool extends AbstractProjectMcpTool<SearchTextTool.Search
             int line,
             int column,
             String matchedText,
-            String lineContent
+            String lineContent,
+            String pattern
     ) {}
-}
\ No newline at end of file
+
+    private record ScanPosition(VirtualFile file, int offset, int patternIndex) {}
+}
@@ -0,0 +1,90 @@
+package net.orekyuu.intellijmcp.tools;
+
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Project-level registry of the opaque {@code symbolId}s returned in tool responses.
+ * <p>
+ * Each id maps to a {@link SmartPsiElementPointer}, so a follow-up call that passes the id back
+ * gets the same element without looking its class up by name again, even after edits have moved it.
+ * The same element keeps its id while it is registered. The registry holds at most
+ * {@link #MAX_SYMBOLS} ids and evicts the least recently used one beyond that. Ids start with a
+ * random prefix per registry, so an id from an earlier IDE session is reported as unknown instead
+ * of resolving to an unrelated symbol. Must be used inside a read action.
+ */
+@Service(Service.Level.PROJECT)
+public final class SymbolRegistry {
+
+    static final int MAX_SYMBOLS = 4096;
+
+    private final SmartPointerManager pointerManager;
+    private final String prefix = Integer.toString(ThreadLocalRandom.current().nextInt(36 * 36 * 36, 36 * 36 * 36 * 36), 36);
+    private final Object lock = new Object();
+    private final Map<SmartPsiElementPointer<PsiElement>, String> ids = new HashMap<>();
+    private final LinkedHashMap<String, SmartPsiElementPointer<PsiElement>> pointers = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SmartPsiElementPointer<PsiElement>> eldest) {
+            if (size() > MAX_SYMBOLS) {
+                ids.remove(eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+    private long nextId;
+
+    public SymbolRegistry(Project project) {
+        this.pointerManager = SmartPointerManager.getInstance(project);
+    }
+
+    public static SymbolRegistry getInstance(Project project) {
+        return project.getService(SymbolRegistry.class);
+    }
+
+    /**
+     * Returns the id of the element in its project's registry, registering it if needed.
+     */
+    public static String idOf(PsiElement element) {
+        return getInstance(element.getProject()).register(element);
+    }
+
+    /**
+     * Returns the id of the element, registering it if needed.
+     */
+    public String register(PsiElement element) {
+        // The pointer manager hands out the same pointer for an element while one is alive
+        SmartPsiElementPointer<PsiElement> pointer = pointerManager.createSmartPsiElementPointer(element);
+        synchronized (lock) {
+            String id = ids.get(pointer);
+            if (id != null) {
+                pointers.get(id); // refresh its recency
+                return id;
+            }
+            id = prefix + "-" + Long.toString(++nextId, 36);
+            ids.put(pointer, id);
+            pointers.put(id, pointer);
+            return id;
+        }
+    }
+
+    /**
+     * @return the element registered under the id, or null if the id is unknown, evicted or its element was deleted
+     */
+    public @Nullable PsiElement resolve(String symbolId) {
+        SmartPsiElementPointer<PsiElement> pointer;
+        synchronized (lock) {
+            pointer = pointers.get(symbolId);
+        }
+        return pointer != null ? pointer.getElement() : null;
+    }
+}
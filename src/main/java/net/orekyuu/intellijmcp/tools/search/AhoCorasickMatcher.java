@@ -0,0 +1,179 @@
+package net.orekyuu.intellijmcp.tools.search;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Aho-Corasick matcher that finds any number of literal strings in a single pass over the text.
+ * Case-insensitive matching folds characters the same way as {@link LiteralMatcher}.
+ */
+public final class AhoCorasickMatcher implements TextMatcher {
+
+    private static final Comparator<Match> START_ORDER =
+            Comparator.comparingInt(Match::start).thenComparingInt(Match::patternIndex);
+
+    private final boolean caseSensitive;
+    private final int[] patternLengths;
+    private final int maxPatternLength;
+
+    // Trie nodes; node 0 is the root. Transitions are stored as sorted parallel arrays per node.
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] failure;
+    private final int[][] outputs;
+    private final int[] outputLink;
+
+    private AhoCorasickMatcher(List<String> patterns, boolean caseSensitive) {
+        this.caseSensitive = caseSensitive;
+        this.patternLengths = new int[patterns.size()];
+
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> terminals = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        terminals.add(new ArrayList<>());
+
+        int longest = 0;
+        for (int p = 0; p < patterns.size(); p++) {
+            String pattern = patterns.get(p);
+            patternLengths[p] = pattern.length();
+            longest = Math.max(longest, pattern.length());
+            int node = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = fold(pattern.charAt(i));
+                Integer next = trie.get(node).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    terminals.add(new ArrayList<>());
+                    trie.get(node).put(c, next);
+                }
+                node = next;
+            }
+            terminals.get(node).add(p);
+        }
+        this.maxPatternLength = longest;
+
+        int size = trie.size();
+        this.edgeChars = new char[size][];
+        this.edgeTargets = new int[size][];
+        this.outputs = new int[size][];
+        for (int node = 0; node < size; node++) {
+            TreeMap<Character, Integer> edges = trie.get(node);
+            edgeChars[node] = new char[edges.size()];
+            edgeTargets[node] = new int[edges.size()];
+            int i = 0;
+            for (var edge : edges.entrySet()) {
+                edgeChars[node][i] = edge.getKey();
+                edgeTargets[node][i] = edge.getValue();
+                i++;
+            }
+            outputs[node] = terminals.get(node).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        // Breadth-first construction of failure links and output (dictionary suffix) links
+        this.failure = new int[size];
+        this.outputLink = new int[size];
+        Arrays.fill(outputLink, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : edgeTargets[0]) {
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < edgeChars[node].length; i++) {
+                char c = edgeChars[node][i];
+                int child = edgeTargets[node][i];
+                int fallback = failure[node];
+                while (fallback != 0 && transition(fallback, c) < 0) {
+                    fallback = failure[fallback];
+                }
+                int target = transition(fallback, c);
+                failure[child] = target >= 0 && target != child ? target : 0;
+                int suffix = failure[child];
+                outputLink[child] = outputs[suffix].length > 0 ? suffix : outputLink[suffix];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Creates a matcher for the given non-empty literals. The pattern index of a match is its position in the list.
+     */
+    public static AhoCorasickMatcher of(List<String> patterns, boolean caseSensitive) {
+        if (patterns.isEmpty() || patterns.stream().anyMatch(String::isEmpty)) {
+            throw new IllegalArgumentException("patterns must be non-empty strings");
+        }
+        return new AhoCorasickMatcher(patterns, caseSensitive);
+    }
+
+    @Override
+    public @Nullable Match find(CharSequence text, int from) {
+        Match[] first = new Match[1];
+        processMatches(text, from, match -> {
+            first[0] = match;
+            return false;
+        });
+        return first[0];
+    }
+
+    @Override
+    public void processMatches(CharSequence text, int from, Predicate<Match> consumer) {
+        // Matches are discovered by end offset; they are held back until no earlier-starting match can still appear
+        PriorityQueue<Match> pending = new PriorityQueue<>(START_ORDER);
+        int[] lastEnd = new int[patternLengths.length];
+        Arrays.fill(lastEnd, Math.max(from, 0));
+
+        int state = 0;
+        for (int i = Math.max(from, 0); i < text.length(); i++) {
+            char c = fold(text.charAt(i));
+            while (state != 0 && transition(state, c) < 0) {
+                state = failure[state];
+            }
+            int next = transition(state, c);
+            state = next >= 0 ? next : 0;
+
+            for (int node = outputs[state].length > 0 ? state : outputLink[state]; node > 0; node = outputLink[node]) {
+                for (int p : outputs[node]) {
+                    pending.add(new Match(i + 1 - patternLengths[p], i + 1, p));
+                }
+            }
+
+            int earliestFutureStart = i + 2 - maxPatternLength;
+            while (!pending.isEmpty() && pending.peek().start() < earliestFutureStart) {
+                if (!emit(pending.poll(), lastEnd, consumer)) {
+                    return;
+                }
+            }
+        }
+        while (!pending.isEmpty()) {
+            if (!emit(pending.poll(), lastEnd, consumer)) {
+                return;
+            }
+        }
+    }
+
+    private static boolean emit(Match match, int[] lastEnd, Predicate<Match> consumer) {
+        if (match.start() < lastEnd[match.patternIndex()]) {
+            return true; // Overlaps the previous match of the same pattern
+        }
+        lastEnd[match.patternIndex()] = match.end();
+        return consumer.test(match);
+    }
+
+    private int transition(int node, char c) {
+        int index = Arrays.binarySearch(edgeChars[node], c);
+        return index >= 0 ? edgeTargets[node][index] : -1;
+    }
+
+    private char fold(char c) {
+        return caseSensitive ? c : Character.toLowerCase(Character.toUpperCase(c));
+    }
+}
@@ -0,0 +1,174 @@
+package net.orekyuu.intellijmcp.tools.search;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.lang.java.lexer.JavaLexer;
+import com.intellij.pom.java.LanguageLevel;
+import com.intellij.psi.JavaTokenType;
+import com.intellij.psi.impl.source.tree.ElementType;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Persistent index of the method call sites in Java files, keyed by the called method's name.
+ * <p>
+ * Each file maps the names it calls, through call expressions or method references, to the offsets
+ * of the name identifiers. The platform builds the index in the background and re-indexes a file
+ * whenever its content changes, so finding the callers of a method only resolves the call sites
+ * recorded under its name instead of searching every file that contains the name as a word.
+ * <p>
+ * Like the platform's word index, the indexer only runs the Java lexer, without building a syntax tree:
+ * an identifier followed by an opening parenthesis, or preceded by {@code ::}, is recorded. That also
+ * records method declarations and a few other constructs, so the call sites have to be resolved to
+ * check that they are calls, and which method they call, which they need anyway since indexing is file-local.
+ */
+public final class CallSiteIndex extends FileBasedIndexExtension<String, int[]> {
+
+    public static final ID<String, int[]> NAME = ID.create("net.orekyuu.intellijmcp.callSites");
+
+    /**
+     * Processes the call sites of methods with the given name in the scope, as a file and the
+     * start offsets of the called names in it, until the processor returns false.
+     * Must be called in a read action in smart mode.
+     */
+    public static boolean processCallSites(String methodName, GlobalSearchScope scope,
+                                           FileBasedIndex.ValueProcessor<? super int[]> processor) {
+        return FileBasedIndex.getInstance().processValues(NAME, methodName, null, processor, scope);
+    }
+
+    @Override
+    public ID<String, int[]> getName() {
+        return NAME;
+    }
+
+    @Override
+    public DataIndexer<String, int[], FileContent> getIndexer() {
+        return content -> {
+            CharSequence text = content.getContentAsText();
+            Map<String, OffsetList> offsetsByName = new HashMap<>();
+            JavaLexer lexer = new JavaLexer(LanguageLevel.HIGHEST);
+            lexer.start(text);
+
+            String pendingName = null;
+            int pendingOffset = 0;
+            boolean afterDoubleColon = false;
+            int typeArgumentDepth = 0;
+            for (IElementType type; (type = lexer.getTokenType()) != null; lexer.advance()) {
+                if (ElementType.JAVA_COMMENT_OR_WHITESPACE_BIT_SET.contains(type)) {
+                    continue;
+                }
+                // Explicit type arguments of a method reference, as in List::<String>of
+                if (afterDoubleColon && (type == JavaTokenType.LT || typeArgumentDepth > 0)) {
+                    if (type == JavaTokenType.LT) {
+                        typeArgumentDepth++;
+                    } else if (type == JavaTokenType.GT) {
+                        typeArgumentDepth--;
+                    }
+                    continue;
+                }
+                if (pendingName != null && type == JavaTokenType.LPARENTH) {
+                    addCallSite(offsetsByName, pendingName, pendingOffset);
+                }
+                pendingName = null;
+                if (type == JavaTokenType.IDENTIFIER) {
+                    String name = text.subSequence(lexer.getTokenStart(), lexer.getTokenEnd()).toString();
+                    if (afterDoubleColon) {
+                        addCallSite(offsetsByName, name, lexer.getTokenStart());
+                    } else {
+                        pendingName = name;
+                        pendingOffset = lexer.getTokenStart();
+                    }
+                }
+                afterDoubleColon = type == JavaTokenType.DOUBLE_COLON;
+            }
+
+            Map<String, int[]> result = new HashMap<>();
+            offsetsByName.forEach((name, offsets) -> result.put(name, offsets.toArray()));
+            return result;
+        };
+    }
+
+    private static void addCallSite(Map<String, OffsetList> offsetsByName, String name, int offset) {
+        offsetsByName.computeIfAbsent(name, key -> new OffsetList()).add(offset);
+    }
+
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public DataExternalizer<int[]> getValueExternalizer() {
+        return new DataExternalizer<>() {
+            // Offsets are ascending, so they are stored as variable-length deltas
+            @Override
+            public void save(DataOutput out, int[] offsets) throws IOException {
+                DataInputOutputUtil.writeINT(out, offsets.length);
+                int previous = 0;
+                for (int offset : offsets) {
+                    DataInputOutputUtil.writeINT(out, offset - previous);
+                    previous = offset;
+                }
+            }
+
+            @Override
+            public int[] read(DataInput in) throws IOException {
+                int[] offsets = new int[DataInputOutputUtil.readINT(in)];
+                int previous = 0;
+                for (int i = 0; i < offsets.length; i++) {
+                    previous += DataInputOutputUtil.readINT(in);
+                    offsets[i] = previous;
+                }
+                return offsets;
+            }
+        };
+    }
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(JavaFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    private static final class OffsetList {
+        private int[] offsets = new int[4];
+        private int size;
+
+        void add(int offset) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            offsets[size++] = offset;
+        }
+
+        // Tokens are lexed in text order, so the offsets are already ascending
+        int[] toArray() {
+            return Arrays.copyOf(offsets, size);
+        }
+    }
+}
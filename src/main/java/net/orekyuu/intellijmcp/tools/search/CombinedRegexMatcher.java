@@ -0,0 +1,93 @@
+package net.orekyuu.intellijmcp.tools.search;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Matches several regular expressions over one text and reports their matches as a single stream.
+ * Each pattern runs its own {@link Matcher}, and the matches are merged in start order (ties ordered by
+ * pattern index), so a pattern whose match overlaps another pattern's match is still reported, the same
+ * as {@link AhoCorasickMatcher} and as searching for each pattern separately. A single alternation would
+ * only report the leftmost, first-listed match where patterns overlap.
+ */
+public final class CombinedRegexMatcher implements TextMatcher {
+
+    private final List<Pattern> patterns;
+
+    private CombinedRegexMatcher(List<Pattern> patterns) {
+        this.patterns = patterns;
+    }
+
+    /**
+     * Compiles the given regular expressions into one matcher.
+     *
+     * @throws java.util.regex.PatternSyntaxException if a pattern is invalid
+     */
+    public static CombinedRegexMatcher of(List<String> patterns, boolean caseSensitive) {
+        int flags = Pattern.MULTILINE;
+        if (!caseSensitive) {
+            flags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+        }
+        List<Pattern> compiled = new ArrayList<>();
+        for (String pattern : patterns) {
+            compiled.add(Pattern.compile(pattern, flags));
+        }
+        return new CombinedRegexMatcher(List.copyOf(compiled));
+    }
+
+    @Override
+    public @Nullable Match find(CharSequence text, int from) {
+        Match[] first = new Match[1];
+        processMatches(text, from, match -> {
+            first[0] = match;
+            return false;
+        });
+        return first[0];
+    }
+
+    @Override
+    public void processMatches(CharSequence text, int from, Predicate<Match> consumer) {
+        int start = Math.min(Math.max(from, 0), text.length());
+        Matcher[] matchers = new Matcher[patterns.size()];
+        Match[] next = new Match[patterns.size()];
+        for (int i = 0; i < matchers.length; i++) {
+            matchers[i] = patterns.get(i).matcher(text);
+            matchers[i].useTransparentBounds(true);
+            matchers[i].useAnchoringBounds(false);
+            matchers[i].region(start, text.length());
+            next[i] = advance(matchers[i], i);
+        }
+
+        while (true) {
+            // Few patterns are searched at once, so a linear scan for the earliest match is enough
+            int earliest = -1;
+            for (int i = 0; i < next.length; i++) {
+                if (next[i] != null && (earliest < 0 || next[i].start() < next[earliest].start())) {
+                    earliest = i;
+                }
+            }
+            if (earliest < 0) {
+                return;
+            }
+            if (!consumer.test(next[earliest])) {
+                return;
+            }
+            next[earliest] = advance(matchers[earliest], earliest);
+        }
+    }
+
+    private static @Nullable Match advance(Matcher matcher, int patternIndex) {
+        while (matcher.find()) {
+            if (matcher.start() != matcher.end()) {
+                return new Match(matcher.start(), matcher.end(), patternIndex);
+            }
+            // Zero-length matches carry no text
+        }
+        return null;
+    }
+}
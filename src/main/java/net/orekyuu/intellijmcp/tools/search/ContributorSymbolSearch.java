@@ -0,0 +1,153 @@
+package net.orekyuu.intellijmcp.tools.search;
+
+import com.intellij.navigation.ChooseByNameContributor;
+import com.intellij.navigation.ChooseByNameContributorEx;
+import com.intellij.navigation.NavigationItem;
+import com.intellij.navigation.PsiElementNavigationItem;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiUtilCore;
+import com.intellij.util.Processor;
+import com.intellij.util.indexing.FindSymbolParameters;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+/**
+ * Language-independent symbol search over Go to Class / Go to Symbol contributors.
+ * <p>
+ * Every language plugin registers {@link ChooseByNameContributor}s backed by its own indexes, so
+ * searching through them covers Kotlin, Groovy, XML and so on, not just Java. Each contributor's
+ * names are scored on a pooled thread in its own non-blocking read action, keeping only its best
+ * names. Contributors enumerate names in no particular order, so every name is scored. The merged
+ * names are then resolved best first until no remaining name can beat the collected results.
+ * Must be called outside a read action.
+ */
+public final class ContributorSymbolSearch {
+
+    private ContributorSymbolSearch() {
+    }
+
+    /**
+     * Returns the best matching elements, best first.
+     *
+     * @param filter keeps only elements of the requested kind
+     */
+    public static List<PsiElement> search(Project project, List<? extends ChooseByNameContributor> contributors,
+                                          SymbolNameScorer scorer, boolean includeLibraries, int limit,
+                                          Predicate<PsiElement> filter) {
+        GlobalSearchScope projectScope = GlobalSearchScope.projectScope(project);
+        GlobalSearchScope scope = includeLibraries ? GlobalSearchScope.allScope(project) : projectScope;
+        // Keep some slack over the result limit for the project bonus and elements of other kinds
+        int nameBudget = limit * 2;
+
+        List<Future<List<ScoredName>>> futures = new ArrayList<>();
+        for (ChooseByNameContributor contributor : contributors) {
+            futures.add(ApplicationManager.getApplication().executeOnPooledThread(() -> ReadAction
+                    .nonBlocking(() -> collectNames(project, contributor, scorer, scope, includeLibraries, nameBudget))
+                    .executeSynchronously()));
+        }
+        List<ScoredName> names = new ArrayList<>();
+        for (Future<List<ScoredName>> future : futures) {
+            names.addAll(SearchUtil.await(future));
+        }
+        names.sort(ScoredName.WORST_FIRST.reversed());
+
+        return ReadAction
+                .nonBlocking(() -> resolve(project, names, scorer, scope, projectScope, includeLibraries, limit, filter))
+                .executeSynchronously();
+    }
+
+    private static List<ScoredName> collectNames(Project project, ChooseByNameContributor contributor,
+                                                 SymbolNameScorer scorer, GlobalSearchScope scope,
+                                                 boolean includeLibraries, int budget) {
+        PriorityQueue<ScoredName> best = new PriorityQueue<>(budget + 1, ScoredName.WORST_FIRST);
+        Set<String> seen = new HashSet<>();
+        Processor<String> processor = name -> {
+            if (name == null || !seen.add(name)) {
+                return true;
+            }
+            int score = scorer.score(name);
+            if (score != SymbolNameScorer.NO_MATCH) {
+                SearchUtil.offer(best, new ScoredName(name, contributor, score), budget);
+            }
+            return true;
+        };
+        if (contributor instanceof ChooseByNameContributorEx ex) {
+            ex.processNames(processor, scope, null);
+        } else {
+            for (String name : contributor.getNames(project, includeLibraries)) {
+                processor.process(name);
+            }
+        }
+        return new ArrayList<>(best);
+    }
+
+    private static List<PsiElement> resolve(Project project, List<ScoredName> names, SymbolNameScorer scorer,
+                                            GlobalSearchScope scope, GlobalSearchScope projectScope,
+                                            boolean includeLibraries, int limit, Predicate<PsiElement> filter) {
+        FindSymbolParameters parameters = FindSymbolParameters.wrap(scorer.query(), scope);
+        PriorityQueue<ScoredElement> best = new PriorityQueue<>(limit + 1, ScoredElement.WORST_FIRST);
+        Set<PsiElement> seen = new HashSet<>();
+        int[] found = {0};
+
+        for (ScoredName name : names) {
+            if (best.size() >= limit && best.peek().score() >= name.score() + SymbolNameScorer.PROJECT_BONUS) {
+                break; // no remaining name can beat the current results
+            }
+            Processor<NavigationItem> processor = item -> {
+                PsiElement element = toPsiElement(item);
+                if (element != null && seen.add(element) && filter.test(element)) {
+                    VirtualFile file = PsiUtilCore.getVirtualFile(element);
+                    boolean inProject = file != null && projectScope.contains(file);
+                    int score = name.score() + (inProject ? SymbolNameScorer.PROJECT_BONUS : 0);
+                    SearchUtil.offer(best, new ScoredElement(element, score, found[0]++), limit);
+                }
+                return true;
+            };
+            if (name.contributor() instanceof ChooseByNameContributorEx ex) {
+                ex.processElementsWithName(name.name(), processor, parameters);
+            } else {
+                for (NavigationItem item : name.contributor().getItemsByName(name.name(), scorer.query(), project, includeLibraries)) {
+                    processor.process(item);
+                }
+            }
+        }
+
+        List<ScoredElement> ranked = new ArrayList<>(best);
+        ranked.sort(ScoredElement.WORST_FIRST.reversed());
+        return ranked.stream().map(ScoredElement::element).toList();
+    }
+
+    private static @Nullable PsiElement toPsiElement(NavigationItem item) {
+        if (item instanceof PsiElement element) {
+            return element;
+        }
+        if (item instanceof PsiElementNavigationItem navigationItem) {
+            return navigationItem.getTargetElement();
+        }
+        return null;
+    }
+
+    private record ScoredName(String name, ChooseByNameContributor contributor, int score) {
+        static final Comparator<ScoredName> WORST_FIRST = Comparator.comparingInt(ScoredName::score)
+                .thenComparing(name -> name.name().length(), Comparator.reverseOrder())
+                .thenComparing(ScoredName::name, Comparator.reverseOrder());
+    }
+
+    private record ScoredElement(PsiElement element, int score, int order) {
+        static final Comparator<ScoredElement> WORST_FIRST = Comparator.comparingInt(ScoredElement::score)
+                .thenComparing(ScoredElement::order, Comparator.reverseOrder());
+    }
+}
@@ -0,0 +1,102 @@
+package net.orekyuu.intellijmcp.tools.search;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.regex.Pattern;
+
+/**
+ * Compiled file glob used by find_file.
+ * Splits the glob into a file-name part, which can be matched against the distinct names
+ * held by {@link com.intellij.psi.search.FilenameIndex}, and an optional directory part that
+ * is only checked for the files those names resolve to.
+ * <p>
+ * Supported syntax: {@code *} and {@code ?} within one path segment, and {@code **} across
+ * any number of directories (e.g. {@code **}{@code /resources/*.xml}). Matching is case-insensitive.
+ */
+public final class FileGlob {
+
+    private final String glob;
+    private final String nameGlob;
+    private final Pattern namePattern;
+    private final @Nullable Pattern pathPattern;
+
+    private FileGlob(String glob, String nameGlob, Pattern namePattern, @Nullable Pattern pathPattern) {
+        this.glob = glob;
+        this.nameGlob = nameGlob;
+        this.namePattern = namePattern;
+        this.pathPattern = pathPattern;
+    }
+
+    public static FileGlob compile(String glob) {
+        String normalized = glob.replace('\\', '/');
+        int lastSlash = normalized.lastIndexOf('/');
+        String nameGlob = normalized.substring(lastSlash + 1);
+        Pattern namePattern = Pattern.compile(toRegex(nameGlob), Pattern.CASE_INSENSITIVE);
+        Pattern pathPattern = lastSlash >= 0
+                ? Pattern.compile(toRegex(normalized), Pattern.CASE_INSENSITIVE)
+                : null;
+        return new FileGlob(glob, nameGlob, namePattern, pathPattern);
+    }
+
+    /**
+     * Returns the file name to look up directly when the name part has no wildcards, or null otherwise.
+     */
+    public @Nullable String literalName() {
+        return hasWildcard(nameGlob) ? null : nameGlob;
+    }
+
+    public boolean hasDirectoryPart() {
+        return pathPattern != null;
+    }
+
+    public boolean matchesName(String fileName) {
+        return namePattern.matcher(fileName).matches();
+    }
+
+    /**
+     * Checks the directory part of the glob against a '/'-separated path.
+     * Always true when the glob has no directory part.
+     */
+    public boolean matchesPath(String path) {
+        return pathPattern == null || pathPattern.matcher(path).matches();
+    }
+
+    @Override
+    public String toString() {
+        return glob;
+    }
+
+    private static boolean hasWildcard(String glob) {
+        return glob.indexOf('*') >= 0 || glob.indexOf('?') >= 0;
+    }
+
+    private static String toRegex(String glob) {
+        StringBuilder regex = new StringBuilder("^");
+        int i = 0;
+        while (i < glob.length()) {
+            char c = glob.charAt(i);
+            if (c == '*' && i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                boolean segmentStart = i == 0 || glob.charAt(i - 1) == '/';
+                boolean followedBySlash = i + 2 < glob.length() && glob.charAt(i + 2) == '/';
+                if (segmentStart && followedBySlash) {
+                    // "**/" matches zero or more whole directories
+                    regex.append("(?:[^/]*/)*");
+                    i += 3;
+                } else {
+                    regex.append(".*");
+                    i += 2;
+                }
+                continue;
+            }
+            switch (c) {
+                case '*' -> regex.append("[^/]*");
+                case '?' -> regex.append("[^/]");
+                case '.', '[', ']', '(', ')', '{', '}', '^', '$', '+', '|' -> regex.append('\\').append(c);
+                default -> regex.append(c);
+            }
+            i++;
+        }
+        regex.append('$');
+        return regex.toString();
+    }
+}
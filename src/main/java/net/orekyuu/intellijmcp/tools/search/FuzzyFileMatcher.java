@@ -0,0 +1,102 @@
+package net.orekyuu.intellijmcp.tools.search;
+
+import com.intellij.psi.codeStyle.MinusculeMatcher;
+import com.intellij.psi.codeStyle.NameUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Goto File style fuzzy matcher over a {@link ProjectFileNameTable.Snapshot}.
+ * <p>
+ * The part of the query after the last '/' is matched against file names with camel-hump
+ * matching ({@code "FFT"} finds {@code FindFileTool.java}); anything before it is matched
+ * against the directory path segment by segment. Only the best {@code limit} files are kept,
+ * in a bounded heap, so the cost is one pass over the names regardless of how many match.
+ */
+public final class FuzzyFileMatcher {
+
+    // Exact name hits outrank any partial match
+    private static final int EXACT_NAME_BONUS = 100_000;
+
+    private final String nameQuery;
+    private final char[] requiredChars;
+    private final MinusculeMatcher nameMatcher;
+    private final @Nullable MinusculeMatcher directoryMatcher;
+
+    private FuzzyFileMatcher(String nameQuery, MinusculeMatcher nameMatcher, @Nullable MinusculeMatcher directoryMatcher) {
+        this.nameQuery = nameQuery;
+        this.requiredChars = Subsequence.requiredChars(nameQuery);
+        this.nameMatcher = nameMatcher;
+        this.directoryMatcher = directoryMatcher;
+    }
+
+    public static FuzzyFileMatcher of(String query) {
+        String normalized = query.trim().replace('\\', '/');
+        int lastSlash = normalized.lastIndexOf('/');
+        String nameQuery = normalized.substring(lastSlash + 1);
+        String directoryQuery = lastSlash > 0 ? normalized.substring(0, lastSlash) : "";
+        if (directoryQuery.startsWith("/")) {
+            directoryQuery = directoryQuery.substring(1);
+        }
+
+        MinusculeMatcher nameMatcher = NameUtil.buildMatcher("*" + nameQuery)
+                .withCaseSensitivity(NameUtil.MatchingCaseSensitivity.NONE)
+                .preferringStartMatches()
+                .build();
+        MinusculeMatcher directoryMatcher = directoryQuery.isEmpty() ? null
+                : NameUtil.buildMatcher("*" + directoryQuery)
+                        .withCaseSensitivity(NameUtil.MatchingCaseSensitivity.NONE)
+                        .withSeparators("/")
+                        .build();
+        return new FuzzyFileMatcher(nameQuery, nameMatcher, directoryMatcher);
+    }
+
+    /**
+     * Returns the indexes of the best matching files in the snapshot, best first.
+     */
+    public List<ScoredFile> topMatches(ProjectFileNameTable.Snapshot snapshot, int limit) {
+        if (nameQuery.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Comparator<ScoredFile> worstFirst = Comparator.comparingInt(ScoredFile::score)
+                .thenComparing(file -> snapshot.relativePath(file.index()), Comparator.reverseOrder());
+        PriorityQueue<ScoredFile> best = new PriorityQueue<>(limit + 1, worstFirst);
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            // Cheap subsequence check on the precomputed lowercase name before running the matcher
+            if (!Subsequence.containsInOrder(snapshot.lowerName(i), requiredChars)) {
+                continue;
+            }
+            String name = snapshot.name(i);
+            if (!nameMatcher.matches(name)) {
+                continue;
+            }
+            int score = nameMatcher.matchingDegree(name);
+            if (name.equalsIgnoreCase(nameQuery)) {
+                score += EXACT_NAME_BONUS;
+            }
+            if (directoryMatcher != null) {
+                String path = snapshot.relativePath(i);
+                String directory = path.length() > name.length()
+                        ? path.substring(0, path.length() - name.length() - 1)
+                        : "";
+                if (!directoryMatcher.matches(directory)) {
+                    continue;
+                }
+                score += directoryMatcher.matchingDegree(directory);
+            }
+
+            SearchUtil.offer(best, new ScoredFile(i, score), limit);
+        }
+
+        List<ScoredFile> result = new ArrayList<>(best);
+        result.sort(worstFirst.reversed());
+        return result;
+    }
+
+    public record ScoredFile(int index, int score) {}
+}
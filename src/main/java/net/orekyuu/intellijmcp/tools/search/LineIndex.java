@@ -0,0 +1,70 @@
+package net.orekyuu.intellijmcp.tools.search;
+
+import java.util.Arrays;
+
+/**
+ * Line-start offset table for a text, built in a single pass.
+ * Lets many matches in the same text resolve their line and column by binary search
+ * instead of rescanning or asking a {@link com.intellij.openapi.editor.Document} per hit.
+ * Line numbers are 0-based; lines are separated by {@code '\n'}.
+ */
+public final class LineIndex {
+
+    private final CharSequence text;
+    private final int[] lineStarts;
+    private final int lineCount;
+
+    private LineIndex(CharSequence text, int[] lineStarts, int lineCount) {
+        this.text = text;
+        this.lineStarts = lineStarts;
+        this.lineCount = lineCount;
+    }
+
+    public static LineIndex of(CharSequence text) {
+        int[] starts = new int[Math.max(16, text.length() / 32)];
+        int count = 1;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                }
+                starts[count++] = i + 1;
+            }
+        }
+        return new LineIndex(text, starts, count);
+    }
+
+    public int lineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Returns the 0-based line containing the given offset.
+     */
+    public int lineNumber(int offset) {
+        int index = Arrays.binarySearch(lineStarts, 0, lineCount, offset);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    public int lineStart(int line) {
+        return lineStarts[line];
+    }
+
+    /**
+     * Returns the end offset of the given line, excluding the line separator.
+     */
+    public int lineEnd(int line) {
+        if (line + 1 < lineCount) {
+            int next = lineStarts[line + 1] - 1;
+            return next > lineStarts[line] && text.charAt(next - 1) == '\r' ? next - 1 : next;
+        }
+        return text.length();
+    }
+
+    /**
+     * Returns the text of the given line without its separator.
+     */
+    public CharSequence lineText(int line) {
+        return text.subSequence(lineStart(line), lineEnd(line));
+    }
+}
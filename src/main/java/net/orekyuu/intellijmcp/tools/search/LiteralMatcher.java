@@ -0,0 +1,78 @@
+package net.orekyuu.intellijmcp.tools.search;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Boyer-Moore-Horspool matcher for a single literal string.
+ * Works directly on a {@link CharSequence} without copying the text.
+ * Case-insensitive matching folds characters the same way as {@link String#equalsIgnoreCase(String)}.
+ */
+public final class LiteralMatcher implements TextMatcher {
+
+    private static final int TABLE_SIZE = 256;
+
+    private final char[] needle;
+    private final boolean caseSensitive;
+    private final int[] shifts;
+
+    private LiteralMatcher(String needle, boolean caseSensitive) {
+        this.caseSensitive = caseSensitive;
+        this.needle = new char[needle.length()];
+        for (int i = 0; i < needle.length(); i++) {
+            this.needle[i] = fold(needle.charAt(i));
+        }
+
+        // Characters are bucketed by their low byte; a shared bucket keeps the smallest shift, which is always safe
+        int last = this.needle.length - 1;
+        this.shifts = new int[TABLE_SIZE];
+        Arrays.fill(shifts, this.needle.length);
+        for (int i = 0; i < last; i++) {
+            shifts[this.needle[i] & (TABLE_SIZE - 1)] = last - i;
+        }
+    }
+
+    /**
+     * Creates a matcher for the given non-empty literal.
+     */
+    public static LiteralMatcher of(String needle, boolean caseSensitive) {
+        if (needle.isEmpty()) {
+            throw new IllegalArgumentException("needle must not be empty");
+        }
+        return new LiteralMatcher(needle, caseSensitive);
+    }
+
+    @Override
+    public @Nullable Match find(CharSequence text, int from) {
+        int start = indexOf(text, from);
+        return start < 0 ? null : new Match(start, start + needle.length);
+    }
+
+    /**
+     * Returns the offset of the first occurrence at or after from, or -1 if there is none.
+     */
+    public int indexOf(CharSequence text, int from) {
+        int last = needle.length - 1;
+        int limit = text.length() - needle.length;
+        int pos = Math.max(from, 0);
+        while (pos <= limit) {
+            char tail = fold(text.charAt(pos + last));
+            if (tail == needle[last]) {
+                int i = last - 1;
+                while (i >= 0 && fold(text.charAt(pos + i)) == needle[i]) {
+                    i--;
+                }
+                if (i < 0) {
+                    return pos;
+                }
+            }
+            pos += shifts[tail & (TABLE_SIZE - 1)];
+        }
+        return -1;
+    }
+
+    private char fold(char c) {
+        return caseSensitive ? c : Character.toLowerCase(Character.toUpperCase(c));
+    }
+}
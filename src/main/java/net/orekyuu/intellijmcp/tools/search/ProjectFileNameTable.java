@@ -0,0 +1,275 @@
+package net.orekyuu.intellijmcp.tools.search;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.roots.ModuleRootListener;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileCopyEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileCreateEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Project-level table of the names and paths of all files in the project content.
+ * <p>
+ * The table is built once on first use and then kept up to date from VFS events, so lookups
+ * that need every file name (such as fuzzy file matching) do not walk the project each time.
+ * Queries work on an immutable {@link Snapshot} of flat arrays, which is rebuilt from the
+ * maintained table only after it has changed. A root change drops the table so the next query
+ * rebuilds it from the project model.
+ */
+@Service(Service.Level.PROJECT)
+public final class ProjectFileNameTable implements Disposable {
+
+    private final Project project;
+    private final Object lock = new Object();
+
+    // Keyed by absolute path, so a deleted or moved directory drops its files with one range removal
+    private @Nullable NavigableMap<String, Entry> files;
+    private long generation;
+    // Events seen while the table is being built, replayed once the walk finishes
+    private @Nullable List<VFileEvent> pendingEvents;
+    private volatile @Nullable Snapshot snapshot;
+
+    public ProjectFileNameTable(Project project) {
+        this.project = project;
+        var connection = project.getMessageBus().connect(this);
+        connection.subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void after(List<? extends VFileEvent> events) {
+                onEvents(events);
+            }
+        });
+        connection.subscribe(ModuleRootListener.TOPIC, new ModuleRootListener() {
+            @Override
+            public void rootsChanged(ModuleRootEvent event) {
+                invalidate();
+            }
+        });
+    }
+
+    public static ProjectFileNameTable getInstance(Project project) {
+        return project.getService(ProjectFileNameTable.class);
+    }
+
+    /**
+     * Returns the current snapshot, building the table first if needed.
+     * The first call walks the project content, so it is best made before taking a long read action.
+     */
+    public Snapshot snapshot() {
+        while (true) {
+            Snapshot current = snapshot;
+            if (current != null) {
+                return current;
+            }
+            long startGeneration;
+            synchronized (lock) {
+                if (files != null) {
+                    snapshot = Snapshot.of(files.values());
+                    return snapshot;
+                }
+                startGeneration = generation;
+                if (pendingEvents == null) {
+                    pendingEvents = new ArrayList<>();
+                }
+            }
+            // Walk the project without holding the lock: VFS events arrive inside write actions,
+            // which would otherwise wait on the lock while this thread waits for the read action
+            NavigableMap<String, Entry> collected = ReadAction.compute(this::collectContentFiles);
+            ReadAction.run(() -> {
+                synchronized (lock) {
+                    if (files != null || generation != startGeneration) {
+                        return;
+                    }
+                    files = collected;
+                    if (pendingEvents != null) {
+                        applyEvents(files, pendingEvents);
+                        pendingEvents = null;
+                    }
+                }
+            });
+        }
+    }
+
+    private NavigableMap<String, Entry> collectContentFiles() {
+        NavigableMap<String, Entry> collected = new TreeMap<>();
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        fileIndex.iterateContent(file -> {
+            if (!file.isDirectory()) {
+                collected.put(file.getPath(), createEntry(fileIndex, file));
+            }
+            return true;
+        });
+        return collected;
+    }
+
+    private void invalidate() {
+        synchronized (lock) {
+            files = null;
+            snapshot = null;
+            pendingEvents = null;
+            generation++;
+        }
+    }
+
+    private void onEvents(List<? extends VFileEvent> events) {
+        synchronized (lock) {
+            if (files == null) {
+                if (pendingEvents != null) {
+                    pendingEvents.addAll(events);
+                }
+                return;
+            }
+            if (applyEvents(files, events)) {
+                snapshot = null;
+            }
+        }
+    }
+
+    private boolean applyEvents(NavigableMap<String, Entry> table, List<? extends VFileEvent> events) {
+        boolean changed = false;
+        for (VFileEvent event : events) {
+            if (event instanceof VFileCreateEvent || event instanceof VFileCopyEvent) {
+                VirtualFile created = event instanceof VFileCopyEvent copy
+                        ? copy.findCreatedFile()
+                        : event.getFile();
+                changed |= addUnder(table, created);
+            } else if (event instanceof VFileDeleteEvent) {
+                changed |= removeUnder(table, event.getPath());
+            } else if (event instanceof VFileMoveEvent move) {
+                changed |= removeUnder(table, move.getOldPath());
+                changed |= addUnder(table, move.getFile());
+            } else if (event instanceof VFilePropertyChangeEvent property && property.isRename()) {
+                changed |= removeUnder(table, property.getOldPath());
+                changed |= addUnder(table, property.getFile());
+            }
+        }
+        return changed;
+    }
+
+    private boolean addUnder(NavigableMap<String, Entry> table, @Nullable VirtualFile root) {
+        if (root == null || !root.isValid() || project.isDisposed()) {
+            return false;
+        }
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        if (!root.isDirectory()) {
+            if (!fileIndex.isInContent(root)) {
+                return false;
+            }
+            table.put(root.getPath(), createEntry(fileIndex, root));
+            return true;
+        }
+        boolean[] added = {false};
+        fileIndex.iterateContentUnderDirectory(root, file -> {
+            if (!file.isDirectory()) {
+                table.put(file.getPath(), createEntry(fileIndex, file));
+                added[0] = true;
+            }
+            return true;
+        });
+        return added[0];
+    }
+
+    private static boolean removeUnder(NavigableMap<String, Entry> table, String path) {
+        boolean removed = table.remove(path) != null;
+        NavigableMap<String, Entry> children = table.subMap(path + "/", true, path + "/\uffff", true);
+        if (!children.isEmpty()) {
+            children.clear();
+            removed = true;
+        }
+        return removed;
+    }
+
+    private Entry createEntry(ProjectFileIndex fileIndex, VirtualFile file) {
+        String path = file.getPath();
+        String basePath = project.getBasePath();
+        String relativePath = path;
+        if (basePath != null && path.startsWith(basePath + "/")) {
+            relativePath = path.substring(basePath.length() + 1);
+        } else {
+            VirtualFile root = fileIndex.getContentRootForFile(file);
+            String rootRelative = root != null ? VfsUtilCore.getRelativePath(file, root) : null;
+            if (rootRelative != null) {
+                relativePath = rootRelative;
+            }
+        }
+        return new Entry(file, file.getName(), relativePath);
+    }
+
+    private record Entry(VirtualFile file, String name, String relativePath) {}
+
+    @Override
+    public void dispose() {
+        invalidate();
+    }
+
+    /**
+     * Immutable view of the table as parallel arrays, with the lowercase forms precomputed for matching.
+     */
+    public static final class Snapshot {
+
+        private final VirtualFile[] files;
+        private final String[] names;
+        private final String[] lowerNames;
+        private final String[] relativePaths;
+
+        private Snapshot(VirtualFile[] files, String[] names, String[] lowerNames, String[] relativePaths) {
+            this.files = files;
+            this.names = names;
+            this.lowerNames = lowerNames;
+            this.relativePaths = relativePaths;
+        }
+
+        static Snapshot of(Collection<Entry> entries) {
+            VirtualFile[] files = new VirtualFile[entries.size()];
+            String[] names = new String[files.length];
+            String[] lowerNames = new String[files.length];
+            String[] relativePaths = new String[files.length];
+            int i = 0;
+            for (Entry entry : entries) {
+                files[i] = entry.file();
+                names[i] = entry.name();
+                lowerNames[i] = entry.name().toLowerCase();
+                relativePaths[i] = entry.relativePath();
+                i++;
+            }
+            return new Snapshot(files, names, lowerNames, relativePaths);
+        }
+
+        public int size() {
+            return files.length;
+        }
+
+        public VirtualFile file(int index) {
+            return files[index];
+        }
+
+        public String name(int index) {
+            return names[index];
+        }
+
+        public String lowerName(int index) {
+            return lowerNames[index];
+        }
+
+        public String relativePath(int index) {
+            return relativePaths[index];
+        }
+    }
+}
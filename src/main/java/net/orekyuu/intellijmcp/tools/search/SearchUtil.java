@@ -0,0 +1,47 @@
+package net.orekyuu.intellijmcp.tools.search;
+
+import com.intellij.openapi.progress.ProcessCanceledException;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Helpers shared by the searches that keep only their best results or fan work out to a pool.
+ */
+public final class SearchUtil {
+
+    private SearchUtil() {
+    }
+
+    /**
+     * Adds the candidate to a heap holding at most {@code limit} of the best candidates. The heap's
+     * comparator must order the worst candidate first, so the head is the one replaced.
+     */
+    public static <T> void offer(PriorityQueue<T> heap, T candidate, int limit) {
+        if (heap.size() < limit) {
+            heap.add(candidate);
+        } else if (heap.comparator().compare(candidate, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(candidate);
+        }
+    }
+
+    /**
+     * Waits for the future. Interruption becomes a {@link ProcessCanceledException}, and a failure
+     * rethrows the task's own runtime exception, so cancellation inside the task propagates.
+     */
+    public static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessCanceledException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package net.orekyuu.intellijmcp.tools.search;
+
+/**
+ * Cheap pre-check for camel-hump matchers: a name can only match if it contains the query's
+ * characters in order. Runs on precomputed lowercase names without allocating.
+ */
+final class Subsequence {
+
+    private Subsequence() {
+    }
+
+    /**
+     * Returns the lowercase characters of a matcher query, without wildcards and spaces.
+     */
+    static char[] requiredChars(String query) {
+        StringBuilder chars = new StringBuilder();
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c != '*' && c != ' ') {
+                chars.append(Character.toLowerCase(c));
+            }
+        }
+        return chars.toString().toCharArray();
+    }
+
+    static boolean containsInOrder(String lowerText, char[] chars) {
+        int from = 0;
+        for (char c : chars) {
+            int found = lowerText.indexOf(c, from);
+            if (found < 0) {
+                return false;
+            }
+            from = found + 1;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,79 @@
+package net.orekyuu.intellijmcp.tools.search;
+
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.PsiShortNamesCache;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.util.Processor;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Project-level cache of class, method and field short names for substring search.
+ * <p>
+ * Each kind is held in a {@link TrigramNameTable} built from {@link PsiShortNamesCache} on first use
+ * and dropped when {@link PsiModificationTracker} reports a change, so repeated queries do not
+ * re-fetch and re-lowercase every name in the project. Every kind has two tables: all names, including
+ * the JDK and libraries, and the names declared in project files only, so a project-only search never
+ * ranks names it cannot resolve. Must be used inside a read action.
+ */
+@Service(Service.Level.PROJECT)
+public final class SymbolNameIndex {
+
+    private final CachedValue<TrigramNameTable> classNames;
+    private final CachedValue<TrigramNameTable> methodNames;
+    private final CachedValue<TrigramNameTable> fieldNames;
+    private final CachedValue<TrigramNameTable> projectClassNames;
+    private final CachedValue<TrigramNameTable> projectMethodNames;
+    private final CachedValue<TrigramNameTable> projectFieldNames;
+
+    public SymbolNameIndex(Project project) {
+        CachedValuesManager manager = CachedValuesManager.getManager(project);
+        PsiModificationTracker tracker = PsiModificationTracker.getInstance(project);
+        PsiShortNamesCache cache = PsiShortNamesCache.getInstance(project);
+        GlobalSearchScope projectScope = GlobalSearchScope.projectScope(project);
+        this.classNames = manager.createCachedValue(
+                () -> CachedValueProvider.Result.create(TrigramNameTable.of(cache.getAllClassNames()), tracker), false);
+        this.methodNames = manager.createCachedValue(
+                () -> CachedValueProvider.Result.create(TrigramNameTable.of(cache.getAllMethodNames()), tracker), false);
+        this.fieldNames = manager.createCachedValue(
+                () -> CachedValueProvider.Result.create(TrigramNameTable.of(cache.getAllFieldNames()), tracker), false);
+        this.projectClassNames = manager.createCachedValue(() -> CachedValueProvider.Result.create(
+                collect(processor -> cache.processAllClassNames(processor, projectScope, null)), tracker), false);
+        this.projectMethodNames = manager.createCachedValue(() -> CachedValueProvider.Result.create(
+                collect(processor -> cache.processAllMethodNames(processor, projectScope, null)), tracker), false);
+        this.projectFieldNames = manager.createCachedValue(() -> CachedValueProvider.Result.create(
+                collect(processor -> cache.processAllFieldNames(processor, projectScope, null)), tracker), false);
+    }
+
+    public static SymbolNameIndex getInstance(Project project) {
+        return project.getService(SymbolNameIndex.class);
+    }
+
+    public TrigramNameTable classNames(boolean projectOnly) {
+        return projectOnly ? projectClassNames.getValue() : classNames.getValue();
+    }
+
+    public TrigramNameTable methodNames(boolean projectOnly) {
+        return projectOnly ? projectMethodNames.getValue() : methodNames.getValue();
+    }
+
+    public TrigramNameTable fieldNames(boolean projectOnly) {
+        return projectOnly ? projectFieldNames.getValue() : fieldNames.getValue();
+    }
+
+    private static TrigramNameTable collect(Consumer<Processor<String>> source) {
+        Set<String> names = new HashSet<>();
+        source.accept(name -> {
+            names.add(name);
+            return true;
+        });
+        return TrigramNameTable.of(names.toArray(String[]::new));
+    }
+}
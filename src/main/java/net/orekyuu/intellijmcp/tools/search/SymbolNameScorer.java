@@ -0,0 +1,65 @@
+package net.orekyuu.intellijmcp.tools.search;
+
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.codeStyle.MinusculeMatcher;
+import com.intellij.psi.codeStyle.NameUtil;
+
+/**
+ * Scores symbol names against a search query: camel-hump match quality from a {@link MinusculeMatcher}
+ * plus bonuses for an exact name, a prefix and a contiguous substring. Symbols in project content get
+ * {@link #PROJECT_BONUS} on top, so they rank above library symbols with the same name match.
+ */
+public final class SymbolNameScorer {
+
+    public static final int NO_MATCH = Integer.MIN_VALUE;
+    public static final int PROJECT_BONUS = 1_500;
+
+    private static final int EXACT_NAME_BONUS = 10_000;
+    private static final int PREFIX_BONUS = 2_000;
+    private static final int SUBSTRING_BONUS = 1_000;
+
+    private final String query;
+    private final MinusculeMatcher matcher;
+
+    public SymbolNameScorer(String query) {
+        this.query = query;
+        this.matcher = NameUtil.buildMatcher("*" + query)
+                .withCaseSensitivity(NameUtil.MatchingCaseSensitivity.NONE)
+                .preferringStartMatches()
+                .build();
+    }
+
+    public String query() {
+        return query;
+    }
+
+    /**
+     * Scores a name, checking for a substring match itself.
+     */
+    public int score(String name) {
+        return score(name, StringUtil.containsIgnoreCase(name, query));
+    }
+
+    /**
+     * Scores a name whose substring match is already known, e.g. from a {@link TrigramNameTable} lookup.
+     *
+     * @return the score, or {@link #NO_MATCH} if the name matches neither as a substring nor as camel humps
+     */
+    public int score(String name, boolean substringMatch) {
+        int score;
+        if (matcher.matches(name)) {
+            score = matcher.matchingDegree(name);
+        } else if (substringMatch) {
+            score = 0;
+        } else {
+            return NO_MATCH;
+        }
+        if (substringMatch) {
+            score += SUBSTRING_BONUS;
+        }
+        if (name.regionMatches(true, 0, query, 0, query.length())) {
+            score += name.length() == query.length() ? EXACT_NAME_BONUS : PREFIX_BONUS;
+        }
+        return score;
+    }
+}
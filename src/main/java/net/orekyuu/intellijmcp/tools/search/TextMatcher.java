@@ -0,0 +1,62 @@
+package net.orekyuu.intellijmcp.tools.search;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Predicate;
+
+/**
+ * Finds successive occurrences of one or more queries in a text.
+ */
+@FunctionalInterface
+public interface TextMatcher {
+
+    /**
+     * Finds the first match starting at or after the given offset.
+     *
+     * @param text the text to search
+     * @param from the offset to start searching from
+     * @return the match, or null if there are no more matches
+     */
+    @Nullable
+    Match find(CharSequence text, int from);
+
+    /**
+     * Reports matches starting at or after the given offset in ascending start order
+     * (ties ordered by pattern index) until the consumer returns false.
+     * Matches of the same pattern never overlap.
+     *
+     * @param text     the text to search
+     * @param from     the offset to start searching from
+     * @param consumer receives each match; returning false stops the scan
+     */
+    default void processMatches(CharSequence text, int from, Predicate<Match> consumer) {
+        int offset = from;
+        while (offset < text.length()) {
+            Match match = find(text, offset);
+            if (match == null) {
+                return;
+            }
+
+            // Prevent infinite loop for zero-length matches
+            if (match.start() == offset && match.end() == offset) {
+                offset++;
+                continue;
+            }
+
+            if (!consumer.test(match)) {
+                return;
+            }
+            offset = match.end();
+        }
+    }
+
+    /**
+     * A match of the pattern at patternIndex covering [start, end) in the searched text.
+     */
+    record Match(int start, int end, int patternIndex) {
+
+        public Match(int start, int end) {
+            this(start, end, 0);
+        }
+    }
+}
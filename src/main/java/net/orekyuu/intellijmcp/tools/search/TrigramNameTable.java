@@ -0,0 +1,117 @@
+package net.orekyuu.intellijmcp.tools.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Immutable set of names answering case-insensitive substring queries.
+ * <p>
+ * Names are deduplicated, sorted and lowercased once when the table is built. Every lowercase
+ * trigram maps to the sorted ids of the names containing it, so a query of three or more
+ * characters only checks the names in its rarest trigram's posting list. Shorter queries scan
+ * the lowercase names. Neither path allocates per name. Camel-hump queries are served by
+ * {@link #processSubsequenceMatches}, which scans the lowercase names for the query's letters in order.
+ */
+public final class TrigramNameTable {
+
+    private static final int[] NO_IDS = new int[0];
+
+    private final String[] names;
+    private final String[] lowerNames;
+    private final Map<Long, int[]> postings;
+
+    private TrigramNameTable(String[] names, String[] lowerNames, Map<Long, int[]> postings) {
+        this.names = names;
+        this.lowerNames = lowerNames;
+        this.postings = postings;
+    }
+
+    public static TrigramNameTable of(String[] names) {
+        String[] sorted = Arrays.stream(names)
+                .filter(name -> name != null && !name.isEmpty())
+                .distinct()
+                .sorted()
+                .toArray(String[]::new);
+        String[] lowerNames = new String[sorted.length];
+        Map<Long, int[]> building = new HashMap<>();
+        Map<Long, Integer> sizes = new HashMap<>();
+        for (int id = 0; id < sorted.length; id++) {
+            String lower = sorted[id].toLowerCase(Locale.ROOT);
+            lowerNames[id] = lower;
+            for (int i = 0; i + 3 <= lower.length(); i++) {
+                long key = trigram(lower, i);
+                int[] ids = building.getOrDefault(key, NO_IDS);
+                int size = sizes.getOrDefault(key, 0);
+                if (size > 0 && ids[size - 1] == id) {
+                    continue; // trigram repeated within the same name
+                }
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, Math.max(4, size * 2));
+                    building.put(key, ids);
+                }
+                ids[size] = id;
+                sizes.put(key, size + 1);
+            }
+        }
+        Map<Long, int[]> postings = new HashMap<>(building.size() * 4 / 3 + 1);
+        building.forEach((key, ids) -> postings.put(key, Arrays.copyOf(ids, sizes.get(key))));
+        return new TrigramNameTable(sorted, lowerNames, postings);
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Passes every name containing {@code query} (ignoring case) to {@code consumer}, in sorted order,
+     * until the consumer returns false.
+     */
+    public void processMatches(String query, Predicate<String> consumer) {
+        String lowerQuery = query.toLowerCase(Locale.ROOT);
+        if (lowerQuery.length() < 3) {
+            for (int id = 0; id < names.length; id++) {
+                if (lowerNames[id].contains(lowerQuery) && !consumer.test(names[id])) {
+                    return;
+                }
+            }
+            return;
+        }
+
+        int[] candidates = null;
+        for (int i = 0; i + 3 <= lowerQuery.length(); i++) {
+            int[] ids = postings.get(trigram(lowerQuery, i));
+            if (ids == null) {
+                return;
+            }
+            if (candidates == null || ids.length < candidates.length) {
+                candidates = ids;
+            }
+        }
+        for (int id : candidates) {
+            if (lowerNames[id].contains(lowerQuery) && !consumer.test(names[id])) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Passes every name containing the characters of {@code query} in order (ignoring case) to
+     * {@code consumer}, in sorted order, until it returns false. This is the candidate set for
+     * camel-hump matching, which the trigram postings cannot narrow down.
+     */
+    public void processSubsequenceMatches(String query, Predicate<String> consumer) {
+        char[] required = Subsequence.requiredChars(query);
+        for (int id = 0; id < names.length; id++) {
+            if (Subsequence.containsInOrder(lowerNames[id], required) && !consumer.test(names[id])) {
+                return;
+            }
+        }
+    }
+
+    private static long trigram(String text, int index) {
+        return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+    }
+}
@@ -77,4 +77,21 @@ public final class Args {
                 c.extract(arguments), d.extract(arguments), e.extract(arguments),
                 f.extract(arguments), g.extract(arguments));
     }
+
+    public static <A, B, C, D, E, F, G, H> ValidatedN.Validated8<A, B, C, D, E, F, G, H> validate(
+            Map<String, Object> arguments, Arg<A> a, Arg<B> b, Arg<C> c, Arg<D> d, Arg<E> e,
+            Arg<F> f, Arg<G> g, Arg<H> h) {
+        return new ValidatedN.Validated8<>(a.extract(arguments), b.extract(arguments),
+                c.extract(arguments), d.extract(arguments), e.extract(arguments),
+                f.extract(arguments), g.extract(arguments), h.extract(arguments));
+    }
+
+    public static <A, B, C, D, E, F, G, H, I> ValidatedN.Validated9<A, B, C, D, E, F, G, H, I> validate(
+            Map<String, Object> arguments, Arg<A> a, Arg<B> b, Arg<C> c, Arg<D> d, Arg<E> e,
+            Arg<F> f, Arg<G> g, Arg<H> h, Arg<I> i) {
+        return new ValidatedN.Validated9<>(a.extract(arguments), b.extract(arguments),
+                c.extract(arguments), d.extract(arguments), e.extract(arguments),
+                f.extract(arguments), g.extract(arguments), h.extract(arguments),
+                i.extract(arguments));
+    }
 }
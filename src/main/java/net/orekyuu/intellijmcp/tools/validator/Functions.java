@@ -38,4 +38,14 @@ public final class Functions {
     public interface Function7<A, B, C, D, E, F, G, R> {
         R apply(A a, B b, C c, D d, E e, F f, G g);
     }
+
+    @FunctionalInterface
+    public interface Function8<A, B, C, D, E, F, G, H, R> {
+        R apply(A a, B b, C c, D d, E e, F f, G g, H h);
+    }
+
+    @FunctionalInterface
+    public interface Function9<A, B, C, D, E, F, G, H, I, R> {
+        R apply(A a, B b, C c, D d, E e, F f, G g, H h, I i);
+    }
 }
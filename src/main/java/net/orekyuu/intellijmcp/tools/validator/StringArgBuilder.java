@@ -1,5 +1,7 @@
 package net.orekyuu.intellijmcp.tools.validator;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.regex.Pattern;
 
@@ -52,6 +54,35 @@ public final class StringArgBuilder {
         });
     }
 
+    /**
+     * Optional argument that becomes required when none of the alternative keys is given.
+     */
+    public Arg<Optional<String>> requiredUnless(String... alternativeKeys) {
+        Pattern p = this.pattern;
+        String msg = this.patternMessage;
+        return new Arg<>(key, description, false, null, Arg.SchemaType.STRING, args -> {
+            Object value = args.get(key);
+            if (value == null || value.toString().isBlank()) {
+                boolean hasAlternative = Arrays.stream(alternativeKeys).anyMatch(alt -> isPresent(args.get(alt)));
+                return hasAlternative
+                        ? new Validated.Valid<>(Optional.empty())
+                        : new Validated.Invalid<>(key, key + " is required");
+            }
+            String s = value.toString();
+            if (p != null && !p.matcher(s).matches()) {
+                return new Validated.Invalid<>(key, msg);
+            }
+            return new Validated.Valid<>(Optional.of(s));
+        });
+    }
+
+    private static boolean isPresent(Object value) {
+        if (value instanceof List<?> list) {
+            return !list.isEmpty();
+        }
+        return value != null && !value.toString().isBlank();
+    }
+
     public Arg<String> optional(String defaultValue) {
         Pattern p = this.pattern;
         String msg = this.patternMessage;
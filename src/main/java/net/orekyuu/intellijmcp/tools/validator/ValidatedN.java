@@ -101,6 +101,37 @@ public final class ValidatedN {
         }
     }
 
+    public record Validated8<A, B, C, D, E, F, G, H>(Validated<A> a, Validated<B> b, Validated<C> c,
+                                                      Validated<D> d, Validated<E> e, Validated<F> f_,
+                                                      Validated<G> g, Validated<H> h) {
+        public <R> PendingResult<R> mapN(Functions.Function8<A, B, C, D, E, F, G, H, R> f) {
+            var errors = collectErrors(List.of(a, b, c, d, e, f_, g, h));
+            if (!errors.isEmpty()) return new PendingResult<>(new ValidatedResult.Failure<>(errors));
+            return new PendingResult<>(new ValidatedResult.Success<>(
+                    f.apply(((Validated.Valid<A>) a).value(), ((Validated.Valid<B>) b).value(),
+                            ((Validated.Valid<C>) c).value(), ((Validated.Valid<D>) d).value(),
+                            ((Validated.Valid<E>) e).value(), ((Validated.Valid<F>) f_).value(),
+                            ((Validated.Valid<G>) g).value(), ((Validated.Valid<H>) h).value())
+            ));
+        }
+    }
+
+    public record Validated9<A, B, C, D, E, F, G, H, I>(Validated<A> a, Validated<B> b, Validated<C> c,
+                                                         Validated<D> d, Validated<E> e, Validated<F> f_,
+                                                         Validated<G> g, Validated<H> h, Validated<I> i) {
+        public <R> PendingResult<R> mapN(Functions.Function9<A, B, C, D, E, F, G, H, I, R> f) {
+            var errors = collectErrors(List.of(a, b, c, d, e, f_, g, h, i));
+            if (!errors.isEmpty()) return new PendingResult<>(new ValidatedResult.Failure<>(errors));
+            return new PendingResult<>(new ValidatedResult.Success<>(
+                    f.apply(((Validated.Valid<A>) a).value(), ((Validated.Valid<B>) b).value(),
+                            ((Validated.Valid<C>) c).value(), ((Validated.Valid<D>) d).value(),
+                            ((Validated.Valid<E>) e).value(), ((Validated.Valid<F>) f_).value(),
+                            ((Validated.Valid<G>) g).value(), ((Validated.Valid<H>) h).value(),
+                            ((Validated.Valid<I>) i).value())
+            ));
+        }
+    }
+
     public record PendingResult<R>(ValidatedResult<R> result) {
         public R orElseErrors(Function<Map<String, String>, R> errorHandler) {
             return result.fold(value -> value, errorHandler);
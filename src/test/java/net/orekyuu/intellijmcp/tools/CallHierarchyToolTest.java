@@ -0,0 +1,141 @@
+package net.orekyuu.intellijmcp.tools;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CallHierarchyToolTest extends BaseMcpToolTest<CallHierarchyTool> {
+
+    @Override
+    CallHierarchyTool createTool() {
+        return new CallHierarchyTool();
+    }
+
+    @Test
+    void executeWithMissingMemberName() {
+        var result = tool.execute(Map.of("className", "com.example.MyClass", "projectPath", "/some/path"));
+        McpToolResultAssert.assertThat(result).hasErrorMessageContaining("memberName");
+    }
+
+    private void addDiamondFixture() {
+        myFixture.addFileToProject("sample/Target.java", """
+                package sample;
+
+                public class Target {
+                    public static void run() {}
+                }
+                """);
+        myFixture.addFileToProject("sample/Left.java", """
+                package sample;
+
+                class Left {
+                    static void left() {
+                        Target.run();
+                    }
+                }
+                """);
+        myFixture.addFileToProject("sample/Right.java", """
+                package sample;
+
+                class Right {
+                    static void right() {
+                        Target.run();
+                    }
+                }
+                """);
+        myFixture.addFileToProject("sample/Top.java", """
+                package sample;
+
+                class Top {
+                    void top() {
+                        Left.left();
+                        Right.right();
+                    }
+                }
+                """);
+    }
+
+    @Test
+    void sharedCallerIsListedOnce() {
+        addDiamondFixture();
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var response = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "className", "sample.Target",
+                "memberName", "run",
+                "projectPath", projectPath
+        ))).getSuccessResponse();
+
+        assertThat(response.method().name()).isEqualTo("run");
+        assertThat(response.method().id()).isZero();
+        assertThat(response.callers())
+                .extracting(CallHierarchyTool.MethodInfo::name, CallHierarchyTool.MethodInfo::depth)
+                .containsExactly(tuple("left", 1), tuple("right", 1), tuple("top", 2));
+        assertThat(response.calls())
+                .extracting(CallHierarchyTool.CallInfo::caller, CallHierarchyTool.CallInfo::callee)
+                .containsExactly(tuple(1, 0), tuple(2, 0), tuple(3, 1), tuple(3, 2));
+    }
+
+    @Test
+    void calleesAreExpandedOncePerMethod() {
+        addDiamondFixture();
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var response = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "className", "sample.Top",
+                "memberName", "top",
+                "projectPath", projectPath,
+                "direction", "CALLEES"
+        ))).getSuccessResponse();
+
+        assertThat(response.method().name()).isEqualTo("top");
+        assertThat(response.callers()).isNull();
+        assertThat(response.callees())
+                .extracting(CallHierarchyTool.MethodInfo::name, CallHierarchyTool.MethodInfo::depth)
+                .containsExactly(tuple("left", 1), tuple("right", 1), tuple("run", 2));
+        assertThat(response.calls())
+                .extracting(CallHierarchyTool.CallInfo::caller, CallHierarchyTool.CallInfo::callee)
+                .containsExactly(tuple(0, 1), tuple(0, 2), tuple(1, 3), tuple(2, 3));
+    }
+
+    @Test
+    void methodReferencesCountAndOverloadsAreToldApart() {
+        myFixture.addFileToProject("sample/Worker.java", """
+                package sample;
+
+                public class Worker {
+                    public static void work() {}
+                    public static void work(int times) {}
+                }
+                """);
+        myFixture.addFileToProject("sample/Scheduler.java", """
+                package sample;
+
+                class Scheduler {
+                    Runnable schedule() {
+                        return Worker::work;
+                    }
+
+                    void repeat() {
+                        Worker.work(3);
+                    }
+                }
+                """);
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var response = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "className", "sample.Worker",
+                "memberName", "work",
+                "projectPath", projectPath,
+                "depth", 1
+        ))).getSuccessResponse();
+
+        assertThat(response.method().signature()).isEqualTo("work()");
+        assertThat(response.callers())
+                .extracting(CallHierarchyTool.MethodInfo::name)
+                .containsExactly("schedule");
+    }
+}
@@ -3,6 +3,9 @@ package net.orekyuu.intellijmcp.tools;
 import org.junit.jupiter.api.Test;
 
 import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.*;
 
 class FindClassToolTest extends BaseMcpToolTest<FindClassTool> {
 
@@ -32,4 +35,41 @@ class FindClassToolTest extends BaseMcpToolTest<FindClassTool> {
         McpToolResultAssert.assertThat(result).hasErrorMessageContaining("Project not found at path");
     }
 
+    @Test
+    void findClassIncludesLineRangeByDefault() {
+        myFixture.configureByText("Located.java", """
+                package sample;
+
+                public class Located {
+                }
+                """);
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of("className", "sample.Located", "projectPath", projectPath));
+
+        var response = McpToolResultAssert.assertThat(result).getSuccessResponse();
+        assertThat(response.classes()).singleElement().satisfies(info -> {
+            assertThat(info.filePath()).endsWith("Located.java");
+            assertThat(info.lineRange()).isEqualTo(new LineRange(3, 4));
+        });
+    }
+
+    @Test
+    void findClassWithoutLocation() {
+        myFixture.configureByText("Unlocated.java", "public class Unlocated {}");
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of(
+                "className", "Unlocated",
+                "projectPath", projectPath,
+                "includeLocation", false
+        ));
+
+        var response = McpToolResultAssert.assertThat(result).getSuccessResponse();
+        assertThat(response.classes()).singleElement().satisfies(info -> {
+            assertThat(info.filePath()).endsWith("Unlocated.java");
+            assertThat(info.classType()).isEqualTo("class");
+            assertThat(info.lineRange()).isNull();
+        });
+    }
 }
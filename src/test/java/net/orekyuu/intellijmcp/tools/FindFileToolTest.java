@@ -0,0 +1,114 @@
+package net.orekyuu.intellijmcp.tools;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.*;
+
+class FindFileToolTest extends BaseMcpToolTest<FindFileTool> {
+
+    @Override
+    FindFileTool createTool() {
+        return new FindFileTool();
+    }
+
+    @Test
+    void executeWithMissingFileName() {
+        var result = tool.execute(Map.of("projectPath", "/some/path"));
+        McpToolResultAssert.assertThat(result).hasErrorMessageContaining("fileName");
+    }
+
+    @Test
+    void findByExactName() {
+        myFixture.addFileToProject("Exact.txt", "content");
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of(
+                "fileName", "Exact.txt",
+                "projectPath", projectPath
+        ));
+
+        var response = McpToolResultAssert.assertThat(result).getSuccessResponse();
+        assertThat(response.files())
+                .extracting(FindFileTool.FileInfo::name)
+                .containsExactly("Exact.txt");
+    }
+
+    @Test
+    void findByWildcard() {
+        myFixture.addFileToProject("GlobOne.properties", "a=1");
+        myFixture.addFileToProject("GlobTwo.properties", "b=2");
+        myFixture.addFileToProject("Other.txt", "c");
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of(
+                "fileName", "glob*.properties",
+                "projectPath", projectPath
+        ));
+
+        var response = McpToolResultAssert.assertThat(result).getSuccessResponse();
+        assertThat(response.files())
+                .extracting(FindFileTool.FileInfo::name)
+                .containsExactly("GlobOne.properties", "GlobTwo.properties");
+    }
+
+    @Test
+    void findByDirectoryGlob() {
+        myFixture.addFileToProject("conf/app.xml", "<app/>");
+        myFixture.addFileToProject("conf/nested/deep.xml", "<deep/>");
+        myFixture.addFileToProject("other/app.xml", "<other/>");
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of(
+                "fileName", "**/conf/*.xml",
+                "projectPath", projectPath
+        ));
+
+        var response = McpToolResultAssert.assertThat(result).getSuccessResponse();
+        assertThat(response.files())
+                .extracting(FindFileTool.FileInfo::path)
+                .singleElement()
+                .satisfies(path -> assertThat(path).endsWith("conf/app.xml"));
+    }
+
+    @Test
+    void fuzzyMatchesCamelHumps() {
+        myFixture.addFileToProject("fuzzy/FancyFileTool.txt", "a");
+        myFixture.addFileToProject("fuzzy/FileFinder.txt", "b");
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of(
+                "fileName", "FFT",
+                "projectPath", projectPath,
+                "fuzzy", true
+        ));
+
+        var response = McpToolResultAssert.assertThat(result).getSuccessResponse();
+        assertThat(response.files())
+                .extracting(FindFileTool.FileInfo::name)
+                .containsExactly("FancyFileTool.txt");
+        assertThat(response.files().getFirst().score()).isNotNull();
+    }
+
+    @Test
+    void fuzzyMatchesDirectorySegmentsAndSeesNewFiles() {
+        myFixture.addFileToProject("alpha/Service.java", "class Service {}");
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        tool.execute(Map.of("fileName", "Service", "projectPath", projectPath, "fuzzy", true));
+
+        myFixture.addFileToProject("beta/Service.java", "class Service {}");
+        var result = tool.execute(Map.of(
+                "fileName", "bet/Serv",
+                "projectPath", projectPath,
+                "fuzzy", true
+        ));
+
+        var response = McpToolResultAssert.assertThat(result).getSuccessResponse();
+        assertThat(response.files())
+                .extracting(FindFileTool.FileInfo::path)
+                .singleElement()
+                .satisfies(path -> assertThat(path).endsWith("beta/Service.java"));
+    }
+}
@@ -2,7 +2,11 @@ package net.orekyuu.intellijmcp.tools;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.*;
 
 class FindUsagesToolTest extends BaseMcpToolTest<FindUsagesTool> {
 
@@ -23,4 +27,224 @@ class FindUsagesToolTest extends BaseMcpToolTest<FindUsagesTool> {
         McpToolResultAssert.assertThat(result).hasErrorMessageContaining("projectPath");
     }
 
+    private void addPingFixture() {
+        myFixture.addFileToProject("sample/Pinger.java", """
+                package sample;
+
+                public class Pinger {
+                    public static final int TIMEOUT = 10;
+                    public static void ping() {}
+                    public static void pong() {}
+                }
+                """);
+        myFixture.addFileToProject("sample/CallerA.java", """
+                package sample;
+
+                class CallerA {
+                    void run() {
+                        Pinger.ping();
+                        Pinger.ping();
+                    }
+                }
+                """);
+        myFixture.addFileToProject("sample/CallerB.java", """
+                package sample;
+
+                class CallerB {
+                    void run() {
+                        Pinger.ping();
+                    }
+                }
+                """);
+    }
+
+    @Test
+    void findUsagesReturnsAllWhenUnderTheLimit() {
+        addPingFixture();
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of(
+                "className", "sample.Pinger",
+                "memberName", "ping",
+                "projectPath", projectPath
+        ));
+
+        var response = McpToolResultAssert.assertThat(result).getSuccessResponse();
+        assertThat(response.usages()).hasSize(3);
+        assertThat(response.truncated()).isFalse();
+        assertThat(response.estimatedTotalUsages()).isEqualTo(3);
+        assertThat(response.nextCursor()).isNull();
+    }
+
+    @Test
+    void findUsagesPagesWithCursor() {
+        addPingFixture();
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var firstPage = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "className", "sample.Pinger",
+                "memberName", "ping",
+                "projectPath", projectPath,
+                "maxResults", 2
+        ))).getSuccessResponse();
+
+        assertThat(firstPage.usages()).hasSize(2);
+        assertThat(firstPage.truncated()).isTrue();
+        assertThat(firstPage.estimatedTotalUsages()).isGreaterThanOrEqualTo(3);
+
+        var secondPage = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "className", "sample.Pinger",
+                "memberName", "ping",
+                "projectPath", projectPath,
+                "maxResults", 2,
+                "cursor", firstPage.nextCursor()
+        ))).getSuccessResponse();
+
+        assertThat(secondPage.usages()).hasSize(1);
+        assertThat(secondPage.usages().getFirst().filePath()).endsWith("CallerB.java");
+        assertThat(secondPage.truncated()).isFalse();
+        assertThat(secondPage.estimatedTotalUsages()).isEqualTo(3);
+    }
+
+    @Test
+    void cursorFromAnotherTargetIsRejected() {
+        addPingFixture();
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var firstPage = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "className", "sample.Pinger",
+                "memberName", "ping",
+                "projectPath", projectPath,
+                "maxResults", 2
+        ))).getSuccessResponse();
+
+        var result = tool.execute(Map.of(
+                "className", "sample.Pinger",
+                "projectPath", projectPath,
+                "maxResults", 2,
+                "cursor", firstPage.nextCursor()
+        ));
+        McpToolResultAssert.assertThat(result).hasErrorMessageContaining("different query");
+    }
+
+    @Test
+    void findUsagesGroupedByFile() {
+        addPingFixture();
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var response = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "className", "sample.Pinger",
+                "memberName", "ping",
+                "projectPath", projectPath,
+                "groupByFile", true
+        ))).getSuccessResponse();
+
+        assertThat(response.usages()).isNull();
+        assertThat(response.files())
+                .extracting(FindUsagesTool.FileUsages::usageCount)
+                .containsExactly(2, 1);
+        assertThat(response.files().getFirst().filePath()).endsWith("CallerA.java");
+    }
+
+    @Test
+    void findUsagesWithInvalidCursor() {
+        addPingFixture();
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of(
+                "className", "sample.Pinger",
+                "memberName", "ping",
+                "projectPath", projectPath,
+                "cursor", "not a cursor"
+        ));
+        McpToolResultAssert.assertThat(result).hasErrorMessageContaining("Invalid cursor");
+    }
+
+    @Test
+    void findUsagesReportsLineAndTrimmedContext() {
+        addPingFixture();
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var response = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "className", "sample.Pinger",
+                "memberName", "ping",
+                "projectPath", projectPath
+        ))).getSuccessResponse();
+
+        var first = response.usages().getFirst();
+        assertThat(first.filePath()).endsWith("CallerA.java");
+        assertThat(first.lineRange().startLine()).isEqualTo(5);
+        assertThat(first.context()).isEqualTo("Pinger.ping();");
+        assertThat(response.usages().get(1).lineRange().startLine()).isEqualTo(6);
+    }
+
+    @Test
+    void findUsagesSummaryCountsPerFile() {
+        addPingFixture();
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var response = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "className", "sample.Pinger",
+                "memberName", "ping",
+                "projectPath", projectPath,
+                "summary", true
+        ))).getSuccessResponse();
+
+        assertThat(response.usages()).isNull();
+        assertThat(response.totalFound()).isEqualTo(3);
+        var summary = response.summary();
+        assertThat(summary.totalUsages()).isEqualTo(3);
+        assertThat(summary.files())
+                .extracting(FindUsagesTool.UsageCount::count)
+                .containsExactly(2, 1);
+        assertThat(summary.files().getFirst().name()).endsWith("CallerA.java");
+        assertThat(summary.modules())
+                .extracting(FindUsagesTool.UsageCount::count)
+                .containsExactly(3);
+        assertThat(summary.usageTypes())
+                .extracting(FindUsagesTool.UsageCount::count)
+                .containsExactly(3);
+    }
+
+    @Test
+    void findUsagesOfSeveralMembersInOnePass() {
+        addPingFixture();
+        myFixture.addFileToProject("sample/CallerC.java", """
+                package sample;
+
+                class CallerC {
+                    int run() {
+                        Pinger.pong();
+                        return Pinger.TIMEOUT;
+                    }
+                }
+                """);
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var response = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "className", "sample.Pinger",
+                "memberNames", List.of("ping", "pong", "TIMEOUT", "missing"),
+                "projectPath", projectPath
+        ))).getSuccessResponse();
+
+        assertThat(response.symbol().name()).isEqualTo("Pinger");
+        assertThat(response.members())
+                .extracting(member -> member.symbol().name(), FindUsagesTool.MemberUsages::totalUsages)
+                .containsExactly(tuple("ping", 3), tuple("pong", 1), tuple("TIMEOUT", 1));
+        assertThat(response.members().getFirst().usages().getFirst().filePath()).endsWith("CallerA.java");
+        assertThat(response.members().get(2).usages().getFirst().filePath()).endsWith("CallerC.java");
+        assertThat(response.notFoundMembers()).containsExactly("missing");
+        assertThat(response.estimatedTotalUsages()).isEqualTo(5);
+    }
+
+    @Test
+    void findUsagesRejectsMemberNameWithMemberNames() {
+        var result = tool.execute(Map.of(
+                "className", "sample.Pinger",
+                "memberName", "ping",
+                "memberNames", List.of("pong"),
+                "projectPath", Objects.requireNonNull(getProject().getBasePath())
+        ));
+        McpToolResultAssert.assertThat(result).hasErrorMessageContaining("either memberName or memberNames");
+    }
 }
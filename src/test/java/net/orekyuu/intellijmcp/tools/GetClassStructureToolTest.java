@@ -1,8 +1,12 @@
 package net.orekyuu.intellijmcp.tools;
 
+import com.intellij.openapi.application.ReadAction;
 import org.junit.jupiter.api.Test;
 
 import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 class GetClassStructureToolTest extends BaseMcpToolTest<GetClassStructureTool> {
 
@@ -32,4 +36,42 @@ class GetClassStructureToolTest extends BaseMcpToolTest<GetClassStructureTool> {
         McpToolResultAssert.assertThat(result).hasErrorMessageContaining("Project not found at path");
     }
 
+    @Test
+    void symbolIdResolvesTheClass() {
+        myFixture.addFileToProject("sample/Counter.java", """
+                package sample;
+
+                public class Counter {
+                    private int count;
+                }
+                """);
+        String symbolId = ReadAction.compute(() -> SymbolRegistry.idOf(myFixture.findClass("sample.Counter")));
+
+        var response = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "symbolId", symbolId,
+                "projectPath", Objects.requireNonNull(getProject().getBasePath())
+        ))).getSuccessResponse();
+
+        assertThat(response.structure().qualifiedName()).isEqualTo("sample.Counter");
+    }
+
+    @Test
+    void symbolIdOfAMemberIsRejected() {
+        myFixture.addFileToProject("sample/Counter.java", """
+                package sample;
+
+                public class Counter {
+                    private int count;
+                }
+                """);
+        String symbolId = ReadAction.compute(() ->
+                SymbolRegistry.idOf(myFixture.findClass("sample.Counter").findFieldByName("count", false)));
+
+        var result = tool.execute(Map.of(
+                "symbolId", symbolId,
+                "projectPath", Objects.requireNonNull(getProject().getBasePath())
+        ));
+
+        McpToolResultAssert.assertThat(result).hasErrorMessageContaining("does not refer to a class");
+    }
 }
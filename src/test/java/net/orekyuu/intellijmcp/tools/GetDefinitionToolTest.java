@@ -3,6 +3,7 @@ package net.orekyuu.intellijmcp.tools;
 import org.junit.jupiter.api.Test;
 
 import java.util.Map;
+import java.util.Objects;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -36,4 +37,44 @@ class GetDefinitionToolTest extends BaseMcpToolTest<GetDefinitionTool> {
         assertThat(error.message().message()).containsIgnoringCase("not found");
     }
 
+    @Test
+    void symbolIdFromResponseResolvesTheSameMember() {
+        myFixture.addFileToProject("sample/Counter.java", """
+                package sample;
+
+                public class Counter {
+                    private int count;
+
+                    public void increment() {
+                        count++;
+                    }
+                }
+                """);
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var byName = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "className", "sample.Counter",
+                "memberName", "increment",
+                "projectPath", projectPath
+        ))).getSuccessResponse();
+        String symbolId = byName.definition().symbolId();
+        assertThat(symbolId).isNotBlank();
+
+        var byId = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "symbolId", symbolId,
+                "projectPath", projectPath
+        ))).getSuccessResponse();
+
+        assertThat(byId.definition()).isEqualTo(byName.definition());
+    }
+
+    @Test
+    void executeWithUnknownSymbolId() {
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of(
+                "symbolId", "unknown-1",
+                "projectPath", projectPath
+        ));
+        McpToolResultAssert.assertThat(result).hasErrorMessageContaining("Unknown symbolId");
+    }
 }
@@ -1,8 +1,14 @@
 package net.orekyuu.intellijmcp.tools;
 
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.problems.WolfTheProblemSolver;
+import com.intellij.psi.PsiDocumentManager;
 import org.junit.jupiter.api.Test;
 
 import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 class GetDiagnosticsToolTest extends BaseMcpToolTest<GetDiagnosticsTool> {
 
@@ -23,4 +29,164 @@ class GetDiagnosticsToolTest extends BaseMcpToolTest<GetDiagnosticsTool> {
         McpToolResultAssert.assertThat(result).hasErrorMessageContaining("Project not found at path");
     }
 
+    @Test
+    void executeWithPathOutsideProject() {
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of("projectPath", projectPath, "path", "../elsewhere"));
+        McpToolResultAssert.assertThat(result).hasErrorMessageContaining("outside the project directory");
+    }
+
+    @Test
+    void scopeWithoutProblemFilesIsEmpty() {
+        myFixture.addFileToProject("sample/Clean.java", """
+                package sample;
+
+                class Clean {}
+                """);
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var response = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "projectPath", projectPath,
+                "path", "sample"
+        ))).getSuccessResponse();
+
+        assertThat(response.files()).isEmpty();
+        assertThat(response.totalErrors()).isZero();
+    }
+
+    @Test
+    void analyzeRequiresPath() {
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of("projectPath", projectPath, "analyze", true));
+        McpToolResultAssert.assertThat(result).hasErrorMessageContaining("analyze requires path");
+    }
+
+    @Test
+    void tokenReturnsEmptyDeltaWhenNothingChanged() {
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var first = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "projectPath", projectPath
+        ))).getSuccessResponse();
+        assertThat(first.token()).isNotNull();
+
+        var second = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "projectPath", projectPath,
+                "token", first.token()
+        ))).getSuccessResponse();
+
+        assertThat(second.files()).isNull();
+        assertThat(second.added()).isEmpty();
+        assertThat(second.resolved()).isEmpty();
+        assertThat(second.token()).isNotEqualTo(first.token());
+    }
+
+    @Test
+    void tokenReportsAddedAndResolvedErrors() {
+        String clean = """
+                class Counter {
+                    int value = 1;
+                }
+                """;
+        var file = myFixture.configureByText("Counter.java", clean).getVirtualFile();
+        myFixture.doHighlighting();
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var first = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "projectPath", projectPath
+        ))).getSuccessResponse();
+
+        // The file is marked as a problem file directly, so the test does not depend on when the problem solver updates
+        WolfTheProblemSolver problemSolver = WolfTheProblemSolver.getInstance(getProject());
+        replaceText("""
+                class Counter {
+                    int value = "text";
+                }
+                """);
+        problemSolver.reportProblemsFromExternalSource(file, this);
+
+        var second = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "projectPath", projectPath,
+                "token", first.token()
+        ))).getSuccessResponse();
+
+        assertThat(second.added())
+                .extracting(GetDiagnosticsTool.FileDiagnostics::filePath)
+                .containsExactly(file.getPath());
+        assertThat(second.added().getFirst().diagnostics())
+                .extracting(GetDiagnosticsTool.DiagnosticInfo::severity)
+                .contains("error");
+        assertThat(second.resolved()).isEmpty();
+
+        replaceText(clean);
+        problemSolver.clearProblemsFromExternalSource(file, this);
+
+        var third = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "projectPath", projectPath,
+                "token", second.token()
+        ))).getSuccessResponse();
+
+        assertThat(third.added()).isEmpty();
+        assertThat(third.resolved())
+                .extracting(GetDiagnosticsTool.FileDiagnostics::filePath)
+                .containsExactly(file.getPath());
+        assertThat(third.totalErrors()).isZero();
+    }
+
+    private void replaceText(String text) {
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            myFixture.getEditor().getDocument().setText(text);
+            PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+        });
+        myFixture.doHighlighting();
+    }
+
+    @Test
+    void tokenFromDifferentArgumentsIsRejected() {
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var first = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "projectPath", projectPath
+        ))).getSuccessResponse();
+
+        var result = tool.execute(Map.of("projectPath", projectPath, "errorsOnly", true, "token", first.token()));
+        McpToolResultAssert.assertThat(result).hasErrorMessageContaining("different errorsOnly or path");
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of("projectPath", projectPath, "token", "unknown-1"));
+        McpToolResultAssert.assertThat(result).hasErrorMessageContaining("Unknown or expired token");
+    }
+
+    @Test
+    void tokenCannotBeUsedWithAnalyze() {
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of("projectPath", projectPath, "path", "sample", "analyze", true, "token", "unknown-1"));
+        McpToolResultAssert.assertThat(result).hasErrorMessageContaining("token cannot be used with analyze");
+    }
+
+    @Test
+    void analyzeReportsErrorsInFilesNeverOpened() {
+        var file = myFixture.addFileToProject("sample/Broken.java", """
+                package sample;
+
+                class Broken {
+                    int value = "text";
+                }
+                """).getVirtualFile();
+
+        // Fixture sources live on an in-memory file system outside the project directory, so the path is absolute
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var response = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "projectPath", projectPath,
+                "path", file.getParent().getPath(),
+                "analyze", true
+        ))).getSuccessResponse();
+
+        assertThat(response.totalErrors()).isPositive();
+        assertThat(response.files())
+                .extracting(GetDiagnosticsTool.FileDiagnostics::filePath)
+                .containsExactly(file.getPath());
+        assertThat(response.unanalyzedFiles()).isZero();
+    }
 }
@@ -1,8 +1,12 @@
 package net.orekyuu.intellijmcp.tools;
 
+import com.intellij.openapi.application.ReadAction;
 import org.junit.jupiter.api.Test;
 
 import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 class GetDocumentationToolTest extends BaseMcpToolTest<GetDocumentationTool> {
 
@@ -23,4 +27,35 @@ class GetDocumentationToolTest extends BaseMcpToolTest<GetDocumentationTool> {
         McpToolResultAssert.assertThat(result).hasErrorMessageContaining("projectPath");
     }
 
+    @Test
+    void symbolIdResolvesTheDocumentedClass() {
+        myFixture.addFileToProject("sample/Counter.java", """
+                package sample;
+
+                /**
+                 * Counts things.
+                 */
+                public class Counter {}
+                """);
+        String symbolId = ReadAction.compute(() -> SymbolRegistry.idOf(myFixture.findClass("sample.Counter")));
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var response = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "symbolId", symbolId,
+                "projectPath", projectPath
+        ))).getSuccessResponse();
+
+        assertThat(response.documentation().qualifiedName()).isEqualTo("sample.Counter");
+        assertThat(response.documentation().documentation()).contains("Counts things.");
+    }
+
+    @Test
+    void executeWithUnknownSymbolId() {
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of(
+                "symbolId", "unknown-1",
+                "projectPath", projectPath
+        ));
+        McpToolResultAssert.assertThat(result).hasErrorMessageContaining("Unknown symbolId");
+    }
 }
@@ -1,8 +1,12 @@
 package net.orekyuu.intellijmcp.tools;
 
+import com.intellij.openapi.application.ReadAction;
 import org.junit.jupiter.api.Test;
 
 import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 class GetImplementationsToolTest extends BaseMcpToolTest<GetImplementationsTool> {
 
@@ -32,4 +36,179 @@ class GetImplementationsToolTest extends BaseMcpToolTest<GetImplementationsTool>
         McpToolResultAssert.assertThat(result).hasErrorMessageContaining("Project not found at path");
     }
 
+    private void addShapeFixture() {
+        myFixture.addFileToProject("sample/Shape.java", """
+                package sample;
+
+                public interface Shape {}
+                """);
+        myFixture.addFileToProject("sample/AbstractShape.java", """
+                package sample;
+
+                public abstract class AbstractShape implements Shape {}
+                """);
+        myFixture.addFileToProject("sample/Circle.java", """
+                package sample;
+
+                public class Circle implements Shape {}
+                """);
+        myFixture.addFileToProject("sample/Triangle.java", """
+                package sample;
+
+                public class Triangle implements Shape {}
+                """);
+        myFixture.addFileToProject("sample/Square.java", """
+                package sample;
+
+                public class Square extends AbstractShape {}
+                """);
+    }
+
+    @Test
+    void directInheritorsArePagedBeforeDeeperLevels() {
+        addShapeFixture();
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var first = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "className", "sample.Shape",
+                "projectPath", projectPath,
+                "maxResults", 2
+        ))).getSuccessResponse();
+
+        assertThat(first.implementations())
+                .extracting(GetImplementationsTool.ClassInfo::name)
+                .containsExactly("AbstractShape", "Circle");
+        assertThat(first.truncated()).isTrue();
+        assertThat(first.nextCursor()).isNotNull();
+
+        var second = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "className", "sample.Shape",
+                "projectPath", projectPath,
+                "maxResults", 2,
+                "cursor", first.nextCursor()
+        ))).getSuccessResponse();
+
+        assertThat(second.implementations())
+                .extracting(GetImplementationsTool.ClassInfo::name)
+                .containsExactly("Triangle", "Square");
+        assertThat(second.truncated()).isFalse();
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void nextPageResumesAtTheDeeperLevel() {
+        addShapeFixture();
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var first = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "className", "sample.Shape",
+                "projectPath", projectPath,
+                "maxResults", 3
+        ))).getSuccessResponse();
+
+        assertThat(first.implementations())
+                .extracting(GetImplementationsTool.ClassInfo::name)
+                .containsExactly("AbstractShape", "Circle", "Triangle");
+        assertThat(first.nextCursor()).isNotNull();
+
+        var second = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "className", "sample.Shape",
+                "projectPath", projectPath,
+                "maxResults", 3,
+                "cursor", first.nextCursor()
+        ))).getSuccessResponse();
+
+        assertThat(second.implementations())
+                .extracting(GetImplementationsTool.ClassInfo::name)
+                .containsExactly("Square");
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void directFirstFindsInheritorsThroughLibraryClasses() {
+        myFixture.addFileToProject("sample/Worker.java", """
+                package sample;
+
+                public class Worker extends Thread {}
+                """);
+
+        var response = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "className", "java.lang.Runnable",
+                "projectPath", Objects.requireNonNull(getProject().getBasePath())
+        ))).getSuccessResponse();
+
+        assertThat(response.implementations())
+                .extracting(GetImplementationsTool.ClassInfo::name)
+                .containsExactly("Worker");
+        assertThat(response.truncated()).isFalse();
+    }
+
+    @Test
+    void cursorFromOtherArgumentsIsRejected() {
+        addShapeFixture();
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var first = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "className", "sample.Shape",
+                "projectPath", projectPath,
+                "maxResults", 2
+        ))).getSuccessResponse();
+
+        var result = tool.execute(Map.of(
+                "className", "sample.Shape",
+                "projectPath", projectPath,
+                "maxResults", 2,
+                "directFirst", false,
+                "cursor", first.nextCursor()
+        ));
+
+        McpToolResultAssert.assertThat(result).hasErrorMessageContaining("different query");
+    }
+
+    @Test
+    void allInheritorsAreOrderedByNameWithoutAbstractClasses() {
+        addShapeFixture();
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var response = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "className", "sample.Shape",
+                "projectPath", projectPath,
+                "directFirst", false,
+                "includeAbstract", false
+        ))).getSuccessResponse();
+
+        assertThat(response.implementations())
+                .extracting(GetImplementationsTool.ClassInfo::name)
+                .containsExactly("Circle", "Square", "Triangle");
+        assertThat(response.truncated()).isFalse();
+    }
+
+    @Test
+    void executeWithInvalidCursor() {
+        addShapeFixture();
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of(
+                "className", "sample.Shape",
+                "projectPath", projectPath,
+                "cursor", "not-a-cursor"
+        ));
+        McpToolResultAssert.assertThat(result).hasErrorMessageContaining("Invalid cursor");
+    }
+
+    @Test
+    void symbolIdResolvesTheTargetClass() {
+        addShapeFixture();
+        String symbolId = ReadAction.compute(() -> SymbolRegistry.idOf(myFixture.findClass("sample.AbstractShape")));
+
+        var response = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "symbolId", symbolId,
+                "projectPath", Objects.requireNonNull(getProject().getBasePath())
+        ))).getSuccessResponse();
+
+        assertThat(response.target().qualifiedName()).isEqualTo("sample.AbstractShape");
+        assertThat(response.implementations())
+                .extracting(GetImplementationsTool.ClassInfo::name)
+                .containsExactly("Square");
+    }
 }
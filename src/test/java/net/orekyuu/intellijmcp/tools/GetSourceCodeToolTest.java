@@ -2,7 +2,12 @@ package net.orekyuu.intellijmcp.tools;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 class GetSourceCodeToolTest extends BaseMcpToolTest<GetSourceCodeTool> {
 
@@ -32,4 +37,78 @@ class GetSourceCodeToolTest extends BaseMcpToolTest<GetSourceCodeTool> {
         McpToolResultAssert.assertThat(result).hasErrorMessageContaining("Project not found");
     }
 
+    private void addOverloadFixture() {
+        myFixture.addFileToProject("sample/Printer.java", """
+                package sample;
+
+                import java.util.List;
+
+                public class Printer {
+                    public void print() {}
+                    public void print(int copies) {}
+                    public void print(String text, List<String> pages) {}
+                }
+                """);
+    }
+
+    @Test
+    void overloadIsSelectedByParameterTypes() {
+        addOverloadFixture();
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var response = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "projectPath", projectPath,
+                "className", "sample.Printer",
+                "memberName", "print(java.lang.String, List)"
+        ))).getSuccessResponse();
+
+        assertThat(response.name()).isEqualTo("print");
+        assertThat(response.sourceCode()).contains("String text, List<String> pages");
+    }
+
+    @Test
+    void unknownOverloadIsReportedAsMissingMember() {
+        addOverloadFixture();
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of(
+                "projectPath", projectPath,
+                "className", "sample.Printer",
+                "memberName", "print(long)"
+        ));
+        McpToolResultAssert.assertThat(result).hasErrorMessageContaining("print(long)");
+    }
+
+    @Test
+    void severalMembersAreReturnedWithSharedFiles() {
+        addOverloadFixture();
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var response = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "projectPath", projectPath,
+                "className", "sample.Printer",
+                "memberNames", List.of("print()", "print(int)", "scan")
+        ))).getSuccessResponse();
+
+        assertThat(response.sourceCode()).isNull();
+        assertThat(response.files()).hasSize(1);
+        assertThat(response.sources())
+                .extracting(GetSourceCodeTool.SourceSlice::target, GetSourceCodeTool.SourceSlice::fileIndex)
+                .containsExactly(
+                        tuple("sample.Printer#print()", 0),
+                        tuple("sample.Printer#print(int)", 0));
+        assertThat(response.sources().get(1).sourceCode()).contains("int copies");
+        assertThat(response.notFound()).containsExactly("sample.Printer#scan");
+    }
+
+    @Test
+    void targetsCannotBeCombinedWithClassName() {
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of(
+                "projectPath", projectPath,
+                "className", "sample.Printer",
+                "targets", List.of("sample.Printer#print")
+        ));
+        McpToolResultAssert.assertThat(result).hasErrorMessageContaining("targets cannot be combined");
+    }
 }
@@ -1,8 +1,12 @@
 package net.orekyuu.intellijmcp.tools;
 
+import com.intellij.openapi.application.ReadAction;
 import org.junit.jupiter.api.Test;
 
 import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.*;
 
 class GetTypeHierarchyToolTest extends BaseMcpToolTest<GetTypeHierarchyTool> {
 
@@ -23,4 +27,109 @@ class GetTypeHierarchyToolTest extends BaseMcpToolTest<GetTypeHierarchyTool> {
         McpToolResultAssert.assertThat(result).hasErrorMessageContaining("projectPath");
     }
 
+    private void addShapeFixture() {
+        myFixture.addFileToProject("sample/Shape.java", """
+                package sample;
+
+                public interface Shape {}
+                """);
+        myFixture.addFileToProject("sample/Circle.java", """
+                package sample;
+
+                public class Circle implements Shape {}
+                """);
+        myFixture.addFileToProject("sample/Square.java", """
+                package sample;
+
+                public class Square implements Shape {}
+                """);
+        myFixture.addFileToProject("sample/BigSquare.java", """
+                package sample;
+
+                public class BigSquare extends Square {}
+                """);
+    }
+
+    @Test
+    void subclassesAreReturnedLevelByLevel() {
+        addShapeFixture();
+
+        var hierarchy = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "className", "sample.Shape",
+                "projectPath", Objects.requireNonNull(getProject().getBasePath())
+        ))).getSuccessResponse().hierarchy();
+
+        assertThat(hierarchy.subclasses())
+                .extracting(GetTypeHierarchyTool.TypeInfo::name, GetTypeHierarchyTool.TypeInfo::depth)
+                .containsExactlyInAnyOrder(tuple("Circle", 1), tuple("Square", 1), tuple("BigSquare", 2));
+        assertThat(hierarchy.subclasses().getLast().name()).isEqualTo("BigSquare");
+        assertThat(hierarchy.subclassesTruncated()).isFalse();
+    }
+
+    @Test
+    void directOnlySkipsDeeperLevels() {
+        addShapeFixture();
+
+        var hierarchy = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "className", "sample.Shape",
+                "projectPath", Objects.requireNonNull(getProject().getBasePath()),
+                "directOnly", true,
+                "projectOnly", true
+        ))).getSuccessResponse().hierarchy();
+
+        assertThat(hierarchy.subclasses())
+                .extracting(GetTypeHierarchyTool.TypeInfo::name)
+                .containsExactlyInAnyOrder("Circle", "Square");
+    }
+
+    @Test
+    void subclassLimitReportsOmittedCount() {
+        addShapeFixture();
+
+        var hierarchy = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "className", "sample.Shape",
+                "projectPath", Objects.requireNonNull(getProject().getBasePath()),
+                "maxSubclasses", 1
+        ))).getSuccessResponse().hierarchy();
+
+        assertThat(hierarchy.subclasses()).hasSize(1);
+        assertThat(hierarchy.subclassesTruncated()).isTrue();
+        assertThat(hierarchy.omittedSubclasses()).isEqualTo(1);
+    }
+
+    @Test
+    void projectOnlyFindsSubclassesThroughLibraryClasses() {
+        myFixture.addFileToProject("sample/Worker.java", """
+                package sample;
+
+                public class Worker extends Thread {}
+                """);
+
+        var hierarchy = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "className", "java.lang.Runnable",
+                "projectPath", Objects.requireNonNull(getProject().getBasePath()),
+                "projectOnly", true
+        ))).getSuccessResponse().hierarchy();
+
+        assertThat(hierarchy.subclasses())
+                .extracting(GetTypeHierarchyTool.TypeInfo::name, GetTypeHierarchyTool.TypeInfo::depth)
+                .containsExactly(tuple("Worker", 2));
+    }
+
+    @Test
+    void symbolIdResolvesTheClass() {
+        myFixture.addFileToProject("sample/Worker.java", """
+                package sample;
+
+                public class Worker extends Thread {}
+                """);
+        String symbolId = ReadAction.compute(() -> SymbolRegistry.idOf(myFixture.findClass("sample.Worker")));
+
+        var hierarchy = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "symbolId", symbolId,
+                "projectPath", Objects.requireNonNull(getProject().getBasePath())
+        ))).getSuccessResponse().hierarchy();
+
+        assertThat(hierarchy.qualifiedName()).isEqualTo("sample.Worker");
+    }
 }
@@ -3,6 +3,9 @@ package net.orekyuu.intellijmcp.tools;
 import org.junit.jupiter.api.Test;
 
 import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.*;
 
 class SearchSymbolToolTest extends BaseMcpToolTest<SearchSymbolTool> {
 
@@ -29,4 +32,162 @@ class SearchSymbolToolTest extends BaseMcpToolTest<SearchSymbolTool> {
         McpToolResultAssert.assertThat(result).hasErrorMessageContaining("Project not found at path");
     }
 
+    @Test
+    void searchFindsSymbolsBySubstring() {
+        myFixture.configureByText("Widget.java", """
+                public class GadgetWidgetFactory {
+                    private int widgetCount;
+                    public void buildWidget() {}
+                }
+                """);
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of("query", "WIDGET", "projectPath", projectPath));
+
+        var response = McpToolResultAssert.assertThat(result).getSuccessResponse();
+        assertThat(response.symbols())
+                .extracting(SearchSymbolTool.SymbolInfo::name)
+                .contains("GadgetWidgetFactory", "buildWidget", "widgetCount");
+    }
+
+    @Test
+    void searchSeesSymbolsAddedAfterThePreviousQuery() {
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        tool.execute(Map.of("query", "Freshly", "projectPath", projectPath));
+
+        myFixture.configureByText("Fresh.java", "public class FreshlyAddedType {}");
+        var result = tool.execute(Map.of("query", "Freshly", "projectPath", projectPath, "symbolType", "CLASS"));
+
+        var response = McpToolResultAssert.assertThat(result).getSuccessResponse();
+        assertThat(response.symbols())
+                .extracting(SearchSymbolTool.SymbolInfo::name)
+                .containsExactly("FreshlyAddedType");
+    }
+
+    @Test
+    void searchMatchesCamelHumps() {
+        myFixture.configureByText("Account.java", """
+                public class Account {
+                    public String getUserName() { return null; }
+                    public void guardNothing() {}
+                }
+                """);
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of("query", "getUN", "projectPath", projectPath, "symbolType", "METHOD"));
+
+        var response = McpToolResultAssert.assertThat(result).getSuccessResponse();
+        assertThat(response.symbols())
+                .extracting(SearchSymbolTool.SymbolInfo::name)
+                .containsExactly("getUserName");
+    }
+
+    @Test
+    void searchRanksExactAndPrefixMatchesFirst() {
+        myFixture.configureByText("Ranking.java", """
+                public class Ranking {
+                    public void resetCounter() {}
+                    public void counterValue() {}
+                    public void counter() {}
+                }
+                """);
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of("query", "counter", "projectPath", projectPath, "symbolType", "METHOD"));
+
+        var response = McpToolResultAssert.assertThat(result).getSuccessResponse();
+        assertThat(response.symbols())
+                .extracting(SearchSymbolTool.SymbolInfo::name)
+                .containsExactly("counter", "counterValue", "resetCounter");
+    }
+
+    @Test
+    void searchHonorsMaxResults() {
+        myFixture.configureByText("Many.java", """
+                public class Many {
+                    int itemOne;
+                    int itemTwo;
+                    int itemThree;
+                }
+                """);
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of("query", "item", "projectPath", projectPath, "maxResults", 2));
+
+        var response = McpToolResultAssert.assertThat(result).getSuccessResponse();
+        assertThat(response.symbols()).hasSize(2);
+    }
+
+    @Test
+    void libraryNamesDoNotCrowdOutProjectSymbols() {
+        // Ranks below JDK names such as List, ListIterator and ArrayList, which the project scope cannot resolve
+        myFixture.configureByText("Holder.java", "public class PendingTasksInAListHolder {}");
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of(
+                "query", "List",
+                "projectPath", projectPath,
+                "symbolType", "CLASS",
+                "maxResults", 1
+        ));
+
+        var response = McpToolResultAssert.assertThat(result).getSuccessResponse();
+        assertThat(response.symbols())
+                .extracting(SearchSymbolTool.SymbolInfo::name)
+                .containsExactly("PendingTasksInAListHolder");
+    }
+
+    @Test
+    void searchWithoutLocationKeepsStubData() {
+        myFixture.configureByText("Stubbed.java", """
+                public class Stubbed {
+                    public int stubbedValue(String key) { return 0; }
+                }
+                """);
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of(
+                "query", "stubbedValue",
+                "projectPath", projectPath,
+                "includeLocation", false
+        ));
+
+        var response = McpToolResultAssert.assertThat(result).getSuccessResponse();
+        assertThat(response.symbols()).singleElement().satisfies(symbol -> {
+            assertThat(symbol.containingClass()).isEqualTo("Stubbed");
+            assertThat(symbol.signature()).isEqualTo("int stubbedValue(String)");
+            assertThat(symbol.filePath()).endsWith("Stubbed.java");
+            assertThat(symbol.lineRange()).isNull();
+        });
+    }
+
+    @Test
+    void searchAllLanguagesThroughContributors() {
+        myFixture.configureByText("Polyglot.java", """
+                public class PolyglotMarker {
+                    public void polyglotAction() {}
+                }
+                """);
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var classes = tool.execute(Map.of(
+                "query", "PolyglotMarker",
+                "projectPath", projectPath,
+                "allLanguages", true,
+                "symbolType", "CLASS"
+        ));
+        var methods = tool.execute(Map.of(
+                "query", "polyAct",
+                "projectPath", projectPath,
+                "allLanguages", true,
+                "symbolType", "METHOD"
+        ));
+
+        assertThat(McpToolResultAssert.assertThat(classes).getSuccessResponse().symbols())
+                .extracting(SearchSymbolTool.SymbolInfo::name)
+                .containsExactly("PolyglotMarker");
+        assertThat(McpToolResultAssert.assertThat(methods).getSuccessResponse().symbols())
+                .extracting(SearchSymbolTool.SymbolInfo::name)
+                .containsExactly("polyglotAction");
+    }
 }
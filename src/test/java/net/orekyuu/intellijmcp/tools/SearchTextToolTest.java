@@ -2,6 +2,7 @@ package net.orekyuu.intellijmcp.tools;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -169,6 +170,106 @@ class SearchTextToolTest extends BaseMcpToolTest<SearchTextTool> {
         assertThat(response.matches()).hasSize(10);
     }
 
+    @Test
+    void searchWithCursorResumesWhereThePreviousPageStopped() {
+        StringBuilder content = new StringBuilder("public class PagedMatches {\n");
+        for (int i = 0; i < 25; i++) {
+            content.append("    String match").append(i).append(" = \"pageme\";\n");
+        }
+        content.append("}");
+
+        myFixture.configureByText("PagedMatches.java", content.toString());
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+
+        var firstPage = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "searchText", "pageme",
+                "projectPath", projectPath,
+                "maxResults", 10
+        ))).getSuccessResponse();
+
+        assertThat(firstPage.truncated()).isTrue();
+        assertThat(firstPage.nextCursor()).isNotNull();
+
+        var secondPage = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "searchText", "pageme",
+                "projectPath", projectPath,
+                "maxResults", 10,
+                "cursor", firstPage.nextCursor()
+        ))).getSuccessResponse();
+
+        assertThat(secondPage.matches()).hasSize(10);
+        assertThat(secondPage.matches().getFirst().line())
+                .isEqualTo(firstPage.matches().getLast().line() + 1);
+    }
+
+    @Test
+    void searchWithCursorFromDifferentQuery() {
+        StringBuilder content = new StringBuilder("public class OtherQuery {\n");
+        for (int i = 0; i < 15; i++) {
+            content.append("    String match").append(i).append(" = \"firstquery secondquery\";\n");
+        }
+        content.append("}");
+
+        myFixture.configureByText("OtherQuery.java", content.toString());
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+
+        var firstPage = McpToolResultAssert.assertThat(tool.execute(Map.of(
+                "searchText", "firstquery",
+                "projectPath", projectPath,
+                "maxResults", 10
+        ))).getSuccessResponse();
+        assertThat(firstPage.nextCursor()).isNotNull();
+
+        var result = tool.execute(Map.of(
+                "searchText", "secondquery",
+                "projectPath", projectPath,
+                "maxResults", 10,
+                "cursor", firstPage.nextCursor()
+        ));
+        McpToolResultAssert.assertThat(result).hasErrorMessageContaining("different query");
+    }
+
+    @Test
+    void searchWithInvalidCursor() {
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of(
+                "searchText", "test",
+                "projectPath", projectPath,
+                "cursor", "not a cursor"
+        ));
+        McpToolResultAssert.assertThat(result).hasErrorMessageContaining("Invalid cursor");
+    }
+
+    @Test
+    void searchWithUnknownModule() {
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of(
+                "searchText", "test",
+                "projectPath", projectPath,
+                "module", "no-such-module"
+        ));
+        McpToolResultAssert.assertThat(result).hasErrorMessageContaining("Module not found");
+    }
+
+    @Test
+    void searchWithinModule() {
+        myFixture.configureByText("ModuleScoped.java", "// module scoped marker");
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of(
+                "searchText", "module scoped marker",
+                "projectPath", projectPath,
+                "module", myFixture.getModule().getName()
+        ));
+
+        var response = McpToolResultAssert.assertThat(result).getSuccessResponse();
+        assertThat(response.matches())
+                .extracting(SearchTextTool.SearchMatch::filePath)
+                .anyMatch(path -> path.endsWith("ModuleScoped.java"));
+    }
+
     @Test
     void searchMatchContainsLineInfo() {
         myFixture.configureByText("LineInfo.java", """
@@ -195,4 +296,49 @@ class SearchTextToolTest extends BaseMcpToolTest<SearchTextTool> {
         assertThat(match.lineContent()).contains("target");
         assertThat(match.filePath()).endsWith("LineInfo.java");
     }
+
+    @Test
+    void searchWithMultiplePatterns() {
+        myFixture.configureByText("Rename.java", """
+                oldName();
+                newName();
+                oldName();
+                """);
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of(
+                "searchTexts", List.of("oldName", "newName"),
+                "projectPath", projectPath
+        ));
+
+        var response = McpToolResultAssert.assertThat(result).getSuccessResponse();
+        assertThat(response.patterns()).containsExactly("oldName", "newName");
+        assertThat(response.matches())
+                .extracting(SearchTextTool.SearchMatch::line, SearchTextTool.SearchMatch::pattern)
+                .containsExactly(
+                        tuple(1, "oldName"),
+                        tuple(2, "newName"),
+                        tuple(3, "oldName")
+                );
+    }
+
+    @Test
+    void searchWithMultipleRegexPatterns() {
+        myFixture.configureByText("Versions.txt", """
+                version=1.2
+                build-42
+                """);
+
+        String projectPath = Objects.requireNonNull(getProject().getBasePath());
+        var result = tool.execute(Map.of(
+                "searchTexts", List.of("version=\\d+", "build-\\d+"),
+                "projectPath", projectPath,
+                "useRegex", true
+        ));
+
+        var response = McpToolResultAssert.assertThat(result).getSuccessResponse();
+        assertThat(response.matches())
+                .extracting(SearchTextTool.SearchMatch::matchedText)
+                .containsExactly("version=1", "build-42");
+    }
 }
@@ -0,0 +1,95 @@
+package net.orekyuu.intellijmcp.tools.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AhoCorasickMatcherTest {
+
+    private static List<TextMatcher.Match> allMatches(TextMatcher matcher, String text, int from) {
+        List<TextMatcher.Match> matches = new ArrayList<>();
+        matcher.processMatches(text, from, matches::add);
+        return matches;
+    }
+
+    @Test
+    void reportsMatchesOfEveryPatternInStartOrder() {
+        var matcher = AhoCorasickMatcher.of(List.of("newName", "oldName"), true);
+
+        assertThat(allMatches(matcher, "oldName(); newName(); oldName();", 0)).containsExactly(
+                new TextMatcher.Match(0, 7, 1),
+                new TextMatcher.Match(11, 18, 0),
+                new TextMatcher.Match(22, 29, 1)
+        );
+    }
+
+    @Test
+    void reportsOverlappingMatchesOfDifferentPatterns() {
+        var matcher = AhoCorasickMatcher.of(List.of("he", "she", "hers"), true);
+
+        assertThat(allMatches(matcher, "ushers", 0)).containsExactly(
+                new TextMatcher.Match(1, 4, 1),
+                new TextMatcher.Match(2, 4, 0),
+                new TextMatcher.Match(2, 6, 2)
+        );
+    }
+
+    @Test
+    void matchesOfTheSamePatternDoNotOverlap() {
+        var matcher = AhoCorasickMatcher.of(List.of("aa"), true);
+
+        assertThat(allMatches(matcher, "aaaaa", 0)).containsExactly(
+                new TextMatcher.Match(0, 2, 0),
+                new TextMatcher.Match(2, 4, 0)
+        );
+    }
+
+    @Test
+    void caseInsensitiveMatching() {
+        var matcher = AhoCorasickMatcher.of(List.of("Key.One", "KEY.TWO"), false);
+
+        assertThat(allMatches(matcher, "key.two=1\nkey.one=2", 0))
+                .extracting(TextMatcher.Match::patternIndex)
+                .containsExactly(1, 0);
+    }
+
+    @Test
+    void startsScanningAtTheGivenOffset() {
+        var matcher = AhoCorasickMatcher.of(List.of("ab", "b"), true);
+
+        assertThat(allMatches(matcher, "abab", 1)).containsExactly(
+                new TextMatcher.Match(1, 2, 1),
+                new TextMatcher.Match(2, 4, 0),
+                new TextMatcher.Match(3, 4, 1)
+        );
+    }
+
+    @Test
+    void consumerCanStopTheScan() {
+        var matcher = AhoCorasickMatcher.of(List.of("x"), true);
+        List<TextMatcher.Match> seen = new ArrayList<>();
+
+        matcher.processMatches("xxxx", 0, match -> {
+            seen.add(match);
+            return seen.size() < 2;
+        });
+
+        assertThat(seen).hasSize(2);
+    }
+
+    @Test
+    void findReturnsTheLeftmostMatch() {
+        var matcher = AhoCorasickMatcher.of(List.of("cd", "bcde"), true);
+
+        assertThat(matcher.find("abcde", 0)).isEqualTo(new TextMatcher.Match(1, 5, 1));
+    }
+
+    @Test
+    void emptyPatternsAreRejected() {
+        assertThatThrownBy(() -> AhoCorasickMatcher.of(List.of("a", ""), true))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
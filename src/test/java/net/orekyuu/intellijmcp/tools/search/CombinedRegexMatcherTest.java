@@ -0,0 +1,61 @@
+package net.orekyuu.intellijmcp.tools.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.PatternSyntaxException;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CombinedRegexMatcherTest {
+
+    @Test
+    void tagsEachMatchWithItsPattern() {
+        var matcher = CombinedRegexMatcher.of(List.of("foo\\d", "ba+r"), false);
+        List<TextMatcher.Match> matches = new ArrayList<>();
+
+        matcher.processMatches("x FOO1 baaar foo2", 0, matches::add);
+
+        assertThat(matches).containsExactly(
+                new TextMatcher.Match(2, 6, 0),
+                new TextMatcher.Match(7, 12, 1),
+                new TextMatcher.Match(13, 17, 0)
+        );
+    }
+
+    @Test
+    void anchorsStillMatchLineStartsWhenResumingMidText() {
+        var matcher = CombinedRegexMatcher.of(List.of("^b", "^c"), true);
+
+        assertThat(matcher.find("a\nb\nc", 1)).isEqualTo(new TextMatcher.Match(2, 3, 0));
+        assertThat(matcher.find("a\nb\nc", 3)).isEqualTo(new TextMatcher.Match(4, 5, 1));
+    }
+
+    @Test
+    void invalidPatternIsRejected() {
+        assertThatThrownBy(() -> CombinedRegexMatcher.of(List.of("ok", "[broken"), true))
+                .isInstanceOf(PatternSyntaxException.class);
+    }
+
+    @Test
+    void reportsMatchesThatOverlapAnotherPatternsMatch() {
+        var matcher = CombinedRegexMatcher.of(List.of("foobar", "bar\\w+", "o+"), true);
+        List<TextMatcher.Match> matches = new ArrayList<>();
+
+        matcher.processMatches("foobarbaz", 0, matches::add);
+
+        assertThat(matches).containsExactly(
+                new TextMatcher.Match(0, 6, 0),
+                new TextMatcher.Match(1, 3, 2),
+                new TextMatcher.Match(3, 9, 1)
+        );
+    }
+
+    @Test
+    void numberedBackReferencesReferToTheirOwnPattern() {
+        var matcher = CombinedRegexMatcher.of(List.of("(x)y", "(a)\\1"), true);
+
+        assertThat(matcher.find("xy aa", 2)).isEqualTo(new TextMatcher.Match(3, 5, 1));
+    }
+}
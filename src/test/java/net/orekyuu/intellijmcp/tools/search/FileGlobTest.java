@@ -0,0 +1,54 @@
+package net.orekyuu.intellijmcp.tools.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class FileGlobTest {
+
+    @Test
+    void plainNameIsLiteral() {
+        var glob = FileGlob.compile("plugin.xml");
+
+        assertThat(glob.literalName()).isEqualTo("plugin.xml");
+        assertThat(glob.hasDirectoryPart()).isFalse();
+        assertThat(glob.matchesPath("anything/plugin.xml")).isTrue();
+    }
+
+    @Test
+    void wildcardsMatchNamesCaseInsensitively() {
+        var glob = FileGlob.compile("Test*.?ava");
+
+        assertThat(glob.literalName()).isNull();
+        assertThat(glob.matchesName("TestFoo.java")).isTrue();
+        assertThat(glob.matchesName("testfoo.JAVA")).isTrue();
+        assertThat(glob.matchesName("FooTest.java")).isFalse();
+    }
+
+    @Test
+    void doubleStarMatchesAnyNumberOfDirectories() {
+        var glob = FileGlob.compile("**/resources/*.xml");
+
+        assertThat(glob.hasDirectoryPart()).isTrue();
+        assertThat(glob.matchesName("plugin.xml")).isTrue();
+        assertThat(glob.matchesPath("resources/plugin.xml")).isTrue();
+        assertThat(glob.matchesPath("src/main/resources/plugin.xml")).isTrue();
+        assertThat(glob.matchesPath("src/main/resources/META-INF/plugin.xml")).isFalse();
+    }
+
+    @Test
+    void singleStarStaysWithinOneDirectory() {
+        var glob = FileGlob.compile("src/*/Main.java");
+
+        assertThat(glob.literalName()).isEqualTo("Main.java");
+        assertThat(glob.matchesPath("src/app/Main.java")).isTrue();
+        assertThat(glob.matchesPath("src/app/nested/Main.java")).isFalse();
+    }
+
+    @Test
+    void backslashesAreTreatedAsSeparators() {
+        var glob = FileGlob.compile("config\\*.yml");
+
+        assertThat(glob.matchesPath("config/app.yml")).isTrue();
+    }
+}
@@ -0,0 +1,41 @@
+package net.orekyuu.intellijmcp.tools.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LineIndexTest {
+
+    @Test
+    void resolvesLineNumbersAndBounds() {
+        String text = "first\nsecond\n\nlast";
+        var index = LineIndex.of(text);
+
+        assertThat(index.lineCount()).isEqualTo(4);
+        assertThat(index.lineNumber(0)).isEqualTo(0);
+        assertThat(index.lineNumber(5)).isEqualTo(0);
+        assertThat(index.lineNumber(6)).isEqualTo(1);
+        assertThat(index.lineNumber(13)).isEqualTo(2);
+        assertThat(index.lineNumber(14)).isEqualTo(3);
+        assertThat(index.lineText(1)).hasToString("second");
+        assertThat(index.lineText(2)).hasToString("");
+        assertThat(index.lineText(3)).hasToString("last");
+    }
+
+    @Test
+    void excludesCarriageReturnFromLineEnd() {
+        var index = LineIndex.of("a\r\nb");
+
+        assertThat(index.lineText(0)).hasToString("a");
+        assertThat(index.lineStart(1)).isEqualTo(3);
+    }
+
+    @Test
+    void growsBeyondInitialCapacity() {
+        String text = "x\n".repeat(1000);
+        var index = LineIndex.of(text);
+
+        assertThat(index.lineCount()).isEqualTo(1001);
+        assertThat(index.lineNumber(1998)).isEqualTo(999);
+    }
+}
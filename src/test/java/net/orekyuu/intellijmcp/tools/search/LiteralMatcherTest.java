@@ -0,0 +1,69 @@
+package net.orekyuu.intellijmcp.tools.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LiteralMatcherTest {
+
+    @Test
+    void findsAllOccurrencesInOrder() {
+        var matcher = LiteralMatcher.of("abc", true);
+        String text = "xxabcxabcabc";
+
+        assertThat(matcher.indexOf(text, 0)).isEqualTo(2);
+        assertThat(matcher.indexOf(text, 3)).isEqualTo(6);
+        assertThat(matcher.indexOf(text, 7)).isEqualTo(9);
+        assertThat(matcher.indexOf(text, 10)).isEqualTo(-1);
+    }
+
+    @Test
+    void caseSensitiveMatchingRespectsCase() {
+        var matcher = LiteralMatcher.of("Test", true);
+
+        assertThat(matcher.indexOf("test TEST Test", 0)).isEqualTo(10);
+    }
+
+    @Test
+    void caseInsensitiveMatchingIgnoresCase() {
+        var matcher = LiteralMatcher.of("Test", false);
+
+        assertThat(matcher.indexOf("xx tEsT", 0)).isEqualTo(3);
+    }
+
+    @Test
+    void singleCharacterNeedle() {
+        var matcher = LiteralMatcher.of("z", true);
+
+        assertThat(matcher.indexOf("abcz", 0)).isEqualTo(3);
+        assertThat(matcher.indexOf("abc", 0)).isEqualTo(-1);
+    }
+
+    @Test
+    void needleLongerThanText() {
+        var matcher = LiteralMatcher.of("longer", true);
+
+        assertThat(matcher.indexOf("long", 0)).isEqualTo(-1);
+    }
+
+    @Test
+    void nonAsciiCharactersSharingTableBucketsAreMatched() {
+        // 'Ā' (U+0100) and '\u0000' share a shift bucket; the match must still be found
+        var matcher = LiteralMatcher.of("aĀb", true);
+
+        assertThat(matcher.indexOf("xxaĀbyy", 0)).isEqualTo(2);
+    }
+
+    @Test
+    void findReturnsMatchRange() {
+        var match = LiteralMatcher.of("needle", false).find("hay NEEDLE hay", 0);
+
+        assertThat(match).isEqualTo(new TextMatcher.Match(4, 10));
+    }
+
+    @Test
+    void emptyNeedleIsRejected() {
+        assertThatThrownBy(() -> LiteralMatcher.of("", true))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
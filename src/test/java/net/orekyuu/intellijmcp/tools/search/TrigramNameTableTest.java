@@ -0,0 +1,68 @@
+package net.orekyuu.intellijmcp.tools.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TrigramNameTableTest {
+
+    private static List<String> matches(TrigramNameTable table, String query) {
+        List<String> found = new ArrayList<>();
+        table.processMatches(query, found::add);
+        return found;
+    }
+
+    @Test
+    void deduplicatesNames() {
+        var table = TrigramNameTable.of(new String[]{"getName", "getName", "setName", null, ""});
+
+        assertThat(table.size()).isEqualTo(2);
+    }
+
+    @Test
+    void findsSubstringsIgnoringCaseInSortedOrder() {
+        var table = TrigramNameTable.of(new String[]{"setUserName", "getName", "UserService", "rename"});
+
+        assertThat(matches(table, "NAME")).containsExactly("getName", "rename", "setUserName");
+        assertThat(matches(table, "user")).containsExactly("UserService", "setUserName");
+    }
+
+    @Test
+    void shortQueriesFallBackToScanning() {
+        var table = TrigramNameTable.of(new String[]{"ab", "xAb", "cd"});
+
+        assertThat(matches(table, "ab")).containsExactly("ab", "xAb");
+        assertThat(matches(table, "")).containsExactly("ab", "cd", "xAb");
+    }
+
+    @Test
+    void trigramCandidatesAreVerifiedAgainstTheWholeQuery() {
+        // Both names contain every trigram of "abcabd" but only one contains the query itself
+        var table = TrigramNameTable.of(new String[]{"abcabd", "abcxbcabxcabd"});
+
+        assertThat(matches(table, "abcabd")).containsExactly("abcabd");
+    }
+
+    @Test
+    void unknownTrigramReturnsNothing() {
+        var table = TrigramNameTable.of(new String[]{"alpha", "beta"});
+
+        assertThat(matches(table, "gamma")).isEmpty();
+    }
+
+    @Test
+    void consumerCanStopTheQuery() {
+        var table = TrigramNameTable.of(new String[]{"item1", "item2", "item3"});
+        List<String> seen = new ArrayList<>();
+
+        table.processMatches("item", name -> {
+            seen.add(name);
+            return false;
+        });
+
+        assertThat(seen).containsExactly("item1");
+    }
+}
@@ -94,6 +94,28 @@ class ArgTest {
             assertThat(arg.required()).isTrue();
             assertThat(arg.schemaType()).isEqualTo(Arg.SchemaType.STRING);
         }
+
+        @Test
+        void requiredUnlessPresent() {
+            Arg<Optional<String>> arg = Arg.string("name", "desc").requiredUnless("names");
+            Validated<Optional<String>> result = arg.extract(Map.of("name", "hello"));
+            assertThat(((Validated.Valid<Optional<String>>) result).value()).contains("hello");
+        }
+
+        @Test
+        void requiredUnlessAlternativeGiven() {
+            Arg<Optional<String>> arg = Arg.string("name", "desc").requiredUnless("names");
+            Validated<Optional<String>> result = arg.extract(Map.of("names", List.of("a", "b")));
+            assertThat(((Validated.Valid<Optional<String>>) result).value()).isEmpty();
+        }
+
+        @Test
+        void requiredUnlessBothMissing() {
+            Arg<Optional<String>> arg = Arg.string("name", "desc").requiredUnless("names");
+            Validated<Optional<String>> result = arg.extract(Map.of("names", List.of()));
+            assertThat(result).isInstanceOf(Validated.Invalid.class);
+            assertThat(((Validated.Invalid<Optional<String>>) result).message()).contains("name is required");
+        }
     }
 
     @Nested